@@ -0,0 +1,68 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+
+/**
+ * Fixtures shared by the benchmarks, built from the recorded Fixer responses of the integration tests.
+ *
+ * @author Radovan Šinko
+ */
+final class BenchmarkFixtures {
+
+    // Historical rates of all 170 currencies served by Fixer
+    private static final String HISTORICAL_RESPONSE = "/__files/fixer-historical-response.json";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates an object mapper configured with the same defaults as the application one.
+     *
+     * @return the object mapper
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Creates properties with the configured rounding of the application.
+     *
+     * @return the exchange rates properties
+     */
+    static ExchangeRatesProperties exchangeRatesProperties() {
+        final ExchangeRatesProperties properties = new ExchangeRatesProperties();
+        properties.setBaseCurrency("USD");
+        properties.setRoundingScale(6);
+        properties.setRoundingMode(RoundingMode.HALF_UP);
+        return properties;
+    }
+
+    /**
+     * Loads the historical rates of all currencies with EUR base.
+     *
+     * @param objectMapper the object mapper
+     * @return the historical rates
+     */
+    static ExchangeRatesDto historicalRates(final ObjectMapper objectMapper) {
+        try (InputStream input = BenchmarkFixtures.class.getResourceAsStream(HISTORICAL_RESPONSE)) {
+            final ExchangeRatesResponse response = objectMapper.readValue(input, ExchangeRatesResponse.class);
+            return ExchangeRatesDto.builder()
+                .base(response.getBase())
+                .date(response.getDate())
+                .rates(response.getRates())
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + HISTORICAL_RESPONSE, e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.shipmonk.testingday.model.RateSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmark of rebasing all rates of a snapshot to another base currency.
+ * Rebased rates are memoized on the snapshot, so the rebase is measured on a fresh snapshot
+ * and the cost of creating it is measured on its own.
+ *
+ * @author Radovan Šinko
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RebaseBenchmark {
+
+    private CurrencyConversionServiceImpl currencyConversionService;
+
+    private Map<String, BigDecimal> rates;
+
+    private RateSnapshot snapshot;
+
+    /**
+     * Loads the fixture rates.
+     */
+    @Setup
+    public void setUp() {
+        currencyConversionService = new CurrencyConversionServiceImpl(
+            BenchmarkFixtures.exchangeRatesProperties(), new SimpleMeterRegistry());
+        snapshot = BenchmarkFixtures.historicalRates(BenchmarkFixtures.objectMapper()).getRates();
+        rates = snapshot.toMap();
+    }
+
+    /**
+     * Creates a snapshot, the baseline of {@link #rebase()}.
+     *
+     * @return the snapshot
+     */
+    @Benchmark
+    public RateSnapshot createSnapshot() {
+        return RateSnapshot.of(rates);
+    }
+
+    /**
+     * Rebases a fresh snapshot from EUR to USD.
+     *
+     * @return the rebased rates
+     */
+    @Benchmark
+    public RateSnapshot rebase() {
+        return currencyConversionService.convertBaseCurrency(RateSnapshot.of(rates), "EUR", "USD");
+    }
+
+    /**
+     * Rebases a cached snapshot, served by the memoized result.
+     *
+     * @return the rebased rates
+     */
+    @Benchmark
+    public RateSnapshot rebaseMemoized() {
+        return currencyConversionService.convertBaseCurrency(snapshot, "EUR", "USD");
+    }
+}
@@ -0,0 +1,77 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmark of rendering a snapshot of all rates as the JSON response, plain and also compressed with gzip
+ * as done once per response by the encoded responses cache.
+ *
+ * @author Radovan Šinko
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private EncodedRatesCacheImpl encodedRatesCache;
+
+    private ExchangeRatesDto rates;
+
+    /**
+     * Loads the fixture rates.
+     */
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        rates = BenchmarkFixtures.historicalRates(objectMapper);
+
+        final RatesCacheProperties properties = new RatesCacheProperties();
+        properties.setEncodedMaximumBytes(1);
+        properties.setEncodedGzip(true);
+        encodedRatesCache = new EncodedRatesCacheImpl(properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Renders the rates as JSON.
+     *
+     * @return the JSON bytes
+     * @throws IOException if the rates cannot be written
+     */
+    @Benchmark
+    public byte[] json() throws IOException {
+        return objectMapper.writeValueAsBytes(rates);
+    }
+
+    /**
+     * Renders the rates as JSON and compresses them with gzip.
+     *
+     * @return the encoded rates
+     */
+    @Benchmark
+    public EncodedRates jsonAndGzip() {
+        return encodedRatesCache.encode(rates);
+    }
+}
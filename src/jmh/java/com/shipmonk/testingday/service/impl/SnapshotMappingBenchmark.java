@@ -0,0 +1,98 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.repository.entity.ExchangeRate;
+import com.shipmonk.testingday.repository.entity.ExchangeRateSnapshot;
+
+/**
+ * Benchmark of mapping stored rates of a date to a snapshot, from the packed JSON column
+ * and from the legacy rows holding one rate each, as they were read before the legacy table was packed.
+ *
+ * @author Radovan Šinko
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ExchangeRatesDto rates;
+
+    private byte[] packedRates;
+
+    private List<ExchangeRate> legacyRates;
+
+    /**
+     * Loads the fixture rates and prepares them as stored in the database.
+     *
+     * @throws IOException if the rates cannot be encoded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        rates = BenchmarkFixtures.historicalRates(objectMapper);
+        packedRates = objectMapper.writeValueAsBytes(rates.getRates());
+
+        legacyRates = new ArrayList<>();
+        rates.getRates().forEach((currency, rate) -> legacyRates.add(ExchangeRate.builder()
+            .date(rates.getDate())
+            .baseCurrency(rates.getBase())
+            .targetCurrency(currency)
+            .rate(rate)
+            .build()));
+    }
+
+    /**
+     * Maps a snapshot row, including reading its JSON column.
+     *
+     * @return the mapped snapshot
+     * @throws IOException if the rates cannot be read
+     */
+    @Benchmark
+    public ExchangeRatesDto packedRow() throws IOException {
+        return ExchangeRatesStoreImpl.toExchangeRatesDto(ExchangeRateSnapshot.builder()
+            .baseCurrency(rates.getBase())
+            .date(rates.getDate())
+            .rates(objectMapper.readValue(packedRates, RateSnapshot.class))
+            .build());
+    }
+
+    /**
+     * Collects legacy rows into a snapshot.
+     *
+     * @return the mapped snapshot
+     */
+    @Benchmark
+    public ExchangeRatesDto legacyRows() {
+        final RateSnapshot.Builder snapshot = RateSnapshot.builder();
+        legacyRates.forEach(exchangeRate -> snapshot.put(exchangeRate.getTargetCurrency(), exchangeRate.getRate()));
+
+        return ExchangeRatesDto.builder()
+            .base(rates.getBase())
+            .date(rates.getDate())
+            .rates(snapshot.build())
+            .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.shipmonk.testingday.api;
+
+import java.util.Locale;
+
+/**
+ * Negotiation of the content coding of a response by the Accept-Encoding request header, see RFC 9110, 12.5.3.
+ * A coding is acceptable if it is listed, or matched by the "*" wildcard, with a quality value above zero.
+ * A coding listed explicitly takes precedence over the wildcard, e.g. "*, gzip;q=0" does not accept gzip.
+ *
+ * @author Radovan Šinko
+ */
+public final class AcceptEncoding {
+
+    private static final String GZIP = "gzip";
+
+    // Obsolete alias of gzip, still to be treated as equivalent
+    private static final String X_GZIP = "x-gzip";
+
+    private static final String WILDCARD = "*";
+
+    private static final String QUALITY_PARAMETER = "q=";
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Checks if the response may be compressed with gzip.
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header, null if not present
+     * @return true if gzip is acceptable
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            final String[] parts = element.split(";");
+            final String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+                gzipQuality = Math.max(gzipQuality == null ? 0 : gzipQuality, getQuality(parts));
+            } else if (WILDCARD.equals(coding)) {
+                wildcardQuality = getQuality(parts);
+            }
+        }
+
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    /**
+     * Gets the quality value of an element of the header.
+     *
+     * @param parts the coding of the element followed by its parameters
+     * @return the quality value, 1 if not given and 0 if malformed
+     */
+    private static double getQuality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    final double quality = Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
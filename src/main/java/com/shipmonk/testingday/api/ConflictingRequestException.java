@@ -0,0 +1,18 @@
+package com.shipmonk.testingday.api;
+
+/**
+ * Exception thrown when a request conflicts with the current state of a resource, answered with 409 Conflict.
+ *
+ * @author Radovan Šinko
+ */
+public class ConflictingRequestException extends IllegalStateException {
+
+    /**
+     * Constructs a new ConflictingRequestException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public ConflictingRequestException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.shipmonk.testingday.api;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Validator for currency code validation.
+ *
+ * @author Radovan Šinko
+ */
+@Component
+public class CurrencyValidator {
+
+    private static final Pattern CURRENCY_CODE = Pattern.compile("^[A-Z]{3}$");
+
+    /**
+     * Validates if the given currency code is a 3-letter code, ignoring case.
+     *
+     * @param currency the currency code to validate
+     * @return the uppercase currency code if valid
+     * @throws InvalidRequestException if the currency code is invalid
+     */
+    public String validateCurrency(String currency) {
+        if (currency == null || currency.trim().isEmpty()) {
+            throw new InvalidRequestException("Currency parameter cannot be null or empty");
+        }
+
+        final String code = currency.trim().toUpperCase(Locale.ROOT);
+        if (!CURRENCY_CODE.matcher(code).matches()) {
+            throw new InvalidRequestException("Invalid currency format. " +
+                "Please provide a valid 3-letter currency code.");
+        }
+
+        return code;
+    }
+
+    /**
+     * Validates a comma separated list of currency codes, ignoring case.
+     *
+     * @param currencies the comma separated currency codes to validate
+     * @return the distinct uppercase currency codes if all are valid
+     * @throws InvalidRequestException if any of the currency codes is invalid
+     */
+    public List<String> validateCurrencies(String currencies) {
+        if (currencies == null || currencies.trim().isEmpty()) {
+            throw new InvalidRequestException("Currencies parameter cannot be null or empty");
+        }
+
+        return Arrays.stream(currencies.split(","))
+            .map(this::validateCurrency)
+            .distinct()
+            .toList();
+    }
+}
@@ -1,13 +1,17 @@
 package com.shipmonk.testingday.api;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 
 import org.springframework.stereotype.Component;
 
 /**
  * Validator for date format validation.
+ * Today is the current date in UTC, the time zone of the dates of rates, regardless of the time zone of the server.
  *
  * @author Radovan Šinko
  */
@@ -16,29 +20,92 @@ public class DateValidator {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    private final Clock clock;
+
+    /**
+     * Creates the validator of dates relative to the current date in UTC.
+     */
+    public DateValidator() {
+        this(Clock.systemUTC());
+    }
+
+    // Package-private for tests
+    DateValidator(final Clock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Validates if the given date string is in the correct format and not in the future.
      *
      * @param dateString the date string to validate
      * @return the parsed LocalDate if valid
-     * @throws IllegalArgumentException if the date is invalid or in the future
+     * @throws InvalidRequestException if the date is invalid or in the future
      */
     public LocalDate validateDate(String dateString) {
         if (dateString == null || dateString.trim().isEmpty()) {
-            throw new IllegalArgumentException("Date parameter cannot be null or empty");
+            throw new InvalidRequestException("Date parameter cannot be null or empty");
         }
 
         try {
             final LocalDate date = LocalDate.parse(dateString, DATE_FORMATTER);
 
-            if (date.isAfter(LocalDate.now())) {
-                throw new IllegalArgumentException("Cannot request rates for future dates");
+            if (date.isAfter(today())) {
+                throw new InvalidRequestException("Cannot request rates for future dates");
             }
 
             return date;
         } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. " +
+            throw new InvalidRequestException("Invalid date format. " +
                 "Please provide a valid date in yyyy-MM-dd format.");
         }
     }
+
+    /**
+     * Validates if the given date string is in the correct format and before today.
+     *
+     * @param dateString the date string to validate
+     * @return the parsed LocalDate if valid
+     * @throws InvalidRequestException if the date is invalid, today or in the future
+     */
+    public LocalDate validatePastDate(String dateString) {
+        final LocalDate date = validateDate(dateString);
+
+        if (!date.isBefore(today())) {
+            throw new InvalidRequestException("Date must be before today");
+        }
+
+        return date;
+    }
+
+    /**
+     * Validates if the given dates form a range, i.e. the first date is not after the last one.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range (inclusive)
+     * @throws InvalidRequestException if the first date is after the last one
+     */
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("From date cannot be after to date");
+        }
+    }
+
+    /**
+     * Validates if the given dates form a range no longer than the given number of days.
+     *
+     * @param from    the first date of the range
+     * @param to      the last date of the range (inclusive)
+     * @param maxDays the maximum number of days of the range
+     * @throws InvalidRequestException if the first date is after the last one or the range is too long
+     */
+    public void validateRange(LocalDate from, LocalDate to, int maxDays) {
+        validateRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new InvalidRequestException("Date range cannot be longer than " + maxDays + " days");
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
 }
@@ -0,0 +1,19 @@
+package com.shipmonk.testingday.api;
+
+/**
+ * Exception thrown when request parameters are invalid, answered with 400 Bad Request.
+ * Thrown before a response is started, so that streamed responses are never committed for invalid requests.
+ *
+ * @author Radovan Šinko
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public InvalidRequestException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,97 @@
+package com.shipmonk.testingday.api.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.shipmonk.testingday.api.DateValidator;
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+import com.shipmonk.testingday.facade.ExchangeRatesFacade;
+import com.shipmonk.testingday.service.BackfillProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admin controller for backfilling historical exchange rates.
+ * Not served in the reactive profile, where backfills are started from the command line.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("!reactive")
+@RestController
+@RequestMapping(path = "/api/v1/admin/backfill")
+@RequiredArgsConstructor
+@Slf4j
+public class BackfillController {
+
+    private final ExchangeRatesFacade exchangeRatesFacade;
+
+    private final DateValidator dateValidator;
+
+    private final BackfillProperties backfillProperties;
+
+    /**
+     * Endpoint to start a backfill of a date range. The job runs in the background.
+     *
+     * @param from the first date of the range in "yyyy-MM-dd" format
+     * @param to   the last date of the range in "yyyy-MM-dd" format (inclusive), before today and within
+     *             the maximum range of a backfill
+     * @return ResponseEntity with the queued job
+     */
+    @RequestMapping(method = RequestMethod.POST)
+    public ResponseEntity<BackfillJobDto> start(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to) {
+
+        log.info("Starting backfill for days between {} and {}", from, to);
+        final LocalDate fromDate = dateValidator.validateDate(from);
+        final LocalDate toDate = dateValidator.validatePastDate(to);
+        dateValidator.validateRange(fromDate, toDate, backfillProperties.getMaxRangeDays());
+
+        return ResponseEntity.accepted().body(exchangeRatesFacade.startBackfill(fromDate, toDate));
+    }
+
+    /**
+     * Endpoint to resume a paused or failed backfill from its checkpoint.
+     *
+     * @param id the job identifier
+     * @return ResponseEntity with the queued job, 404 if it does not exist or 409 if it is neither paused
+     * nor failed
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/{id}/resume")
+    public ResponseEntity<BackfillJobDto> resume(@PathVariable("id") final long id) {
+        log.info("Resuming backfill {}", id);
+
+        return exchangeRatesFacade.resumeBackfill(id)
+            .map(job -> ResponseEntity.accepted().body(job))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint to get the progress of a backfill.
+     *
+     * @param id the job identifier
+     * @return ResponseEntity with the job, or 404 if it does not exist
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/{id}")
+    public ResponseEntity<BackfillJobDto> get(@PathVariable("id") final long id) {
+        return ResponseEntity.of(exchangeRatesFacade.findBackfill(id));
+    }
+
+    /**
+     * Endpoint to list all backfills, newest first.
+     *
+     * @return ResponseEntity with all jobs
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public ResponseEntity<List<BackfillJobDto>> list() {
+        return ResponseEntity.ok(exchangeRatesFacade.findBackfills());
+    }
+}
@@ -1,48 +1,287 @@
 package com.shipmonk.testingday.api.controller;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.shipmonk.testingday.api.AcceptEncoding;
+import com.shipmonk.testingday.api.CurrencyValidator;
 import com.shipmonk.testingday.api.DateValidator;
+import com.shipmonk.testingday.api.InvalidRequestException;
+import com.shipmonk.testingday.api.dto.BatchConversionRequestDto;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
 import com.shipmonk.testingday.facade.ExchangeRatesFacade;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import com.shipmonk.testingday.service.ExportFormat;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Controller for handling exchange rates.
+ * Replaced by {@link ReactiveExchangeRatesController} in the reactive profile.
  *
  * @author Radovan Šinko
  */
+@Profile("!reactive")
 @RestController
-@RequestMapping(path = "/api/v1/rates")
+@RequestMapping(path = "/api/v1")
 @RequiredArgsConstructor
 @Slf4j
 public class ExchangeRatesController {
 
+    // Rates of past dates never change, so they may be cached for the longest age recommended by RFC 9111
+    private static final Duration HISTORICAL_MAX_AGE = Duration.ofDays(365);
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final ExchangeRatesFacade exchangeRatesFacade;
 
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
     private final DateValidator dateValidator;
 
+    private final CurrencyValidator currencyValidator;
+
     /**
      * Endpoint to get exchange rates for a specific day.
+     * Responses carry a strong entity tag. Historical responses are immutable and a conditional request
+     * for an already served historical response is answered with 304 Not Modified without loading the rates.
+     * Responses are written from already encoded JSON, compressed with gzip when the client accepts it.
      *
-     * @param day the date in "yyyy-MM-dd" format
+     * @param day     the date in "yyyy-MM-dd" format
+     * @param base    the base currency of the rates, the configured base currency when not provided
+     * @param symbols the comma separated currencies to return, all currencies when not provided
+     * @param request the current request, used to evaluate its preconditions
      * @return ResponseEntity with exchange rates for the specified day
      */
-    @RequestMapping(method = RequestMethod.GET, path = "/{day}")
-    public ResponseEntity<Object> getRates(@PathVariable("day") final String day) {
-        log.info("Getting rates for day {}", day);
+    @RequestMapping(method = RequestMethod.GET, path = "/rates/{day}")
+    public ResponseEntity<Object> getRates(
+        @PathVariable("day") final String day,
+        @RequestParam(name = "base", required = false) final String base,
+        @RequestParam(name = "symbols", required = false) final String symbols,
+        final WebRequest request) {
+
+        log.info("Getting rates of {} in {} for day {}", symbols, base, day);
         final LocalDate date = dateValidator.validateDate(day);
+        final String baseCurrency = resolveBase(base);
+        final List<String> currencies = symbols == null ? null : currencyValidator.validateCurrencies(symbols);
+
+        if (!date.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            final ExchangeRatesDto rates = getRates(baseCurrency, date, currencies);
+            final String eTag = exchangeRatesFacade.getETag(date, currencies, rates);
+            final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(exchangeRatesProperties.getLatestMaxAge()).cachePublic());
+            if (Boolean.TRUE.equals(rates.getStale())) {
+                response.header(HttpHeaders.WARNING, STALE_WARNING);
+            }
+            return encodedResponse(response, eTag, exchangeRatesFacade.encode(eTag, rates), request);
+        }
+
+        // Rates of a past date are final once the day is over
+        final long lastModified = date.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        final CacheControl cacheControl = CacheControl.maxAge(HISTORICAL_MAX_AGE).cachePublic().immutable();
 
-        if (date.isEqual(LocalDate.now())) {
-            return ResponseEntity.ok(exchangeRatesFacade.getLatestRates());
+        final Optional<String> knownETag = exchangeRatesFacade.findETag(baseCurrency, date, currencies);
+        if (knownETag.isPresent()) {
+            final Optional<EncodedRates> encoded = exchangeRatesFacade.findEncoded(knownETag.get());
+            if (encoded.isPresent()) {
+                return encodedResponse(ResponseEntity.ok().lastModified(lastModified).cacheControl(cacheControl),
+                    knownETag.get(), encoded.get(), request);
+            }
+            if (request.checkNotModified(knownETag.get(), lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+            }
         }
 
-        return ResponseEntity.ok(exchangeRatesFacade.getRatesForDate(date));
+        final ExchangeRatesDto rates = getRates(baseCurrency, date, currencies);
+        final String eTag = exchangeRatesFacade.getETag(date, currencies, rates);
+        return encodedResponse(ResponseEntity.ok().lastModified(lastModified).cacheControl(cacheControl),
+            eTag, exchangeRatesFacade.encode(eTag, rates), request);
+    }
+
+    /**
+     * Completes the response with already encoded JSON. The gzip variant is a different representation,
+     * so it is tagged with the weak form of the entity tag. Conditional requests are still matched,
+     * as If-None-Match uses the weak comparison.
+     *
+     * @param response the response with its status and caching headers
+     * @param eTag     the strong entity tag of the response
+     * @param encoded  the encoded rates
+     * @param request  the current request
+     * @return ResponseEntity with the encoded rates
+     */
+    private static ResponseEntity<Object> encodedResponse(
+        final ResponseEntity.BodyBuilder response,
+        final String eTag,
+        final EncodedRates encoded,
+        final WebRequest request) {
+
+        response.contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.eTag("W/" + eTag)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(encoded.gzip());
+        }
+        return response.eTag(eTag).body(encoded.json());
+    }
+
+    private ExchangeRatesDto getRates(final String base, final LocalDate date, final List<String> currencies) {
+        if (currencies != null) {
+            return exchangeRatesFacade.getRatesForDate(base, date, currencies);
+        }
+        if (date.isEqual(LocalDate.now(ZoneOffset.UTC))) {
+            return exchangeRatesFacade.getLatestRates(base);
+        }
+        return exchangeRatesFacade.getRatesForDate(base, date);
+    }
+
+    private String resolveBase(final String base) {
+        return base == null ? exchangeRatesProperties.getBaseCurrency() : currencyValidator.validateCurrency(base);
+    }
+
+    /**
+     * Endpoint to get exchange rates for each day of a date range.
+     *
+     * @param from    the first date of the range in "yyyy-MM-dd" format
+     * @param to      the last date of the range in "yyyy-MM-dd" format (inclusive)
+     * @param base    the base currency of the rates, the configured base currency when not provided
+     * @param symbols the comma separated currencies to return, all currencies when not provided
+     * @return ResponseEntity with exchange rates for each day of the range, ordered by date
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/rates")
+    public ResponseEntity<Object> getRatesForRange(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to,
+        @RequestParam(name = "base", required = false) final String base,
+        @RequestParam(name = "symbols", required = false) final String symbols) {
+
+        log.info("Getting rates of {} in {} for days between {} and {}", symbols, base, from, to);
+        final LocalDate fromDate = dateValidator.validateDate(from);
+        final LocalDate toDate = dateValidator.validateDate(to);
+        final String baseCurrency = resolveBase(base);
+
+        if (symbols != null) {
+            return ResponseEntity.ok(exchangeRatesFacade.getRatesForRange(
+                baseCurrency, fromDate, toDate, currencyValidator.validateCurrencies(symbols)));
+        }
+
+        return ResponseEntity.ok(exchangeRatesFacade.getRatesForRange(baseCurrency, fromDate, toDate));
+    }
+
+    /**
+     * Endpoint to export all stored exchange rates of a date range.
+     * The rates are streamed to the response as they are read from the database,
+     * so the parameters are validated before the response is started.
+     *
+     * @param from   the first date of the range in "yyyy-MM-dd" format
+     * @param to     the last date of the range in "yyyy-MM-dd" format (inclusive)
+     * @param format the export format, either "csv" or "ndjson"
+     * @return ResponseEntity with the streamed export
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/rates/export")
+    public ResponseEntity<StreamingResponseBody> exportRates(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to,
+        @RequestParam(name = "format", defaultValue = "csv") final String format) {
+
+        log.info("Exporting rates for days between {} and {} as {}", from, to, format);
+        final LocalDate fromDate = dateValidator.validateDate(from);
+        final LocalDate toDate = dateValidator.validateDate(to);
+        dateValidator.validateRange(fromDate, toDate);
+        final ExportFormat exportFormat = parseExportFormat(format);
+
+        final StreamingResponseBody body =
+            output -> exchangeRatesFacade.exportRates(fromDate, toDate, exportFormat, output);
+
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("rates-" + fromDate + "-" + toDate + "." + exportFormat.getFileExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+
+    private static ExportFormat parseExportFormat(final String format) {
+        try {
+            return ExportFormat.fromValue(format);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to convert an amount between two currencies.
+     * Only the rates of the two currencies are resolved, the full rates are never sent.
+     *
+     * @param from   the currency to convert from
+     * @param to     the currency to convert to
+     * @param amount the amount to convert
+     * @param date   the date of the rates in "yyyy-MM-dd" format, today when not provided
+     * @return ResponseEntity with the cross rate and converted amount
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/convert")
+    public ResponseEntity<ConversionDto> convert(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to,
+        @RequestParam("amount") final BigDecimal amount,
+        @RequestParam(name = "date", required = false) final String date) {
+
+        log.info("Converting {} {} to {} on day {}", amount, from, to, date);
+        final LocalDate conversionDate =
+            date == null ? LocalDate.now(ZoneOffset.UTC) : dateValidator.validateDate(date);
+
+        return ResponseEntity.ok(exchangeRatesFacade.convert(
+            currencyValidator.validateCurrency(from),
+            currencyValidator.validateCurrency(to),
+            amount,
+            conversionDate));
+    }
+
+    /**
+     * Endpoint to convert many amounts in a single call.
+     * Rates of each distinct date are loaded once and the results are streamed in order of the items,
+     * so the batch size is validated before the response is started.
+     *
+     * @param request the items to convert
+     * @return ResponseEntity with the streamed JSON array of conversions
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/convert/batch")
+    public ResponseEntity<StreamingResponseBody> convertBatch(
+        @Valid @RequestBody final BatchConversionRequestDto request) {
+
+        log.info("Converting batch of {} items", request.getItems().size());
+        if (request.getItems().size() > exchangeRatesProperties.getMaxBatchSize()) {
+            throw new InvalidRequestException(
+                "Batch cannot have more than " + exchangeRatesProperties.getMaxBatchSize() + " items");
+        }
+
+        final StreamingResponseBody body = output -> exchangeRatesFacade.convertBatch(request.getItems(), output);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
 }
@@ -0,0 +1,224 @@
+package com.shipmonk.testingday.api.controller;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.shipmonk.testingday.api.AcceptEncoding;
+import com.shipmonk.testingday.api.CurrencyValidator;
+import com.shipmonk.testingday.api.DateValidator;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.facade.ExchangeRatesFacade;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.facade.ReactiveExchangeRatesFacade;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking controller for handling exchange rates, replacing {@link ExchangeRatesController}
+ * in the reactive profile. It serves the rates and conversion endpoints with the same contract,
+ * the export and batch conversion endpoints are served by the servlet stack only.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@RestController
+@RequestMapping(path = "/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExchangeRatesController {
+
+    // Rates of past dates never change, so they may be cached for the longest age recommended by RFC 9111
+    private static final Duration HISTORICAL_MAX_AGE = Duration.ofDays(365);
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final ReactiveExchangeRatesFacade reactiveExchangeRatesFacade;
+
+    private final ExchangeRatesFacade exchangeRatesFacade;
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    private final DateValidator dateValidator;
+
+    private final CurrencyValidator currencyValidator;
+
+    /**
+     * Endpoint to get exchange rates for a specific day.
+     * Responses carry a strong entity tag. Historical responses are immutable and a conditional request
+     * for an already served historical response is answered with 304 Not Modified without loading the rates.
+     * Responses are written from already encoded JSON, compressed with gzip when the client accepts it.
+     *
+     * @param day      the date in "yyyy-MM-dd" format
+     * @param base     the base currency of the rates, the configured base currency when not provided
+     * @param symbols  the comma separated currencies to return, all currencies when not provided
+     * @param exchange the current exchange, used to evaluate its preconditions
+     * @return ResponseEntity with exchange rates for the specified day
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/rates/{day}")
+    public Mono<ResponseEntity<Object>> getRates(
+        @PathVariable("day") final String day,
+        @RequestParam(name = "base", required = false) final String base,
+        @RequestParam(name = "symbols", required = false) final String symbols,
+        final ServerWebExchange exchange) {
+
+        log.info("Getting rates of {} in {} for day {}", symbols, base, day);
+        final LocalDate date = dateValidator.validateDate(day);
+        final String baseCurrency = resolveBase(base);
+        final List<String> currencies = symbols == null ? null : currencyValidator.validateCurrencies(symbols);
+
+        if (!date.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            return getRates(baseCurrency, date, currencies).map(rates -> {
+                final String eTag = exchangeRatesFacade.getETag(date, currencies, rates);
+                final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(exchangeRatesProperties.getLatestMaxAge()).cachePublic());
+                if (Boolean.TRUE.equals(rates.getStale())) {
+                    response.header(HttpHeaders.WARNING, STALE_WARNING);
+                }
+                return encodedResponse(response, eTag, exchangeRatesFacade.encode(eTag, rates), exchange);
+            });
+        }
+
+        // Rates of a past date are final once the day is over
+        final Instant lastModified = date.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        final CacheControl cacheControl = CacheControl.maxAge(HISTORICAL_MAX_AGE).cachePublic().immutable();
+
+        final Optional<String> knownETag = exchangeRatesFacade.findETag(baseCurrency, date, currencies);
+        if (knownETag.isPresent()) {
+            final Optional<EncodedRates> encoded = exchangeRatesFacade.findEncoded(knownETag.get());
+            if (encoded.isPresent()) {
+                return Mono.just(encodedResponse(ResponseEntity.ok().lastModified(lastModified)
+                    .cacheControl(cacheControl), knownETag.get(), encoded.get(), exchange));
+            }
+            if (exchange.checkNotModified(knownETag.get(), lastModified)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build());
+            }
+        }
+
+        return getRates(baseCurrency, date, currencies).map(rates -> {
+            final String eTag = exchangeRatesFacade.getETag(date, currencies, rates);
+            return encodedResponse(ResponseEntity.ok().lastModified(lastModified).cacheControl(cacheControl),
+                eTag, exchangeRatesFacade.encode(eTag, rates), exchange);
+        });
+    }
+
+    /**
+     * Completes the response with already encoded JSON. The gzip variant is a different representation,
+     * so it is tagged with the weak form of the entity tag. Conditional requests are still matched,
+     * as If-None-Match uses the weak comparison.
+     *
+     * @param response the response with its status and caching headers
+     * @param eTag     the strong entity tag of the response
+     * @param encoded  the encoded rates
+     * @param exchange the current exchange
+     * @return ResponseEntity with the encoded rates
+     */
+    private static ResponseEntity<Object> encodedResponse(
+        final ResponseEntity.BodyBuilder response,
+        final String eTag,
+        final EncodedRates encoded,
+        final ServerWebExchange exchange) {
+
+        response.contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        final String acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.eTag("W/" + eTag)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(encoded.gzip());
+        }
+        return response.eTag(eTag).body(encoded.json());
+    }
+
+    private Mono<ExchangeRatesDto> getRates(final String base, final LocalDate date, final List<String> currencies) {
+        if (currencies != null) {
+            return reactiveExchangeRatesFacade.getRatesForDate(base, date, currencies);
+        }
+        if (date.isEqual(LocalDate.now(ZoneOffset.UTC))) {
+            return reactiveExchangeRatesFacade.getLatestRates(base);
+        }
+        return reactiveExchangeRatesFacade.getRatesForDate(base, date);
+    }
+
+    private String resolveBase(final String base) {
+        return base == null ? exchangeRatesProperties.getBaseCurrency() : currencyValidator.validateCurrency(base);
+    }
+
+    /**
+     * Endpoint to get exchange rates for each day of a date range.
+     *
+     * @param from    the first date of the range in "yyyy-MM-dd" format
+     * @param to      the last date of the range in "yyyy-MM-dd" format (inclusive)
+     * @param base    the base currency of the rates, the configured base currency when not provided
+     * @param symbols the comma separated currencies to return, all currencies when not provided
+     * @return ResponseEntity with exchange rates for each day of the range, ordered by date
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/rates")
+    public ResponseEntity<Flux<ExchangeRatesDto>> getRatesForRange(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to,
+        @RequestParam(name = "base", required = false) final String base,
+        @RequestParam(name = "symbols", required = false) final String symbols) {
+
+        log.info("Getting rates of {} in {} for days between {} and {}", symbols, base, from, to);
+        final LocalDate fromDate = dateValidator.validateDate(from);
+        final LocalDate toDate = dateValidator.validateDate(to);
+        final String baseCurrency = resolveBase(base);
+
+        if (symbols != null) {
+            return ResponseEntity.ok(reactiveExchangeRatesFacade.getRatesForRange(
+                baseCurrency, fromDate, toDate, currencyValidator.validateCurrencies(symbols)));
+        }
+
+        return ResponseEntity.ok(reactiveExchangeRatesFacade.getRatesForRange(baseCurrency, fromDate, toDate));
+    }
+
+    /**
+     * Endpoint to convert an amount between two currencies.
+     * Only the rates of the two currencies are selected, the full rates are never sent.
+     *
+     * @param from   the currency to convert from
+     * @param to     the currency to convert to
+     * @param amount the amount to convert
+     * @param date   the date of the rates in "yyyy-MM-dd" format, today when not provided
+     * @return ResponseEntity with the cross rate and converted amount
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/convert")
+    public Mono<ResponseEntity<ConversionDto>> convert(
+        @RequestParam("from") final String from,
+        @RequestParam("to") final String to,
+        @RequestParam("amount") final BigDecimal amount,
+        @RequestParam(name = "date", required = false) final String date) {
+
+        log.info("Converting {} {} to {} on day {}", amount, from, to, date);
+        final LocalDate conversionDate =
+            date == null ? LocalDate.now(ZoneOffset.UTC) : dateValidator.validateDate(date);
+
+        return reactiveExchangeRatesFacade.convert(
+                currencyValidator.validateCurrency(from),
+                currencyValidator.validateCurrency(to),
+                amount,
+                conversionDate)
+            .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,40 @@
+package com.shipmonk.testingday.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * DTO for a backfill job preloading historical exchange rates of a range of dates.
+ *
+ * @author Radovan Šinko
+ */
+@Value
+@Builder
+public class BackfillJobDto {
+
+    private Long id;
+
+    private String base;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    // All dates of the range before the next date are stored
+    private LocalDate nextDate;
+
+    private BackfillStatus status;
+
+    private int fetchedDays;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.shipmonk.testingday.api.dto;
+
+/**
+ * Status of a backfill job.
+ *
+ * @author Radovan Šinko
+ */
+public enum BackfillStatus {
+
+    /**
+     * Job is waiting for a previous job to finish.
+     */
+    QUEUED,
+
+    /**
+     * Job is fetching missing dates.
+     */
+    RUNNING,
+
+    /**
+     * Job stopped as the quota of external API calls left for background jobs is used up, it can be resumed.
+     */
+    PAUSED,
+
+    /**
+     * Job stopped due to an error, it can be resumed.
+     */
+    FAILED,
+
+    /**
+     * All dates of the range are stored.
+     */
+    COMPLETED
+}
@@ -0,0 +1,22 @@
+package com.shipmonk.testingday.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a batch conversion request.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchConversionRequestDto {
+
+    @NotEmpty(message = "Items cannot be null or empty")
+    private List<ConversionRequestDto> items;
+}
@@ -0,0 +1,36 @@
+package com.shipmonk.testingday.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * DTO for conversion of an amount between two currencies.
+ *
+ * @author Radovan Šinko
+ */
+@Value
+@Builder
+public class ConversionDto {
+
+    private String from;
+
+    private String to;
+
+    private BigDecimal amount;
+
+    private LocalDate date;
+
+    private BigDecimal rate;
+
+    private BigDecimal result;
+
+    /**
+     * Reason why the amount could not be converted, only set for failed items of a batch conversion.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
@@ -0,0 +1,34 @@
+package com.shipmonk.testingday.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single item of a batch conversion request.
+ * Items are validated one by one while converting, an invalid item is answered with an error
+ * instead of rejecting the whole batch.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionRequestDto {
+
+    private BigDecimal amount;
+
+    private String from;
+
+    private String to;
+
+    /**
+     * Date of the rates, latest rates are used when not provided.
+     */
+    private LocalDate date;
+}
@@ -1,21 +1,21 @@
 package com.shipmonk.testingday.api.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.shipmonk.testingday.model.RateSnapshot;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 /**
- * DTO for exchange rates.
+ * DTO for exchange rates. Instances are immutable so they can be shared from caches.
  *
  * @author Radovan Šinko
  */
-@Data
+@Value
 @Builder
 public class ExchangeRatesDto {
 
@@ -27,5 +27,9 @@ public class ExchangeRatesDto {
     private LocalDate date;
 
     @NotNull(message = "Rates map cannot be null")
-    private Map<String, BigDecimal> rates;
+    private RateSnapshot rates;
+
+    // Set only when the latest rates could not be fetched and older rates are served instead
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stale;
 }
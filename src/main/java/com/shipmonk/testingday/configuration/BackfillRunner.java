@@ -0,0 +1,52 @@
+package com.shipmonk.testingday.configuration;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.service.BackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Claims a backfill job interrupted by a restart and starts a new one from the command line,
+ * e.g. {@code --backfill-from=2024-01-01 --backfill-to=2024-12-31}.
+ *
+ * @author Radovan Šinko
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BackfillRunner implements ApplicationRunner {
+
+    static final String FROM_OPTION = "backfill-from";
+
+    static final String TO_OPTION = "backfill-to";
+
+    private final BackfillService backfillService;
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        backfillService.resumeUnfinished();
+
+        final List<String> from = args.getOptionValues(FROM_OPTION);
+        final List<String> to = args.getOptionValues(TO_OPTION);
+        if (from == null && to == null) {
+            return;
+        }
+        if (from == null || to == null || from.size() != 1 || to.size() != 1) {
+            throw new IllegalArgumentException(
+                "Backfill requires exactly one --" + FROM_OPTION + " and one --" + TO_OPTION + " option");
+        }
+
+        log.info("Starting backfill between {} and {} from the command line", from.get(0), to.get(0));
+        backfillService.start(exchangeRatesProperties.getBaseCurrency(),
+            LocalDate.parse(from.get(0)), LocalDate.parse(to.get(0)));
+    }
+}
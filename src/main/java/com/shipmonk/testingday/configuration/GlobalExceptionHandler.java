@@ -7,18 +7,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.util.WebUtils;
 
 import com.shipmonk.testingday.api.ApiError;
+import com.shipmonk.testingday.api.ConflictingRequestException;
+import com.shipmonk.testingday.api.InvalidRequestException;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -26,13 +31,18 @@ import lombok.extern.slf4j.Slf4j;
  *
  * @author Radovan Šinko
  */
+@Profile("!reactive")
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Map<Class<? extends Exception>, HttpStatus> EXCEPTION_STATUS_MAP = Map.of(
         HttpRequestMethodNotSupportedException.class, HttpStatus.METHOD_NOT_ALLOWED,
-        MethodArgumentNotValidException.class, HttpStatus.BAD_REQUEST
+        MethodArgumentNotValidException.class, HttpStatus.BAD_REQUEST,
+        MissingServletRequestParameterException.class, HttpStatus.BAD_REQUEST,
+        MethodArgumentTypeMismatchException.class, HttpStatus.BAD_REQUEST,
+        InvalidRequestException.class, HttpStatus.BAD_REQUEST,
+        ConflictingRequestException.class, HttpStatus.CONFLICT
     );
 
     /**
@@ -0,0 +1,67 @@
+package com.shipmonk.testingday.configuration;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.shipmonk.testingday.api.ApiError;
+import com.shipmonk.testingday.api.ConflictingRequestException;
+import com.shipmonk.testingday.api.InvalidRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exception handler of the reactive profile, replacing {@link GlobalExceptionHandler} with the same error body.
+ * Exceptions of the reactive web stack carry their status, e.g. a missing request parameter or
+ * an unsupported method, invalid request parameters are a bad request, a request conflicting with the state
+ * of a resource is a conflict and any other exception is an internal server error.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Slf4j
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles all exceptions that are not explicitly handled by other exception handlers.
+     *
+     * @param ex the exception
+     * @return the response entity with the error message
+     */
+    @ExceptionHandler(Exception.class)
+    public final ResponseEntity<ApiError> handleException(final Exception ex) {
+        final HttpStatusCode status = getStatus(ex);
+
+        log.error("Handling {} due to {}", ex.getClass().getSimpleName(), ex.getMessage());
+
+        return new ResponseEntity<>(new ApiError(getErrors(ex)), status);
+    }
+
+    private static HttpStatusCode getStatus(final Exception ex) {
+        if (ex instanceof ResponseStatusException responseStatusException) {
+            return responseStatusException.getStatusCode();
+        }
+        if (ex instanceof ConflictingRequestException) {
+            return HttpStatus.CONFLICT;
+        }
+        return ex instanceof InvalidRequestException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static List<String> getErrors(final Exception ex) {
+        if (ex instanceof WebExchangeBindException bindException) {
+            return bindException.getAllErrors().stream()
+                .map(ObjectError::getDefaultMessage)
+                .toList();
+        }
+        return Collections.singletonList(ex.getMessage());
+    }
+}
@@ -0,0 +1,48 @@
+package com.shipmonk.testingday.configuration;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuration of the reactive profile.
+ * Requests are served by Netty, on a few event loop threads. The JDBC data source is still needed,
+ * as JPA, Flyway, the quota manager and the background jobs run on JDBC.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveProfileConfig {
+
+    /**
+     * Creates the Netty web server factory. Spring Boot would otherwise prefer Tomcat, which is on the classpath
+     * for the servlet stack and would serve the reactive stack on its request thread pool.
+     *
+     * @return the web server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Creates the Hikari data source from the spring.datasource properties.
+     * Spring Boot does not auto-configure it once an R2DBC connection factory is present.
+     *
+     * @param properties the data source properties
+     * @return the data source
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.shipmonk.testingday.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling scheduled background jobs.
+ *
+ * @author Radovan Šinko
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
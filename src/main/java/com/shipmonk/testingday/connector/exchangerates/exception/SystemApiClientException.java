@@ -35,9 +35,22 @@ public class SystemApiClientException extends RuntimeException {
         this.badRequestType = badRequestType;
     }
 
+    /**
+     * Checks if the request was refused for its rate, either temporarily or for the rest of the quota period.
+     *
+     * @return true if the request was rate limited
+     */
+    public boolean isRateLimited() {
+        return badRequestType == BadRequestType.RATE_LIMIT_EXCEEDED
+            || badRequestType == BadRequestType.TOO_MANY_REQUESTS;
+    }
+
     public enum BadRequestType {
         INVALID_REQUEST,
         INVALID_PARAMETERS,
-        RATE_LIMIT_EXCEEDED
+        // Usage limit of the quota period is reached
+        RATE_LIMIT_EXCEEDED,
+        // Too many requests in a short time, may be retried after a backoff
+        TOO_MANY_REQUESTS
     }
 }
@@ -1,8 +1,8 @@
 package com.shipmonk.testingday.connector.exchangerates.fixer;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
 import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClient;
 import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
 import com.shipmonk.testingday.facade.ExchangeRatesProperties;
 import com.shipmonk.testingday.service.CurrencyConversionService;
 import com.shipmonk.testingday.service.ExchangeService;
@@ -25,47 +26,45 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FixerExchangeServiceImpl implements ExchangeService {
 
+    // Fixer limits a single timeseries request to 365 days
+    static final int MAX_TIMESERIES_DAYS = 365;
+
     private final FixerClient fixerClient;
 
     private final CurrencyConversionService currencyConversionService;
 
+    private final FixerRatesMapper fixerRatesMapper;
+
     @Override
     public ExchangeRatesDto getLatestRates(final String base) {
         final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
         final ExchangeRatesResponse latestRates = fixerClient.getLatestRates(apiBaseCurrency);
-        return getExchangeRatesDto(base, latestRates, apiBaseCurrency);
+        return fixerRatesMapper.toExchangeRatesDto(base, latestRates, apiBaseCurrency);
     }
 
     @Override
     public ExchangeRatesDto getRatesForDate(final String base, final LocalDate date) {
         final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
         final ExchangeRatesResponse historicalRates = fixerClient.getRatesForDate(apiBaseCurrency, date);
-        return getExchangeRatesDto(base, historicalRates, apiBaseCurrency);
+        return fixerRatesMapper.toExchangeRatesDto(base, historicalRates, apiBaseCurrency);
     }
 
-    private ExchangeRatesDto getExchangeRatesDto(
-        final String desiredBase,
-        final ExchangeRatesResponse apiResponse,
-        final String apiBaseCurrency) {
+    @Override
+    public List<ExchangeRatesDto> getRatesForRange(final String base, final LocalDate from, final LocalDate to) {
+        final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
+        final List<ExchangeRatesDto> rates = new ArrayList<>();
 
-        if (desiredBase.equals(apiBaseCurrency)) {
-            return ExchangeRatesDto.builder()
-                .base(apiResponse.getBase())
-                .date(apiResponse.getDate())
-                .rates(apiResponse.getRates())
-                .build();
-        } else {
-            final Map<String, BigDecimal> convertedRates = currencyConversionService.convertBaseCurrency(
-                apiResponse.getRates(),
-                apiBaseCurrency,
-                desiredBase
-            );
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            final LocalDate chunkEnd = chunkStart.plusDays(MAX_TIMESERIES_DAYS - 1L).isBefore(to)
+                ? chunkStart.plusDays(MAX_TIMESERIES_DAYS - 1L)
+                : to;
 
-            return ExchangeRatesDto.builder()
-                .base(desiredBase)
-                .date(apiResponse.getDate())
-                .rates(convertedRates)
-                .build();
+            final TimeseriesResponse timeseries = fixerClient.getTimeseries(apiBaseCurrency, chunkStart, chunkEnd);
+            rates.addAll(fixerRatesMapper.toExchangeRatesDtos(base, timeseries, apiBaseCurrency));
+            chunkStart = chunkEnd.plusDays(1);
         }
+
+        return rates;
     }
 }
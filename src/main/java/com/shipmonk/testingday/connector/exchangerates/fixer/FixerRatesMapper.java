@@ -0,0 +1,95 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps responses of Fixer API to exchange rates of the desired base currency,
+ * shared by the blocking and the reactive exchange service.
+ *
+ * @author Radovan Šinko
+ */
+@Component
+@RequiredArgsConstructor
+class FixerRatesMapper {
+
+    private final CurrencyConversionService currencyConversionService;
+
+    /**
+     * Map rates of a single date.
+     *
+     * @param desiredBase     the desired base currency
+     * @param apiResponse     the response of Fixer API
+     * @param apiBaseCurrency the base currency requested from Fixer API
+     * @return the exchange rates of the desired base currency
+     */
+    ExchangeRatesDto toExchangeRatesDto(
+        final String desiredBase,
+        final ExchangeRatesResponse apiResponse,
+        final String apiBaseCurrency) {
+
+        return toExchangeRatesDto(
+            desiredBase, apiResponse.getDate(), apiResponse.getRates(), apiResponse.getBase(), apiBaseCurrency);
+    }
+
+    /**
+     * Map rates of each date of a timeseries.
+     *
+     * @param desiredBase     the desired base currency
+     * @param timeseries      the timeseries response of Fixer API
+     * @param apiBaseCurrency the base currency requested from Fixer API
+     * @return the exchange rates of the desired base currency ordered by date
+     */
+    List<ExchangeRatesDto> toExchangeRatesDtos(
+        final String desiredBase,
+        final TimeseriesResponse timeseries,
+        final String apiBaseCurrency) {
+
+        if (timeseries.getRates() == null) {
+            return List.of();
+        }
+        return timeseries.getRates().entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> toExchangeRatesDto(
+                desiredBase, entry.getKey(), entry.getValue(), timeseries.getBase(), apiBaseCurrency))
+            .toList();
+    }
+
+    private ExchangeRatesDto toExchangeRatesDto(
+        final String desiredBase,
+        final LocalDate date,
+        final RateSnapshot apiRates,
+        final String apiResponseBase,
+        final String apiBaseCurrency) {
+
+        if (desiredBase.equals(apiBaseCurrency)) {
+            return ExchangeRatesDto.builder()
+                .base(apiResponseBase)
+                .date(date)
+                .rates(apiRates)
+                .build();
+        } else {
+            final RateSnapshot convertedRates = currencyConversionService.convertBaseCurrency(
+                apiRates,
+                apiBaseCurrency,
+                desiredBase
+            );
+
+            return ExchangeRatesDto.builder()
+                .base(desiredBase)
+                .date(date)
+                .rates(convertedRates)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.ReactiveFixerClient;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import com.shipmonk.testingday.service.ReactiveExchangeService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveExchangeService} on the non-blocking Fixer client.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Service("reactiveFixerExchangeService")
+@RequiredArgsConstructor
+public class ReactiveFixerExchangeServiceImpl implements ReactiveExchangeService {
+
+    private static final int MAX_TIMESERIES_DAYS = FixerExchangeServiceImpl.MAX_TIMESERIES_DAYS;
+
+    private final ReactiveFixerClient reactiveFixerClient;
+
+    private final CurrencyConversionService currencyConversionService;
+
+    private final FixerRatesMapper fixerRatesMapper;
+
+    @Override
+    public Mono<ExchangeRatesDto> getLatestRates(final String base) {
+        final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
+        return reactiveFixerClient.getLatestRates(apiBaseCurrency)
+            .map(latestRates -> fixerRatesMapper.toExchangeRatesDto(base, latestRates, apiBaseCurrency));
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> getRatesForDate(final String base, final LocalDate date) {
+        final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
+        return reactiveFixerClient.getRatesForDate(apiBaseCurrency, date)
+            .map(historicalRates -> fixerRatesMapper.toExchangeRatesDto(base, historicalRates, apiBaseCurrency));
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> getRatesForRange(final String base, final LocalDate from, final LocalDate to) {
+        final String apiBaseCurrency = currencyConversionService.getApiBaseCurrency(base);
+
+        // Chunks are fetched one after another, keeping the rates ordered by date
+        return Flux.fromStream(() -> Stream.iterate(
+                from, chunkStart -> !chunkStart.isAfter(to), chunkStart -> chunkStart.plusDays(MAX_TIMESERIES_DAYS)))
+            .concatMap(chunkStart -> {
+                final LocalDate chunkLast = chunkStart.plusDays(MAX_TIMESERIES_DAYS - 1L);
+                final LocalDate chunkEnd = chunkLast.isBefore(to) ? chunkLast : to;
+                return reactiveFixerClient.getTimeseries(apiBaseCurrency, chunkStart, chunkEnd);
+            })
+            .concatMapIterable(timeseries -> fixerRatesMapper.toExchangeRatesDtos(base, timeseries, apiBaseCurrency));
+    }
+}
@@ -3,6 +3,7 @@ package com.shipmonk.testingday.connector.exchangerates.fixer.client;
 import java.time.LocalDate;
 
 import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
 
 /**
  * Fixer client.
@@ -27,4 +28,14 @@ public interface FixerClient {
      * @return Historical exchange rates.
      */
     ExchangeRatesResponse getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get daily exchange rates for a range of dates.
+     *
+     * @param base      Base currency code (optional).
+     * @param startDate First date of the range.
+     * @param endDate   Last date of the range (inclusive).
+     * @return Exchange rates for each date of the range.
+     */
+    TimeseriesResponse getTimeseries(String base, LocalDate startDate, LocalDate endDate);
 }
@@ -1,9 +1,21 @@
 package com.shipmonk.testingday.connector.exchangerates.fixer.client;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 /**
@@ -23,4 +35,120 @@ public class FixerClientProperties {
 
     @NotBlank(message = "Fixer API key cannot be null or empty")
     private String apiKey;
+
+    // Further keys pooled together with the API key, calls are spread across all keys of the pool
+    private List<String> apiKeys = List.of();
+
+    @NotNull(message = "Fixer API connect timeout cannot be null")
+    private Duration connectTimeout;
+
+    @NotNull(message = "Fixer API read timeout cannot be null")
+    private Duration readTimeout;
+
+    @NotNull(message = "Fixer API connection request timeout cannot be null")
+    private Duration connectionRequestTimeout;
+
+    @NotNull(message = "Fixer API keep-alive cannot be null")
+    private Duration keepAlive;
+
+    @Positive(message = "Maximum number of Fixer API connections must be positive")
+    private int maxConnections;
+
+    @Positive(message = "Maximum number of Fixer API connections per route must be positive")
+    private int maxConnectionsPerRoute;
+
+    @Valid
+    @NotNull(message = "Fixer API retry settings cannot be null")
+    private RetrySettings retry = new RetrySettings();
+
+    @Valid
+    @NotNull(message = "Fixer API circuit breaker settings cannot be null")
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    @Valid
+    @NotNull(message = "Fixer API quota settings cannot be null")
+    private QuotaSettings quota = new QuotaSettings();
+
+    /**
+     * Get all distinct API keys of the pool, starting with the API key.
+     *
+     * @return the API keys
+     */
+    public List<String> getApiKeyPool() {
+        final Set<String> pool = new LinkedHashSet<>();
+        pool.add(apiKey);
+        apiKeys.stream()
+            .filter(StringUtils::hasText)
+            .map(String::trim)
+            .forEach(pool::add);
+        return List.copyOf(pool);
+    }
+
+    @AssertTrue(message = "Maximum number of connections per route cannot exceed the maximum number of connections")
+    boolean isMaxConnectionsPerRouteWithinMaxConnections() {
+        return maxConnectionsPerRoute <= maxConnections;
+    }
+
+    /**
+     * Retry of failed Fixer API calls with exponential backoff randomized by a jitter.
+     */
+    @Data
+    public static class RetrySettings {
+
+        @Positive(message = "Maximum number of attempts must be positive")
+        private int maxAttempts;
+
+        @NotNull(message = "Initial backoff cannot be null")
+        private Duration initialBackoff;
+
+        @NotNull(message = "Maximum backoff cannot be null")
+        private Duration maxBackoff;
+
+        @DecimalMin(value = "1.0", message = "Backoff multiplier must be at least 1")
+        private double backoffMultiplier;
+
+        @DecimalMin(value = "0.0", message = "Jitter factor cannot be negative")
+        @DecimalMax(value = "1.0", inclusive = false, message = "Jitter factor must be less than 1")
+        private double jitterFactor;
+    }
+
+    /**
+     * Monthly quota of Fixer API calls.
+     */
+    @Data
+    public static class QuotaSettings {
+
+        @Positive(message = "Monthly limit of calls per API key must be positive")
+        private long monthlyLimit;
+
+        @DecimalMin(value = "0.0", message = "Background reserve ratio cannot be negative")
+        @DecimalMax(value = "1.0", message = "Background reserve ratio cannot exceed 1")
+        private double backgroundReserveRatio;
+
+        @NotNull(message = "Flush interval of counted calls is required")
+        private Duration flushInterval;
+    }
+
+    /**
+     * Circuit breaker failing Fixer API calls fast while the failure rate is over its threshold.
+     */
+    @Data
+    public static class CircuitBreakerSettings {
+
+        @Positive(message = "Sliding window size must be positive")
+        private int slidingWindowSize;
+
+        @Positive(message = "Minimum number of calls must be positive")
+        private int minimumNumberOfCalls;
+
+        @DecimalMin(value = "0.0", inclusive = false, message = "Failure rate threshold must be positive")
+        @DecimalMax(value = "100.0", message = "Failure rate threshold cannot exceed 100 percent")
+        private float failureRateThreshold;
+
+        @NotNull(message = "Wait duration in open state cannot be null")
+        private Duration waitDurationInOpenState;
+
+        @Positive(message = "Number of permitted calls in half-open state must be positive")
+        private int permittedNumberOfCallsInHalfOpenState;
+    }
 }
@@ -0,0 +1,42 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.client;
+
+import java.time.LocalDate;
+
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking Fixer client, the counterpart of {@link FixerClient} used by the reactive profile.
+ *
+ * @author Radovan Šinko
+ */
+public interface ReactiveFixerClient {
+
+    /**
+     * Get latest exchange rates.
+     *
+     * @param base Base currency code.
+     * @return Latest exchange rates.
+     */
+    Mono<ExchangeRatesResponse> getLatestRates(String base);
+
+    /**
+     * Get historical exchange rates.
+     *
+     * @param base Base currency code.
+     * @param date Date to get exchange rates for.
+     * @return Historical exchange rates.
+     */
+    Mono<ExchangeRatesResponse> getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get daily exchange rates for a range of dates.
+     *
+     * @param base      Base currency code.
+     * @param startDate First date of the range.
+     * @param endDate   Last date of the range (inclusive).
+     * @return Exchange rates for each date of the range.
+     */
+    Mono<TimeseriesResponse> getTimeseries(String base, LocalDate startDate, LocalDate endDate);
+}
@@ -2,25 +2,42 @@ package com.shipmonk.testingday.connector.exchangerates.fixer.client.impl;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
 import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
 import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
 import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClient;
-import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientProperties;
 import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.FixerError;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.FixerResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.quota.FixerQuotaManager;
+import com.shipmonk.testingday.service.CallPriority;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Implementation of {@link FixerClient}
+ * Implementation of {@link FixerClient}.
+ * Calls failing with a server error or throttled by Fixer are retried with backoff, each attempt passing
+ * the circuit breaker. Each attempt uses an API key acquired from the quota manager, a key whose usage limit
+ * is reached is marked as exhausted and the call is repeated with another key.
+ * Calls are timed including retries, by operation, base currency, priority and outcome.
  *
  * @author Radovan Šinko
  */
@@ -32,16 +49,30 @@ public class FixerClientImpl implements FixerClient {
     private static final String API_KEY = "access_key";
     private static final String BASE = "base";
     private static final String LATEST = "latest";
+    private static final String TIMESERIES = "timeseries";
+    private static final String START_DATE = "start_date";
+    private static final String END_DATE = "end_date";
+    private static final String HISTORICAL = "historical";
+
+    private static final String CALLS_TIMER = "fixer.calls";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_RATE_LIMITED = "rate_limited";
+    private static final String OUTCOME_CLIENT_ERROR = "client_error";
+    private static final String OUTCOME_SERVER_ERROR = "server_error";
+    private static final String OUTCOME_REJECTED = "rejected";
 
     private final RestClient restClient;
-    private final FixerClientProperties fixerClientProperties;
+    private final FixerQuotaManager fixerQuotaManager;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public ExchangeRatesResponse getLatestRates(final String base) {
         Assert.hasText(base, "Base currency cannot be null or empty");
 
         final Map<String, String> queryParams = fillQueryParams(base);
-        return callGet("/" + LATEST, queryParams);
+        return callGet(LATEST, "/" + LATEST, queryParams, ExchangeRatesResponse.class);
     }
 
     @Override
@@ -50,20 +81,95 @@ public class FixerClientImpl implements FixerClient {
         Assert.notNull(date, "Date cannot be null");
 
         final Map<String, String> queryParams = fillQueryParams(base);
-        return callGet("/" + date, queryParams);
+        return callGet(HISTORICAL, "/" + date, queryParams, ExchangeRatesResponse.class);
     }
 
-    private ExchangeRatesResponse callGet(final String path, final Map<String, String> queryParams) {
+    @Override
+    public TimeseriesResponse getTimeseries(final String base, final LocalDate startDate, final LocalDate endDate) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(startDate, "Start date cannot be null");
+        Assert.notNull(endDate, "End date cannot be null");
+        Assert.isTrue(!startDate.isAfter(endDate), "Start date cannot be after end date");
+
+        final Map<String, String> queryParams = fillQueryParams(base);
+        queryParams.put(START_DATE, startDate.toString());
+        queryParams.put(END_DATE, endDate.toString());
+        return callGet(TIMESERIES, "/" + TIMESERIES, queryParams, TimeseriesResponse.class);
+    }
+
+    private <T extends FixerResponse> T callGet(
+        final String operation,
+        final String path,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_SUCCESS;
         try {
-            final ResponseEntity<ExchangeRatesResponse> response = restClient.get()
+            return Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker,
+                () -> callGetWithAnyKey(path, queryParams, responseType))).get();
+        } catch (CallNotPermittedException e) {
+            outcome = OUTCOME_REJECTED;
+            log.warn("Not calling Fixer API, circuit breaker is open");
+            throw new SystemApiServerException(
+                SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE,
+                "Remote service is unavailable", e);
+        } catch (SystemApiClientException e) {
+            outcome = e.isRateLimited() ? OUTCOME_RATE_LIMITED : OUTCOME_CLIENT_ERROR;
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = OUTCOME_SERVER_ERROR;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(CALLS_TIMER)
+                .description("Calls of Fixer API including retries")
+                .tags("operation", operation,
+                    "base", queryParams.getOrDefault(BASE, ""),
+                    "priority", CallPriority.current().name().toLowerCase(Locale.ROOT),
+                    "outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    private <T extends FixerResponse> T callGetWithAnyKey(
+        final String path,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        // Terminates once all keys are exhausted, as the quota manager then refuses to acquire a key
+        while (true) {
+            final String apiKey = fixerQuotaManager.acquire();
+            try {
+                return doGet(path, apiKey, queryParams, responseType);
+            } catch (SystemApiClientException e) {
+                // Only a reached usage limit exhausts the key, throttling is retried with backoff by the caller
+                if (e.getBadRequestType() != SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED) {
+                    throw e;
+                }
+                log.warn("Usage limit of a Fixer API key is reached: {}", e.getMessage());
+                fixerQuotaManager.markExhausted(apiKey);
+            }
+        }
+    }
+
+    private <T extends FixerResponse> T doGet(
+        final String path,
+        final String apiKey,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        try {
+            final ResponseEntity<T> response = restClient.get()
                 .uri(uriBuilder -> {
                     uriBuilder.path(path);
+                    uriBuilder.queryParam(API_KEY, apiKey);
                     queryParams.forEach(uriBuilder::queryParam);
                     return uriBuilder.build();
                 })
                 .retrieve()
+                // Too many requests are left to the default handler, to read the error from the body
                 .onStatus(
-                    HttpStatusCode::is4xxClientError,
+                    status -> status.is4xxClientError() && !status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS),
                     (request, response1) -> {
                         throw new SystemApiClientException(
                             SystemApiClientException.BadRequestType.INVALID_REQUEST,
@@ -76,9 +182,11 @@ public class FixerClientImpl implements FixerClient {
                             SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE,
                             "Remote service error: " + response1.getStatusCode());
                     })
-                .toEntity(ExchangeRatesResponse.class);
+                .toEntity(responseType);
 
-            return response.getBody();
+            return checkSuccess(response.getBody());
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw toTooManyRequestsException(readError(e));
         } catch (SystemApiClientException | SystemApiServerException e) {
             throw e;
         } catch (Exception e) {
@@ -89,11 +197,50 @@ public class FixerClientImpl implements FixerClient {
         }
     }
 
+    // Package-private for the reactive client
+    static <T extends FixerResponse> T checkSuccess(final T response) {
+        if (response == null || !Boolean.FALSE.equals(response.getSuccess())) {
+            return response;
+        }
+
+        // Fixer reports most errors, including a reached usage limit, in a successful HTTP response
+        final FixerError error = response.getError();
+        if (error != null && Integer.valueOf(FixerError.USAGE_LIMIT_REACHED).equals(error.getCode())) {
+            throw new SystemApiClientException(
+                SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED,
+                "Request failed: " + error.getInfo());
+        }
+        throw new SystemApiClientException(
+            SystemApiClientException.BadRequestType.INVALID_REQUEST,
+            "Request failed: " + (error == null ? "unknown error" : error.getCode() + " " + error.getType()));
+    }
+
+    // Package-private for the reactive client
+    static SystemApiClientException toTooManyRequestsException(final FixerResponse response) {
+        // Fixer may report a reached usage limit with too many requests, other throttling is temporary
+        final FixerError error = response == null ? null : response.getError();
+        if (error != null && Integer.valueOf(FixerError.USAGE_LIMIT_REACHED).equals(error.getCode())) {
+            return new SystemApiClientException(
+                SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED,
+                "Request failed: " + error.getInfo());
+        }
+        return new SystemApiClientException(
+            SystemApiClientException.BadRequestType.TOO_MANY_REQUESTS,
+            "Request failed: " + HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static FixerResponse readError(final HttpClientErrorException e) {
+        try {
+            return e.getResponseBodyAs(ExchangeRatesResponse.class);
+        } catch (RestClientException | IllegalStateException ex) {
+            log.debug("Failed to read error of too many requests: {}", ex.getMessage());
+            return null;
+        }
+    }
+
     private Map<String, String> fillQueryParams(final String base) {
         final Map<String, String> queryParams = new HashMap<>();
 
-        queryParams.put(API_KEY, fixerClientProperties.getApiKey());
-
         if (!StringUtils.isEmpty(base)) {
             queryParams.put(BASE, base);
         }
@@ -0,0 +1,220 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.client.impl;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.ReactiveFixerClient;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.FixerResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.TimeseriesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.quota.FixerQuotaManager;
+import com.shipmonk.testingday.service.CallPriority;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Implementation of {@link ReactiveFixerClient} on a non-blocking {@link WebClient}.
+ * Calls share the retry, circuit breaker and quota of the blocking client. The quota manager may load
+ * the usage from the database, so keys are acquired on the bounded elastic scheduler, off the event loop.
+ * Calls are timed including retries, by operation, base currency, priority and outcome.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveFixerClientImpl implements ReactiveFixerClient {
+
+    private static final String API_KEY = "access_key";
+    private static final String BASE = "base";
+    private static final String LATEST = "latest";
+    private static final String TIMESERIES = "timeseries";
+    private static final String START_DATE = "start_date";
+    private static final String END_DATE = "end_date";
+    private static final String HISTORICAL = "historical";
+
+    private static final String CALLS_TIMER = "fixer.calls";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_RATE_LIMITED = "rate_limited";
+    private static final String OUTCOME_CLIENT_ERROR = "client_error";
+    private static final String OUTCOME_SERVER_ERROR = "server_error";
+    private static final String OUTCOME_REJECTED = "rejected";
+
+    private final WebClient fixerWebClient;
+    private final FixerQuotaManager fixerQuotaManager;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ExchangeRatesResponse> getLatestRates(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        final Map<String, String> queryParams = fillQueryParams(base);
+        return callGet(LATEST, "/" + LATEST, queryParams, ExchangeRatesResponse.class);
+    }
+
+    @Override
+    public Mono<ExchangeRatesResponse> getRatesForDate(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        final Map<String, String> queryParams = fillQueryParams(base);
+        return callGet(HISTORICAL, "/" + date, queryParams, ExchangeRatesResponse.class);
+    }
+
+    @Override
+    public Mono<TimeseriesResponse> getTimeseries(
+        final String base,
+        final LocalDate startDate,
+        final LocalDate endDate) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(startDate, "Start date cannot be null");
+        Assert.notNull(endDate, "End date cannot be null");
+        Assert.isTrue(!startDate.isAfter(endDate), "Start date cannot be after end date");
+
+        final Map<String, String> queryParams = fillQueryParams(base);
+        queryParams.put(START_DATE, startDate.toString());
+        queryParams.put(END_DATE, endDate.toString());
+        return callGet(TIMESERIES, "/" + TIMESERIES, queryParams, TimeseriesResponse.class);
+    }
+
+    private <T extends FixerResponse> Mono<T> callGet(
+        final String operation,
+        final String path,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            return callGetWithAnyKey(path, queryParams, responseType)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .doOnSuccess(response -> stopTimer(sample, operation, queryParams, OUTCOME_SUCCESS))
+                .doOnError(e -> stopTimer(sample, operation, queryParams, toOutcome(e)))
+                .onErrorMap(CallNotPermittedException.class, e -> {
+                    log.warn("Not calling Fixer API, circuit breaker is open");
+                    return new SystemApiServerException(
+                        SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE,
+                        "Remote service is unavailable", e);
+                });
+        });
+    }
+
+    private <T extends FixerResponse> Mono<T> callGetWithAnyKey(
+        final String path,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        // Terminates once all keys are exhausted, as the quota manager then refuses to acquire a key
+        return Mono.fromCallable(fixerQuotaManager::acquire)
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(apiKey -> doGet(path, apiKey, queryParams, responseType)
+                .onErrorResume(ReactiveFixerClientImpl::isUsageLimitReached, e -> {
+                    log.warn("Usage limit of a Fixer API key is reached: {}", e.getMessage());
+                    return Mono.fromRunnable(() -> fixerQuotaManager.markExhausted(apiKey))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(callGetWithAnyKey(path, queryParams, responseType));
+                }));
+    }
+
+    private <T extends FixerResponse> Mono<T> doGet(
+        final String path,
+        final String apiKey,
+        final Map<String, String> queryParams,
+        final Class<T> responseType) {
+
+        return fixerWebClient.get()
+            .uri(uriBuilder -> {
+                uriBuilder.path(path);
+                uriBuilder.queryParam(API_KEY, apiKey);
+                queryParams.forEach(uriBuilder::queryParam);
+                return uriBuilder.build();
+            })
+            .retrieve()
+            .onStatus(
+                status -> status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS),
+                response -> response.bodyToMono(ExchangeRatesResponse.class)
+                    .onErrorResume(e -> Mono.empty())
+                    .map(FixerClientImpl::toTooManyRequestsException)
+                    .defaultIfEmpty(FixerClientImpl.toTooManyRequestsException(null))
+                    .flatMap(Mono::error))
+            .onStatus(
+                HttpStatusCode::is4xxClientError,
+                response -> Mono.error(new SystemApiClientException(
+                    SystemApiClientException.BadRequestType.INVALID_REQUEST,
+                    "Request failed: " + response.statusCode())))
+            .onStatus(
+                HttpStatusCode::is5xxServerError,
+                response -> Mono.error(new SystemApiServerException(
+                    SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE,
+                    "Remote service error: " + response.statusCode())))
+            .bodyToMono(responseType)
+            .map(FixerClientImpl::checkSuccess)
+            .onErrorMap(e -> !(e instanceof SystemApiClientException || e instanceof SystemApiServerException), e -> {
+                log.error("Error calling Fixer API: {}", e.getMessage(), e);
+                return new SystemApiServerException(
+                    SystemApiServerException.ServerErrorRequestType.INTERNAL_SERVER_ERROR,
+                    "Unexpected error occurred", e);
+            });
+    }
+
+    private static boolean isUsageLimitReached(final Throwable e) {
+        return e instanceof SystemApiClientException clientException
+            && clientException.getBadRequestType() == SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED;
+    }
+
+    private static String toOutcome(final Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            return OUTCOME_REJECTED;
+        }
+        if (e instanceof SystemApiClientException) {
+            return ((SystemApiClientException) e).isRateLimited() ? OUTCOME_RATE_LIMITED : OUTCOME_CLIENT_ERROR;
+        }
+        return OUTCOME_SERVER_ERROR;
+    }
+
+    private void stopTimer(
+        final Timer.Sample sample,
+        final String operation,
+        final Map<String, String> queryParams,
+        final String outcome) {
+
+        // Only request handling calls the reactive client, so its calls are always interactive
+        sample.stop(Timer.builder(CALLS_TIMER)
+            .description("Calls of Fixer API including retries")
+            .tags("operation", operation,
+                "base", queryParams.getOrDefault(BASE, ""),
+                "priority", CallPriority.INTERACTIVE.name().toLowerCase(Locale.ROOT),
+                "outcome", outcome)
+            .register(meterRegistry));
+    }
+
+    private Map<String, String> fillQueryParams(final String base) {
+        final Map<String, String> queryParams = new HashMap<>();
+        queryParams.put(BASE, base);
+        return queryParams;
+    }
+}
@@ -1,12 +1,42 @@
 package com.shipmonk.testingday.connector.exchangerates.fixer.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
 import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration for Fixer client.
@@ -15,19 +45,172 @@ import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientP
  */
 @Configuration
 @EnableConfigurationProperties(FixerClientProperties.class)
+@Slf4j
 public class FixerClientConfig {
 
+    private static final String POOL_NAME = "fixer";
+
+    private static final String RESILIENCE_NAME = "fixer";
+
+    /**
+     * Creates the pool of keep-alive connections to Fixer API and binds its metrics to the meter registry.
+     * The pool size limits the number of concurrent calls to Fixer API.
+     *
+     * @param properties    the Fixer client properties
+     * @param meterRegistry the meter registry
+     * @return the connection manager bean
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager fixerConnectionManager(
+        final FixerClientProperties properties,
+        final MeterRegistry meterRegistry) {
+
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxConnections())
+            .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .build())
+            .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * Creates the HTTP client for Fixer API. Idle connections are evicted once their keep-alive passes.
+     * A call is bounded by the connection request, connect and read timeouts.
+     *
+     * @param properties        the Fixer client properties
+     * @param connectionManager the connection manager
+     * @return the HTTP client bean
+     */
+    @Bean
+    public CloseableHttpClient fixerHttpClient(
+        final FixerClientProperties properties,
+        final PoolingHttpClientConnectionManager connectionManager) {
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build())
+            .setKeepAliveStrategy((response, context) -> TimeValue.of(properties.getKeepAlive()))
+            .evictIdleConnections(TimeValue.of(properties.getKeepAlive()))
+            .evictExpiredConnections()
+            .build();
+    }
+
+    /**
+     * Creates the retry of Fixer API calls failing with a server error or throttled by Fixer and binds its metrics
+     * to the meter registry.
+     * Calls rejected by an open circuit breaker are not retried.
+     *
+     * @param properties    the Fixer client properties
+     * @param meterRegistry the meter registry
+     * @return the retry bean
+     */
+    @Bean
+    public Retry fixerRetry(final FixerClientProperties properties, final MeterRegistry meterRegistry) {
+        final FixerClientProperties.RetrySettings settings = properties.getRetry();
+        final RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(settings.getMaxAttempts())
+            .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                settings.getInitialBackoff(),
+                settings.getBackoffMultiplier(),
+                settings.getJitterFactor(),
+                settings.getMaxBackoff()))
+            .retryOnException(e -> e instanceof SystemApiServerException
+                || e instanceof SystemApiClientException clientException
+                && clientException.getBadRequestType() == SystemApiClientException.BadRequestType.TOO_MANY_REQUESTS)
+            .build());
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+
+        final Retry retry = registry.retry(RESILIENCE_NAME);
+        retry.getEventPublisher().onRetry(event -> log.warn("Retrying Fixer API call, attempt {} after {}",
+            event.getNumberOfRetryAttempts(), event.getWaitInterval(), event.getLastThrowable()));
+        return retry;
+    }
+
+    /**
+     * Creates the circuit breaker of Fixer API calls and binds its metrics to the meter registry.
+     * Only server errors count as failures, client errors are caused by the request.
+     *
+     * @param properties    the Fixer client properties
+     * @param meterRegistry the meter registry
+     * @return the circuit breaker bean
+     */
+    @Bean
+    public CircuitBreaker fixerCircuitBreaker(
+        final FixerClientProperties properties,
+        final MeterRegistry meterRegistry) {
+
+        final FixerClientProperties.CircuitBreakerSettings settings = properties.getCircuitBreaker();
+        final CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(settings.getSlidingWindowSize())
+            .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+            .failureRateThreshold(settings.getFailureRateThreshold())
+            .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(settings.getPermittedNumberOfCallsInHalfOpenState())
+            .recordExceptions(SystemApiServerException.class)
+            .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        final CircuitBreaker circuitBreaker = registry.circuitBreaker(RESILIENCE_NAME);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> log.warn("Fixer API circuit breaker {}",
+            event.getStateTransition()));
+        return circuitBreaker;
+    }
+
     /**
      * Creates a RestClient bean for Fixer API.
+     * The client is built from the auto-configured builder, so that its requests are observed
+     * and their latency is published as metrics. The builder is not auto-configured in the reactive profile,
+     * where only the background jobs call the blocking client, so a plain builder is used there.
      *
+     * @param builder    the provider of the RestClient builder
      * @param properties the Fixer client properties
+     * @param httpClient the HTTP client
      * @return the RestClient bean
      */
     @Bean
     @Qualifier("fixerRestClient")
-    public RestClient fixerRestClient(final FixerClientProperties properties) {
-        return RestClient.builder()
+    public RestClient fixerRestClient(
+        final ObjectProvider<RestClient.Builder> builder,
+        final FixerClientProperties properties,
+        final CloseableHttpClient httpClient) {
+
+        return builder.getIfAvailable(RestClient::builder)
+            .baseUrl(properties.getUrl())
+            .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+            .build();
+    }
+
+    /**
+     * Creates a non-blocking WebClient bean for Fixer API, used by the reactive profile.
+     * Its connection pool and timeouts mirror those of the blocking client: the pool size limits
+     * the number of concurrent calls and pending calls wait at most the connection request timeout.
+     *
+     * @param builder    the WebClient builder
+     * @param properties the Fixer client properties
+     * @return the WebClient bean
+     */
+    @Bean
+    @Profile("reactive")
+    public WebClient fixerWebClient(final WebClient.Builder builder, final FixerClientProperties properties) {
+        final ConnectionProvider connectionProvider = ConnectionProvider.builder(POOL_NAME)
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(properties.getKeepAlive())
+            .build();
+        final HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getReadTimeout());
+
+        return builder
             .baseUrl(properties.getUrl())
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
             .build();
     }
 }
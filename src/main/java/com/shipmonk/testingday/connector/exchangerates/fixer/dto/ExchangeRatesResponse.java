@@ -1,9 +1,8 @@
 package com.shipmonk.testingday.connector.exchangerates.fixer.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Map;
 
+import com.shipmonk.testingday.model.RateSnapshot;
 import lombok.Data;
 
 /**
@@ -12,7 +11,7 @@ import lombok.Data;
  * @author Radovan Šinko
  */
 @Data
-public class ExchangeRatesResponse {
+public class ExchangeRatesResponse implements FixerResponse {
 
     private Boolean success;
 
@@ -22,5 +21,7 @@ public class ExchangeRatesResponse {
 
     private String base;
 
-    private Map<String, BigDecimal> rates;
+    private RateSnapshot rates;
+
+    private FixerError error;
 }
@@ -0,0 +1,21 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.dto;
+
+import lombok.Data;
+
+/**
+ * DTO for an error returned by Fixer API in an unsuccessful response.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+public class FixerError {
+
+    // Error code of a reached monthly usage limit
+    public static final int USAGE_LIMIT_REACHED = 104;
+
+    private Integer code;
+
+    private String type;
+
+    private String info;
+}
@@ -0,0 +1,23 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.dto;
+
+/**
+ * Common part of all responses from Fixer API.
+ *
+ * @author Radovan Šinko
+ */
+public interface FixerResponse {
+
+    /**
+     * Whether the request succeeded.
+     *
+     * @return false if the request failed, the error is then set.
+     */
+    Boolean getSuccess();
+
+    /**
+     * Get error of a failed request.
+     *
+     * @return Error, or null if the request succeeded.
+     */
+    FixerError getError();
+}
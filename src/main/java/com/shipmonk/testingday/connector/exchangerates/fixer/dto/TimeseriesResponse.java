@@ -0,0 +1,33 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.shipmonk.testingday.model.RateSnapshot;
+import lombok.Data;
+
+/**
+ * DTO for exchange rates for a range of dates from Fixer API.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+public class TimeseriesResponse implements FixerResponse {
+
+    private Boolean success;
+
+    private Boolean timeseries;
+
+    @JsonProperty("start_date")
+    private LocalDate startDate;
+
+    @JsonProperty("end_date")
+    private LocalDate endDate;
+
+    private String base;
+
+    private Map<LocalDate, RateSnapshot> rates;
+
+    private FixerError error;
+}
@@ -0,0 +1,30 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.quota;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint exposing usage of the Fixer API quota.
+ *
+ * @author Radovan Šinko
+ */
+@Component
+@Endpoint(id = "fixerquota")
+@RequiredArgsConstructor
+public class FixerQuotaEndpoint {
+
+    private final FixerQuotaManager fixerQuotaManager;
+
+    /**
+     * Get usage of all Fixer API keys in the current month.
+     *
+     * @return the current usage
+     */
+    @ReadOperation
+    public FixerQuotaManager.Usage usage() {
+        return fixerQuotaManager.getUsage();
+    }
+}
@@ -0,0 +1,68 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.quota;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+
+/**
+ * Manager of the monthly quota of Fixer API calls over a pool of API keys.
+ * Every call is counted against the key it was made with. Once only the reserve of the quota remains,
+ * background calls are refused so that interactive calls can still be served.
+ *
+ * @author Radovan Šinko
+ */
+public interface FixerQuotaManager {
+
+    /**
+     * Acquire an API key for a call and count the call against it.
+     * The key with the most remaining calls is chosen, spreading calls across the pool.
+     *
+     * @return API key to make the call with.
+     * @throws SystemApiClientException with {@link SystemApiClientException.BadRequestType#RATE_LIMIT_EXCEEDED}
+     *                                  if no key has remaining calls, or if only the reserve remains and the call
+     *                                  is made in the background
+     */
+    String acquire();
+
+    /**
+     * Mark an API key as exhausted for the rest of the month, e.g. when Fixer reports its usage limit reached.
+     *
+     * @param apiKey Exhausted API key.
+     */
+    void markExhausted(String apiKey);
+
+    /**
+     * Store the calls counted since the last flush. Calls are counted in memory and stored in batches,
+     * so that acquiring a key does not wait for the database.
+     */
+    void flush();
+
+    /**
+     * Get usage of all API keys in the current month.
+     *
+     * @return Current usage.
+     */
+    Usage getUsage();
+
+    /**
+     * Usage of the pool of API keys in a month.
+     *
+     * @param month             Month of the usage.
+     * @param remaining         Number of remaining calls of all keys.
+     * @param backgroundReserve Number of calls reserved for interactive calls.
+     * @param keys              Usage of each key.
+     */
+    record Usage(YearMonth month, long remaining, long backgroundReserve, List<KeyUsage> keys) {
+    }
+
+    /**
+     * Usage of an API key in a month.
+     *
+     * @param keyId Identifier of the key, derived from its hash so that the key is not disclosed.
+     * @param calls Number of calls made with the key.
+     * @param limit Monthly limit of calls of the key.
+     */
+    record KeyUsage(String keyId, long calls, long limit) {
+    }
+}
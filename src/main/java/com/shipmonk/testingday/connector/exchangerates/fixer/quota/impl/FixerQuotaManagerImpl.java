@@ -0,0 +1,294 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.quota.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientProperties;
+import com.shipmonk.testingday.connector.exchangerates.fixer.quota.FixerQuotaManager;
+import com.shipmonk.testingday.repository.ApiKeyUsageRepository;
+import com.shipmonk.testingday.service.CallPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link FixerQuotaManager}.
+ * Usage is counted per calendar month in UTC, approximating the billing period of Fixer. Counts are kept
+ * in memory without locking, calls are added to the database in batches by {@link #flush()}, so that no call
+ * waits for the database. Counts are loaded from the database on the first call of each month and replaced
+ * by the totals stored by all nodes on every flush, so that every node sees the calls of the other ones.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(FixerClientProperties.class)
+@Service
+@Slf4j
+public class FixerQuotaManagerImpl implements FixerQuotaManager {
+
+    private static final int KEY_ID_LENGTH = 16;
+
+    private final ApiKeyUsageRepository apiKeyUsageRepository;
+
+    private final Clock clock;
+
+    private final long monthlyLimit;
+
+    private final long backgroundReserve;
+
+    // API keys by their identifiers, in the order of the pool
+    private final Map<String, String> apiKeys = new LinkedHashMap<>();
+
+    // Usage of the current month, replaced as a whole once a new month starts
+    private final AtomicReference<MonthUsage> usage = new AtomicReference<>();
+
+    /**
+     * Creates the quota manager of the configured pool of API keys and publishes the remaining calls
+     * of each key as a gauge.
+     *
+     * @param properties            the Fixer client properties
+     * @param apiKeyUsageRepository the API key usage repository
+     * @param meterRegistry         the meter registry
+     */
+    @Autowired
+    public FixerQuotaManagerImpl(
+        final FixerClientProperties properties,
+        final ApiKeyUsageRepository apiKeyUsageRepository,
+        final MeterRegistry meterRegistry) {
+
+        this(properties, apiKeyUsageRepository, meterRegistry, Clock.systemUTC());
+    }
+
+    // Package-private for tests
+    FixerQuotaManagerImpl(
+        final FixerClientProperties properties,
+        final ApiKeyUsageRepository apiKeyUsageRepository,
+        final MeterRegistry meterRegistry,
+        final Clock clock) {
+
+        this.apiKeyUsageRepository = apiKeyUsageRepository;
+        this.clock = clock;
+        this.monthlyLimit = properties.getQuota().getMonthlyLimit();
+        properties.getApiKeyPool().forEach(apiKey -> apiKeys.put(toKeyId(apiKey), apiKey));
+        this.backgroundReserve =
+            (long) Math.ceil(properties.getQuota().getBackgroundReserveRatio() * monthlyLimit * apiKeys.size());
+
+        apiKeys.keySet().forEach(keyId -> Gauge
+            .builder("fixer.quota.remaining", () -> getCurrentUsage().getRemainingOfKey(keyId))
+            .description("Number of remaining Fixer API calls of a key in the current month")
+            .tag("key", keyId)
+            .register(meterRegistry));
+    }
+
+    @Override
+    public String acquire() {
+        final MonthUsage current = getCurrentUsage();
+
+        final long remaining = current.getRemaining();
+        if (CallPriority.current() == CallPriority.BACKGROUND && remaining <= backgroundReserve) {
+            throw new SystemApiClientException(SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED,
+                "Remaining " + remaining + " Fixer API calls are reserved for interactive calls");
+        }
+
+        // Keys are tried from the one with the most remaining calls, a key used up concurrently is skipped
+        final List<String> keyIds = apiKeys.keySet().stream()
+            .sorted(Comparator.comparingLong(current::getRemainingOfKey).reversed())
+            .toList();
+        for (String keyId : keyIds) {
+            if (current.tryCountCall(keyId)) {
+                return apiKeys.get(keyId);
+            }
+        }
+        throw new SystemApiClientException(SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED,
+            "Monthly quota of all Fixer API keys is used up");
+    }
+
+    @Override
+    public void markExhausted(final String apiKey) {
+        Assert.hasText(apiKey, "API key cannot be null or empty");
+        final MonthUsage current = getCurrentUsage();
+
+        final String keyId = toKeyId(apiKey);
+        final AtomicLong calls = current.callsByKeyId().get(keyId);
+        if (calls == null) {
+            return;
+        }
+        calls.accumulateAndGet(monthlyLimit, Math::max);
+        log.warn("Fixer API key: {} is exhausted until the end of month: {}", keyId, current.month());
+        try {
+            apiKeyUsageRepository.raiseCalls(keyId, current.month().atDay(1), monthlyLimit);
+        } catch (DataAccessException e) {
+            log.warn("Failed to store exhausted Fixer API key: {}, keeping it in memory only", keyId, e);
+        }
+    }
+
+    @Override
+    public Usage getUsage() {
+        final MonthUsage current = getCurrentUsage();
+
+        final List<KeyUsage> keys = apiKeys.keySet().stream()
+            .map(keyId -> new KeyUsage(keyId, current.callsByKeyId().get(keyId).get(), monthlyLimit))
+            .toList();
+        return new Usage(current.month(), current.getRemaining(), backgroundReserve, keys);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(
+        initialDelayString = "${integration.fixer-client.quota.flush-interval}",
+        fixedDelayString = "${integration.fixer-client.quota.flush-interval}")
+    public void flush() {
+        final MonthUsage current = usage.get();
+        if (current != null) {
+            flush(current);
+        }
+    }
+
+    private void flush(final MonthUsage monthUsage) {
+        final LocalDate month = monthUsage.month().atDay(1);
+        final Map<String, Long> storedByKeyId = new HashMap<>();
+        monthUsage.unflushedByKeyId().forEach((keyId, unflushed) -> {
+            final long calls = unflushed.getAndSet(0);
+            if (calls == 0) {
+                return;
+            }
+            try {
+                storedByKeyId.put(keyId, apiKeyUsageRepository.addCalls(keyId, month, calls));
+            } catch (DataAccessException e) {
+                // Kept for the next flush
+                unflushed.addAndGet(calls);
+                log.warn("Failed to store {} calls of Fixer API key: {}, retrying on the next flush", calls, keyId, e);
+            }
+        });
+
+        // Keys not called by this node since the last flush may have been called by other nodes
+        if (storedByKeyId.size() < apiKeys.size()) {
+            try {
+                apiKeyUsageRepository.findByMonth(month)
+                    .forEach(keyUsage -> storedByKeyId.putIfAbsent(keyUsage.getKeyId(), keyUsage.getCalls()));
+            } catch (DataAccessException e) {
+                log.warn("Failed to load usage of Fixer API keys in month: {}, keeping counts of this node",
+                    monthUsage.month(), e);
+            }
+        }
+        storedByKeyId.forEach(monthUsage::syncStored);
+    }
+
+    /**
+     * Get usage of the current month, loading it from the database once a new month starts.
+     * Concurrent callers at the start of a month may each load the usage, only one of them is kept.
+     *
+     * @return the usage of the current month
+     */
+    private MonthUsage getCurrentUsage() {
+        final YearMonth currentMonth = YearMonth.now(clock);
+        final MonthUsage current = usage.get();
+        if (current != null && current.month().equals(currentMonth)) {
+            return current;
+        }
+
+        final MonthUsage loaded = loadUsage(currentMonth);
+        if (!usage.compareAndSet(current, loaded)) {
+            return getCurrentUsage();
+        }
+        if (current != null) {
+            // Calls of the previous month not stored yet
+            flush(current);
+        }
+        return loaded;
+    }
+
+    private MonthUsage loadUsage(final YearMonth month) {
+        final Map<String, AtomicLong> callsByKeyId = new LinkedHashMap<>();
+        final Map<String, AtomicLong> unflushedByKeyId = new LinkedHashMap<>();
+        apiKeys.keySet().forEach(keyId -> {
+            callsByKeyId.put(keyId, new AtomicLong());
+            unflushedByKeyId.put(keyId, new AtomicLong());
+        });
+        try {
+            apiKeyUsageRepository.findByMonth(month.atDay(1)).stream()
+                .filter(keyUsage -> callsByKeyId.containsKey(keyUsage.getKeyId()))
+                .forEach(keyUsage -> callsByKeyId.get(keyUsage.getKeyId()).set(keyUsage.getCalls()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to load usage of Fixer API keys in month: {}, counting from zero", month, e);
+        }
+        return new MonthUsage(month, monthlyLimit, Map.copyOf(callsByKeyId), Map.copyOf(unflushedByKeyId));
+    }
+
+    private static String toKeyId(final String apiKey) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash).substring(0, KEY_ID_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Usage of the pool of API keys in a month.
+     *
+     * @param month            the month of the usage
+     * @param limit            the monthly limit of calls of each key
+     * @param callsByKeyId     the calls counted against each key, including calls not stored yet
+     * @param unflushedByKeyId the calls of each key not stored in the database yet
+     */
+    private record MonthUsage(
+        YearMonth month,
+        long limit,
+        Map<String, AtomicLong> callsByKeyId,
+        Map<String, AtomicLong> unflushedByKeyId) {
+
+        long getRemaining() {
+            return callsByKeyId.keySet().stream()
+                .mapToLong(this::getRemainingOfKey)
+                .sum();
+        }
+
+        long getRemainingOfKey(final String keyId) {
+            return Math.max(0, limit - callsByKeyId.get(keyId).get());
+        }
+
+        /**
+         * Raise calls of a key to the calls stored by all nodes and the calls of this node not stored yet.
+         * Counts are never lowered, so that calls counted concurrently with the flush are not lost.
+         *
+         * @param keyId  the key identifier
+         * @param stored the calls of the key stored in the database
+         */
+        void syncStored(final String keyId, final long stored) {
+            final AtomicLong calls = callsByKeyId.get(keyId);
+            if (calls != null) {
+                calls.accumulateAndGet(stored + unflushedByKeyId.get(keyId).get(), Math::max);
+            }
+        }
+
+        boolean tryCountCall(final String keyId) {
+            final long previous = callsByKeyId.get(keyId).getAndUpdate(calls -> calls < limit ? calls + 1 : calls);
+            if (previous >= limit) {
+                return false;
+            }
+            unflushedByKeyId.get(keyId).incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.shipmonk.testingday.facade;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ConversionRequestDto;
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import com.shipmonk.testingday.service.ExportFormat;
 
 /**
  * Facade for exchange rates operations.
@@ -16,16 +26,157 @@ public interface ExchangeRatesFacade {
      * Get latest exchange rates.
      * This method will check cache first, and if not found, fetch from external API.
      *
+     * @param base Base currency of the returned rates.
      * @return Latest exchange rates.
      */
-    ExchangeRatesDto getLatestRates();
+    ExchangeRatesDto getLatestRates(String base);
 
     /**
      * Get exchange rates for a specific date.
      * This method will check cache first, and if not found, fetch from external API.
      *
+     * @param base Base currency of the returned rates.
      * @param date Date to get exchange rates for.
      * @return Exchange rates for the specified date.
      */
-    ExchangeRatesDto getRatesForDate(LocalDate date);
+    ExchangeRatesDto getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates of selected currencies for a specific date, today for the latest rates.
+     * Only the selected rates are read.
+     *
+     * @param base       Base currency of the returned rates.
+     * @param date       Date to get exchange rates for.
+     * @param currencies Currency codes to select.
+     * @return Exchange rates of the selected currencies for the specified date.
+     */
+    ExchangeRatesDto getRatesForDate(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Find the entity tag of a historical response which was already served, without loading the rates.
+     *
+     * @param base       Requested base currency.
+     * @param date       Requested date.
+     * @param currencies Selected currency codes, or null for all currencies.
+     * @return Strong entity tag, or empty if the response was not served yet.
+     */
+    Optional<String> findETag(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Get the entity tag of a response, derived from its content.
+     * Entity tags of historical responses are remembered for {@link #findETag(String, LocalDate, Collection)}.
+     *
+     * @param date       Requested date.
+     * @param currencies Selected currency codes, or null for all currencies.
+     * @param rates      Returned exchange rates.
+     * @return Strong entity tag of the response.
+     */
+    String getETag(LocalDate date, Collection<String> currencies, ExchangeRatesDto rates);
+
+    /**
+     * Find the already encoded response of given entity tag.
+     *
+     * @param eTag Entity tag of the response.
+     * @return Encoded response, or empty if not encoded yet.
+     */
+    Optional<EncodedRates> findEncoded(String eTag);
+
+    /**
+     * Get the encoded response of given entity tag, encoding the rates only if not encoded yet.
+     *
+     * @param eTag  Entity tag of the response.
+     * @param rates Exchange rates of the response.
+     * @return Encoded response.
+     */
+    EncodedRates encode(String eTag, ExchangeRatesDto rates);
+
+    /**
+     * Get exchange rates for each date of given range.
+     * Cached dates are read at once, only missing dates are fetched from external API.
+     *
+     * @param base Base currency of the returned rates.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    List<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Get exchange rates of selected currencies for each date of given range.
+     * Only the selected rates are read.
+     *
+     * @param base       Base currency of the returned rates.
+     * @param from       First date of the range.
+     * @param to         Last date of the range (inclusive).
+     * @param currencies Currency codes to select.
+     * @return Exchange rates of the selected currencies ordered by date.
+     */
+    List<ExchangeRatesDto> getRatesForRange(
+        String base,
+        LocalDate from,
+        LocalDate to,
+        Collection<String> currencies);
+
+    /**
+     * Convert an amount between two currencies using rates of a date.
+     * Only the rates of the two currencies are resolved.
+     *
+     * @param from   Currency to convert from.
+     * @param to     Currency to convert to.
+     * @param amount Amount to convert.
+     * @param date   Date of the rates, today for the latest rates.
+     * @return Conversion with the cross rate and converted amount.
+     */
+    ConversionDto convert(String from, String to, BigDecimal amount, LocalDate date);
+
+    /**
+     * Convert amounts of all items and stream the results as a JSON array, in order of the items.
+     *
+     * @param items  Items to convert.
+     * @param output Output stream to write to.
+     */
+    void convertBatch(List<ConversionRequestDto> items, OutputStream output);
+
+    /**
+     * Export stored exchange rates within a range of dates.
+     * Rates are streamed straight from the database to the output stream.
+     *
+     * @param from   First date of the range.
+     * @param to     Last date of the range (inclusive).
+     * @param format Export format.
+     * @param output Output stream to write to.
+     */
+    void exportRates(LocalDate from, LocalDate to, ExportFormat format, OutputStream output);
+
+    /**
+     * Start a backfill job which fetches and stores the missing rates of a range of past dates in the background.
+     *
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return The queued job.
+     */
+    BackfillJobDto startBackfill(LocalDate from, LocalDate to);
+
+    /**
+     * Resume a paused or failed backfill job from its checkpoint.
+     *
+     * @param id Job identifier.
+     * @return The queued job, or empty if it does not exist.
+     */
+    Optional<BackfillJobDto> resumeBackfill(long id);
+
+    /**
+     * Find a backfill job.
+     *
+     * @param id Job identifier.
+     * @return The job, or empty if it does not exist.
+     */
+    Optional<BackfillJobDto> findBackfill(long id);
+
+    /**
+     * Find all backfill jobs, newest first.
+     *
+     * @return All jobs.
+     */
+    List<BackfillJobDto> findBackfills();
 }
@@ -1,6 +1,7 @@
 package com.shipmonk.testingday.facade;
 
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -39,4 +40,13 @@ public class ExchangeRatesProperties {
 
     @NotNull(message = "Rounding mode cannot be null")
     private RoundingMode roundingMode;
+
+    @Positive(message = "Maximum range days must be positive")
+    private int maxRangeDays;
+
+    @Positive(message = "Maximum batch size must be positive")
+    private int maxBatchSize;
+
+    @NotNull(message = "Latest rates maximum age cannot be null")
+    private Duration latestMaxAge;
 }
@@ -0,0 +1,83 @@
+package com.shipmonk.testingday.facade;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking facade for exchange rates operations, the counterpart of {@link ExchangeRatesFacade}
+ * serving the request path of the reactive profile.
+ * Entity tags and encoded responses are held in memory, they are provided by {@link ExchangeRatesFacade}.
+ *
+ * @author Radovan Šinko
+ */
+public interface ReactiveExchangeRatesFacade {
+
+    /**
+     * Get latest exchange rates.
+     * This method will check cache first, and if not found, fetch from external API.
+     *
+     * @param base Base currency of the returned rates.
+     * @return Latest exchange rates.
+     */
+    Mono<ExchangeRatesDto> getLatestRates(String base);
+
+    /**
+     * Get exchange rates for a specific date.
+     * This method will check cache first, and if not found, fetch from external API.
+     *
+     * @param base Base currency of the returned rates.
+     * @param date Date to get exchange rates for.
+     * @return Exchange rates for the specified date.
+     */
+    Mono<ExchangeRatesDto> getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates of selected currencies for a specific date, today for the latest rates.
+     *
+     * @param base       Base currency of the returned rates.
+     * @param date       Date to get exchange rates for.
+     * @param currencies Currency codes to select.
+     * @return Exchange rates of the selected currencies for the specified date.
+     */
+    Mono<ExchangeRatesDto> getRatesForDate(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Get exchange rates for each date of given range.
+     * Cached dates are read at once, only missing dates are fetched from external API.
+     *
+     * @param base Base currency of the returned rates.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    Flux<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Get exchange rates of selected currencies for each date of given range.
+     *
+     * @param base       Base currency of the returned rates.
+     * @param from       First date of the range.
+     * @param to         Last date of the range (inclusive).
+     * @param currencies Currency codes to select.
+     * @return Exchange rates of the selected currencies ordered by date.
+     */
+    Flux<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to, Collection<String> currencies);
+
+    /**
+     * Convert an amount between two currencies using rates of a date.
+     * Only the rates of the two currencies are selected.
+     *
+     * @param from   Currency to convert from.
+     * @param to     Currency to convert to.
+     * @param amount Amount to convert.
+     * @param date   Date of the rates, today for the latest rates.
+     * @return Conversion with the cross rate and converted amount.
+     */
+    Mono<ConversionDto> convert(String from, String to, BigDecimal amount, LocalDate date);
+}
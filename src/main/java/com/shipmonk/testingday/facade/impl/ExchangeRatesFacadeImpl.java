@@ -1,14 +1,31 @@
 package com.shipmonk.testingday.facade.impl;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import com.shipmonk.testingday.api.InvalidRequestException;
 import com.shipmonk.testingday.facade.ExchangeRatesFacade;
 import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.service.BackfillService;
+import com.shipmonk.testingday.service.BatchConversionService;
 import com.shipmonk.testingday.service.CachingExchangeService;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import com.shipmonk.testingday.service.EncodedRatesCache;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import com.shipmonk.testingday.service.ExportFormat;
+import com.shipmonk.testingday.service.RatesETagRegistry;
+import com.shipmonk.testingday.service.RatesExportService;
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ConversionRequestDto;
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,27 +46,210 @@ public class ExchangeRatesFacadeImpl implements ExchangeRatesFacade {
 
     private final ExchangeRatesProperties exchangeRatesProperties;
 
+    private final RatesExportService ratesExportService;
+
+    private final CurrencyConversionService currencyConversionService;
+
+    private final BatchConversionService batchConversionService;
+
+    private final RatesETagRegistry ratesETagRegistry;
+
+    private final EncodedRatesCache encodedRatesCache;
+
+    private final BackfillService backfillService;
+
+    @Override
+    public ExchangeRatesDto getLatestRates(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        try {
+            return cachingExchangeService.getLatestRates(base);
+        } catch (Exception e) {
+            log.error("Facade: Error getting latest rates for base currency: {}", base, e);
+            throw e;
+        }
+    }
+
     @Override
-    public ExchangeRatesDto getLatestRates() {
+    public ExchangeRatesDto getRatesForDate(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
         try {
-            return cachingExchangeService.getLatestRates(exchangeRatesProperties.getBaseCurrency());
+            return cachingExchangeService.getRatesForDate(base, date);
         } catch (Exception e) {
-            log.error("Facade: Error getting latest rates for base currency: {}",
-                exchangeRatesProperties.getBaseCurrency(), e);
+            log.error("Facade: Error getting rates for base currency: {} on date: {}", base, date, e);
             throw e;
         }
     }
 
     @Override
-    public ExchangeRatesDto getRatesForDate(final LocalDate date) {
+    public ExchangeRatesDto getRatesForDate(
+        final String base,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
         Assert.notNull(date, "Date cannot be null");
+        Assert.notEmpty(currencies, "Currencies cannot be null or empty");
 
         try {
-            return cachingExchangeService.getRatesForDate(exchangeRatesProperties.getBaseCurrency(), date);
+            return cachingExchangeService.getRatesForDate(base, date, currencies);
         } catch (Exception e) {
-            log.error("Facade: Error getting rates for base currency: {} on date: {}",
-                exchangeRatesProperties.getBaseCurrency(), date, e);
+            log.error("Facade: Error getting rates of {} for base currency: {} on date: {}",
+                currencies, base, date, e);
             throw e;
         }
     }
+
+    @Override
+    public Optional<String> findETag(final String base, final LocalDate date, final Collection<String> currencies) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return ratesETagRegistry.find(base, date, currencies);
+    }
+
+    @Override
+    public String getETag(final LocalDate date, final Collection<String> currencies, final ExchangeRatesDto rates) {
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(rates, "Rates cannot be null");
+
+        return ratesETagRegistry.register(date, currencies, rates);
+    }
+
+    @Override
+    public Optional<EncodedRates> findEncoded(final String eTag) {
+        Assert.hasText(eTag, "Entity tag cannot be null or empty");
+
+        return encodedRatesCache.get(eTag);
+    }
+
+    @Override
+    public EncodedRates encode(final String eTag, final ExchangeRatesDto rates) {
+        Assert.hasText(eTag, "Entity tag cannot be null or empty");
+        Assert.notNull(rates, "Rates cannot be null");
+
+        return encodedRatesCache.encode(eTag, rates);
+    }
+
+    @Override
+    public List<ExchangeRatesDto> getRatesForRange(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+
+        try {
+            return cachingExchangeService.getRatesForRange(base, from, to);
+        } catch (Exception e) {
+            log.error("Facade: Error getting rates for base currency: {} between {} and {}", base, from, to, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ExchangeRatesDto> getRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.notEmpty(currencies, "Currencies cannot be null or empty");
+
+        try {
+            return cachingExchangeService.getRatesForRange(base, from, to, currencies);
+        } catch (Exception e) {
+            log.error("Facade: Error getting rates of {} for base currency: {} between {} and {}",
+                currencies, base, from, to, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ConversionDto convert(final String from, final String to, final BigDecimal amount, final LocalDate date) {
+        Assert.hasText(from, "From currency cannot be null or empty");
+        Assert.hasText(to, "To currency cannot be null or empty");
+        Assert.notNull(amount, "Amount cannot be null");
+        Assert.notNull(date, "Date cannot be null");
+
+        try {
+            final ExchangeRatesDto rates = cachingExchangeService.getRatesForDate(
+                exchangeRatesProperties.getBaseCurrency(), date, List.of(from, to));
+            final BigDecimal fromRate = getRate(rates, from);
+            final BigDecimal toRate = getRate(rates, to);
+
+            return ConversionDto.builder()
+                .from(from)
+                .to(to)
+                .amount(amount)
+                .date(rates.getDate())
+                .rate(currencyConversionService.getCrossRate(fromRate, toRate))
+                .result(currencyConversionService.convertAmount(amount, fromRate, toRate))
+                .build();
+        } catch (Exception e) {
+            log.error("Facade: Error converting {} {} to {} on date: {}", amount, from, to, date, e);
+            throw e;
+        }
+    }
+
+    private static BigDecimal getRate(final ExchangeRatesDto rates, final String currency) {
+        final BigDecimal rate = currency.equals(rates.getBase()) ? BigDecimal.ONE : rates.getRates().get(currency);
+        if (rate == null) {
+            throw new InvalidRequestException("No exchange rate found for currency " + currency);
+        }
+        return rate;
+    }
+
+    @Override
+    public void convertBatch(final List<ConversionRequestDto> items, final OutputStream output) {
+        Assert.notEmpty(items, "Items cannot be null or empty");
+        Assert.isTrue(items.size() <= exchangeRatesProperties.getMaxBatchSize(),
+            "Batch cannot have more than " + exchangeRatesProperties.getMaxBatchSize() + " items");
+
+        try {
+            batchConversionService.convert(exchangeRatesProperties.getBaseCurrency(), items, output);
+        } catch (Exception e) {
+            log.error("Facade: Error converting batch of {} items", items.size(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void exportRates(
+        final LocalDate from,
+        final LocalDate to,
+        final ExportFormat format,
+        final OutputStream output) {
+
+        try {
+            ratesExportService.exportRates(exchangeRatesProperties.getBaseCurrency(), from, to, format, output);
+        } catch (Exception e) {
+            log.error("Facade: Error exporting rates for base currency: {} between {} and {}",
+                exchangeRatesProperties.getBaseCurrency(), from, to, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BackfillJobDto startBackfill(final LocalDate from, final LocalDate to) {
+        return backfillService.start(exchangeRatesProperties.getBaseCurrency(), from, to);
+    }
+
+    @Override
+    public Optional<BackfillJobDto> resumeBackfill(final long id) {
+        return backfillService.resume(id);
+    }
+
+    @Override
+    public Optional<BackfillJobDto> findBackfill(final long id) {
+        return backfillService.find(id);
+    }
+
+    @Override
+    public List<BackfillJobDto> findBackfills() {
+        return backfillService.findAll();
+    }
 }
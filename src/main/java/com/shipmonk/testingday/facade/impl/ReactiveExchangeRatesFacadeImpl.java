@@ -0,0 +1,141 @@
+package com.shipmonk.testingday.facade.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.InvalidRequestException;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.facade.ReactiveExchangeRatesFacade;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import com.shipmonk.testingday.service.ReactiveCachingExchangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveExchangeRatesFacade}.
+ * This facade delegates to the reactive caching service and provides a clean external interface.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Component
+@EnableConfigurationProperties(ExchangeRatesProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExchangeRatesFacadeImpl implements ReactiveExchangeRatesFacade {
+
+    private final ReactiveCachingExchangeService reactiveCachingExchangeService;
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    private final CurrencyConversionService currencyConversionService;
+
+    @Override
+    public Mono<ExchangeRatesDto> getLatestRates(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        return reactiveCachingExchangeService.getLatestRates(base)
+            .doOnError(e -> log.error("Facade: Error getting latest rates for base currency: {}", base, e));
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> getRatesForDate(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return reactiveCachingExchangeService.getRatesForDate(base, date)
+            .doOnError(e -> log.error("Facade: Error getting rates for base currency: {} on date: {}", base, date, e));
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> getRatesForDate(
+        final String base,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notEmpty(currencies, "Currencies cannot be null or empty");
+
+        return reactiveCachingExchangeService.getRatesForDate(base, date, currencies)
+            .doOnError(e -> log.error("Facade: Error getting rates of {} for base currency: {} on date: {}",
+                currencies, base, date, e));
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> getRatesForRange(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+
+        return reactiveCachingExchangeService.getRatesForRange(base, from, to)
+            .doOnError(e -> log.error("Facade: Error getting rates for base currency: {} between {} and {}",
+                base, from, to, e));
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> getRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.notEmpty(currencies, "Currencies cannot be null or empty");
+
+        return reactiveCachingExchangeService.getRatesForRange(base, from, to, currencies)
+            .doOnError(e -> log.error("Facade: Error getting rates of {} for base currency: {} between {} and {}",
+                currencies, base, from, to, e));
+    }
+
+    @Override
+    public Mono<ConversionDto> convert(
+        final String from,
+        final String to,
+        final BigDecimal amount,
+        final LocalDate date) {
+
+        Assert.hasText(from, "From currency cannot be null or empty");
+        Assert.hasText(to, "To currency cannot be null or empty");
+        Assert.notNull(amount, "Amount cannot be null");
+        Assert.notNull(date, "Date cannot be null");
+
+        return reactiveCachingExchangeService.getRatesForDate(
+                exchangeRatesProperties.getBaseCurrency(), date, List.of(from, to))
+            .map(rates -> {
+                final BigDecimal fromRate = getRate(rates, from);
+                final BigDecimal toRate = getRate(rates, to);
+
+                return ConversionDto.builder()
+                    .from(from)
+                    .to(to)
+                    .amount(amount)
+                    .date(rates.getDate())
+                    .rate(currencyConversionService.getCrossRate(fromRate, toRate))
+                    .result(currencyConversionService.convertAmount(amount, fromRate, toRate))
+                    .build();
+            })
+            .doOnError(e -> log.error("Facade: Error converting {} {} to {} on date: {}", amount, from, to, date, e));
+    }
+
+    private static BigDecimal getRate(final ExchangeRatesDto rates, final String currency) {
+        final BigDecimal rate = currency.equals(rates.getBase()) ? BigDecimal.ONE : rates.getRates().get(currency);
+        if (rate == null) {
+            throw new InvalidRequestException("No exchange rate found for currency " + currency);
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,96 @@
+package com.shipmonk.testingday.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * Process-wide registry assigning a dense, stable index to every ISO 4217 currency code seen.
+ * Codes are interned, so all {@link RateSnapshot}s share a single instance of each code.
+ * The registry is bounded by the number of three letter codes.
+ *
+ * @author Radovan Šinko
+ */
+public final class CurrencyIndex {
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+
+    private static volatile String[] codes = new String[0];
+
+    private CurrencyIndex() {
+    }
+
+    /**
+     * Get index of the currency code, registering the code when it is seen for the first time.
+     *
+     * @param code Three letter uppercase currency code.
+     * @return Index of the currency code.
+     */
+    public static int indexOf(final String code) {
+        final Integer index = INDEXES.get(code);
+        if (index != null) {
+            return index;
+        }
+        return register(code);
+    }
+
+    /**
+     * Find index of an already registered currency code.
+     *
+     * @param code Currency code.
+     * @return Index of the currency code, or -1 if the code has never been registered.
+     */
+    public static int find(final String code) {
+        final Integer index = code == null ? null : INDEXES.get(code);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get currency code of an index.
+     *
+     * @param index Index of the currency code.
+     * @return Currency code.
+     */
+    public static String codeOf(final int index) {
+        return codes[index];
+    }
+
+    /**
+     * Get number of registered currency codes.
+     *
+     * @return Number of registered currency codes.
+     */
+    public static int size() {
+        return codes.length;
+    }
+
+    private static synchronized int register(final String code) {
+        final Integer existing = INDEXES.get(code);
+        if (existing != null) {
+            return existing;
+        }
+        Assert.isTrue(isCurrencyCode(code), "Currency code must be a 3-letter uppercase code: " + code);
+
+        // Publish the code before its index, so that anyone seeing the index can resolve the code
+        final String[] current = codes;
+        final String[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = code;
+        codes = next;
+        INDEXES.put(code, current.length);
+        return current.length;
+    }
+
+    private static boolean isCurrencyCode(final String code) {
+        if (code == null || code.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) < 'A' || code.charAt(i) > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,371 @@
+package com.shipmonk.testingday.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Immutable exchange rates of a single snapshot keyed by currency code.
+ * <p>
+ * Rates are stored in primitive arrays indexed by {@link CurrencyIndex}, every rate as an unscaled
+ * {@code long} value with a {@code byte} scale, i.e. about 9 bytes per rate instead of a map entry,
+ * a String and a BigDecimal.
+ * <p>
+ * Precision contract: a rate is stored exactly, including its scale, when it has at most 18 significant digits
+ * and a scale between -127 and 127. Rates with more significant digits are rounded half-even to 18 digits,
+ * rates with a scale out of range are rejected.
+ * <p>
+ * Snapshots derived from a snapshot, e.g. the rates rebased to another currency, can be memoized on the snapshot
+ * itself by {@link #derive(String, UnaryOperator)}, so they live and are evicted together with it.
+ * <p>
+ * Serialized to JSON as an object of currency codes to rates, same as {@code Map<String, BigDecimal>}.
+ *
+ * @author Radovan Šinko
+ */
+@JsonSerialize(using = RateSnapshot.Serializer.class)
+@JsonDeserialize(using = RateSnapshot.Deserializer.class)
+public final class RateSnapshot {
+
+    private static final byte ABSENT = Byte.MIN_VALUE;
+
+    private static final MathContext MAX_PRECISION = new MathContext(18, RoundingMode.HALF_EVEN);
+
+    private static final RateSnapshot EMPTY = new RateSnapshot(new long[0], new byte[0], 0);
+
+    // Bounds memory held by a single snapshot, derivations beyond the limit are computed on every call
+    private static final int MAX_DERIVED = 16;
+
+    private final long[] unscaledValues;
+
+    private final byte[] scales;
+
+    private final int size;
+
+    private volatile Map<String, RateSnapshot> derived;
+
+    private RateSnapshot(final long[] unscaledValues, final byte[] scales, final int size) {
+        this.unscaledValues = unscaledValues;
+        this.scales = scales;
+        this.size = size;
+    }
+
+    /**
+     * Create snapshot from a map of currency codes to rates.
+     *
+     * @param rates Rates keyed by currency code.
+     * @return Snapshot holding the rates.
+     */
+    public static RateSnapshot of(final Map<String, BigDecimal> rates) {
+        Assert.notNull(rates, "Rates cannot be null");
+
+        final Builder builder = builder();
+        rates.forEach(builder::put);
+        return builder.build();
+    }
+
+    /**
+     * Get snapshot without any rates.
+     *
+     * @return Empty snapshot.
+     */
+    public static RateSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create builder of a snapshot.
+     *
+     * @return New builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get rate of a currency.
+     *
+     * @param code Currency code.
+     * @return Rate of the currency, or null if the snapshot has no rate for the currency.
+     */
+    public BigDecimal get(final String code) {
+        final int index = CurrencyIndex.find(code);
+        return isPresent(index) ? BigDecimal.valueOf(unscaledValues[index], scales[index]) : null;
+    }
+
+    /**
+     * Check whether the snapshot has a rate for a currency.
+     *
+     * @param code Currency code.
+     * @return true if the snapshot has a rate for the currency, false otherwise.
+     */
+    public boolean contains(final String code) {
+        return isPresent(CurrencyIndex.find(code));
+    }
+
+    /**
+     * Get number of rates in the snapshot.
+     *
+     * @return Number of rates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check whether the snapshot has no rates.
+     *
+     * @return true if the snapshot is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Perform the action for each rate of the snapshot, in order of currency indexes.
+     *
+     * @param action Action accepting currency code and rate.
+     */
+    public void forEach(final BiConsumer<String, BigDecimal> action) {
+        for (int index = 0; index < scales.length; index++) {
+            if (scales[index] != ABSENT) {
+                action.accept(CurrencyIndex.codeOf(index), BigDecimal.valueOf(unscaledValues[index], scales[index]));
+            }
+        }
+    }
+
+    /**
+     * Select rates of given currencies. Currencies without a rate in this snapshot are skipped.
+     *
+     * @param codes Currency codes to select.
+     * @return Snapshot holding only the selected rates.
+     */
+    public RateSnapshot select(final Collection<String> codes) {
+        Assert.notNull(codes, "Currency codes cannot be null");
+
+        final Builder builder = builder();
+        for (String code : codes) {
+            final int index = CurrencyIndex.find(code);
+            if (isPresent(index)) {
+                builder.put(code, BigDecimal.valueOf(unscaledValues[index], scales[index]));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy the rates into a map.
+     *
+     * @return Unmodifiable map of currency codes to rates.
+     */
+    public Map<String, BigDecimal> toMap() {
+        final Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        forEach(rates::put);
+        return Collections.unmodifiableMap(rates);
+    }
+
+    /**
+     * Get snapshot derived from this snapshot, computing it only on the first call for the key.
+     * The derivation must be a pure function of this snapshot for a given key.
+     *
+     * @param key        Key identifying the derivation, e.g. source and target base currency.
+     * @param derivation Function deriving the snapshot from this snapshot.
+     * @return Derived snapshot.
+     */
+    public RateSnapshot derive(final String key, final UnaryOperator<RateSnapshot> derivation) {
+        Assert.hasText(key, "Derivation key cannot be null or empty");
+        Assert.notNull(derivation, "Derivation cannot be null");
+
+        final Map<String, RateSnapshot> memo = derivedSnapshots();
+        final RateSnapshot memoized = memo.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+        if (memo.size() >= MAX_DERIVED) {
+            return derivation.apply(this);
+        }
+        return memo.computeIfAbsent(key, ignored -> derivation.apply(this));
+    }
+
+    private Map<String, RateSnapshot> derivedSnapshots() {
+        Map<String, RateSnapshot> memo = derived;
+        if (memo == null) {
+            synchronized (this) {
+                memo = derived;
+                if (memo == null) {
+                    memo = new ConcurrentHashMap<>(4);
+                    derived = memo;
+                }
+            }
+        }
+        return memo;
+    }
+
+    private boolean isPresent(final int index) {
+        return index >= 0 && index < scales.length && scales[index] != ABSENT;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RateSnapshot snapshot)) {
+            return false;
+        }
+        return Arrays.equals(scales, snapshot.scales) && Arrays.equals(unscaledValues, snapshot.unscaledValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(scales) + Arrays.hashCode(unscaledValues);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    /**
+     * Builder of {@link RateSnapshot}. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] unscaledValues;
+
+        private byte[] scales;
+
+        private int size;
+
+        private Builder() {
+            this.unscaledValues = new long[CurrencyIndex.size()];
+            this.scales = new byte[CurrencyIndex.size()];
+            Arrays.fill(scales, ABSENT);
+        }
+
+        /**
+         * Set rate of a currency, replacing any previously set rate of the currency.
+         *
+         * @param code Three letter uppercase currency code.
+         * @param rate Rate of the currency.
+         * @return This builder.
+         */
+        public Builder put(final String code, final BigDecimal rate) {
+            Assert.notNull(rate, "Rate of " + code + " cannot be null");
+
+            final BigDecimal value = rate.precision() > MAX_PRECISION.getPrecision() ? rate.round(MAX_PRECISION) : rate;
+            Assert.isTrue(value.scale() > ABSENT && value.scale() <= Byte.MAX_VALUE,
+                "Rate of " + code + " is out of the supported range: " + rate);
+
+            final int index = CurrencyIndex.indexOf(code);
+            ensureCapacity(index + 1);
+            if (scales[index] == ABSENT) {
+                size++;
+            }
+            unscaledValues[index] = value.unscaledValue().longValueExact();
+            scales[index] = (byte) value.scale();
+            return this;
+        }
+
+        /**
+         * Build the snapshot.
+         *
+         * @return Immutable snapshot.
+         */
+        public RateSnapshot build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            int length = scales.length;
+            while (scales[length - 1] == ABSENT) {
+                length--;
+            }
+            return new RateSnapshot(Arrays.copyOf(unscaledValues, length), Arrays.copyOf(scales, length), size);
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > scales.length) {
+                final int length = Math.max(capacity, CurrencyIndex.size());
+                unscaledValues = Arrays.copyOf(unscaledValues, length);
+                final int previousLength = scales.length;
+                scales = Arrays.copyOf(scales, length);
+                Arrays.fill(scales, previousLength, length, ABSENT);
+            }
+        }
+    }
+
+    /**
+     * Writes the snapshot as a JSON object of currency codes to rates.
+     */
+    static final class Serializer extends StdSerializer<RateSnapshot> {
+
+        Serializer() {
+            super(RateSnapshot.class);
+        }
+
+        @Override
+        public void serialize(final RateSnapshot snapshot, final JsonGenerator generator,
+            final SerializerProvider provider) throws IOException {
+
+            generator.writeStartObject(snapshot);
+            for (int index = 0; index < snapshot.scales.length; index++) {
+                if (snapshot.scales[index] != ABSENT) {
+                    generator.writeFieldName(CurrencyIndex.codeOf(index));
+                    generator.writeNumber(BigDecimal.valueOf(snapshot.unscaledValues[index], snapshot.scales[index]));
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads the snapshot from a JSON object of currency codes to rates without an intermediate map.
+     */
+    static final class Deserializer extends StdDeserializer<RateSnapshot> {
+
+        Deserializer() {
+            super(RateSnapshot.class);
+        }
+
+        @Override
+        public RateSnapshot deserialize(final JsonParser parser, final DeserializationContext context)
+            throws IOException {
+
+            if (!parser.isExpectedStartObjectToken()) {
+                return (RateSnapshot) context.handleUnexpectedToken(RateSnapshot.class, parser);
+            }
+
+            final Builder builder = builder();
+            for (String code = parser.nextFieldName(); code != null; code = parser.nextFieldName()) {
+                final JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    builder.put(code, parser.getDecimalValue());
+                } else if (token != JsonToken.VALUE_NULL) {
+                    return (RateSnapshot) context.handleUnexpectedToken(BigDecimal.class, parser);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.shipmonk.testingday.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shipmonk.testingday.repository.entity.ApiKeyUsage;
+
+/**
+ * Repository for external API key usage operations.
+ * Counts are only ever incremented in the database, so that concurrent nodes do not overwrite each other.
+ *
+ * @author Radovan Šinko
+ */
+@Repository
+public interface ApiKeyUsageRepository extends JpaRepository<ApiKeyUsage, ApiKeyUsage.UsageId> {
+
+    /**
+     * Find usage of all keys in a month.
+     *
+     * @param month the first day of the month
+     * @return list of usages
+     */
+    List<ApiKeyUsage> findByMonth(LocalDate month);
+
+    /**
+     * Add calls to the usage of a key in a month.
+     *
+     * @param keyId the key identifier
+     * @param month the first day of the month
+     * @param calls the number of calls to add
+     * @return the calls of the key in the month stored by all nodes, including the added ones
+     */
+    @Transactional
+    @Query(value = "INSERT INTO api_key_usage (key_id, month, calls) VALUES (:keyId, :month, :calls) "
+        + "ON CONFLICT (key_id, month) DO UPDATE SET calls = api_key_usage.calls + EXCLUDED.calls "
+        + "RETURNING calls",
+        nativeQuery = true)
+    long addCalls(@Param("keyId") String keyId, @Param("month") LocalDate month, @Param("calls") long calls);
+
+    /**
+     * Raise the usage of a key in a month to at least given number of calls.
+     *
+     * @param keyId the key identifier
+     * @param month the first day of the month
+     * @param calls the minimum number of calls
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO api_key_usage (key_id, month, calls) VALUES (:keyId, :month, :calls) "
+        + "ON CONFLICT (key_id, month) DO UPDATE SET calls = GREATEST(api_key_usage.calls, EXCLUDED.calls)",
+        nativeQuery = true)
+    void raiseCalls(@Param("keyId") String keyId, @Param("month") LocalDate month, @Param("calls") long calls);
+}
@@ -0,0 +1,120 @@
+package com.shipmonk.testingday.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shipmonk.testingday.repository.entity.BackfillJob;
+
+/**
+ * Repository for backfill job operations.
+ * Jobs are claimed by a node with a lease, leases are timed by the database clock so that the clocks
+ * of the nodes do not matter.
+ *
+ * @author Radovan Šinko
+ */
+@Repository
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+
+    /**
+     * Claim the oldest queued or running job whose lease is free or expired, e.g. interrupted by a restart.
+     * Jobs locked by a concurrent claim are skipped, so that each job is claimed by a single node.
+     *
+     * @param owner        the claiming node
+     * @param leaseSeconds the duration of the lease in seconds
+     * @return identifier of the claimed job, or empty if there is none
+     */
+    @Transactional
+    @Query(value = "UPDATE backfill_jobs SET owner = :owner, "
+        + "lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds), "
+        + "status = 'QUEUED', updated_at = LOCALTIMESTAMP "
+        + "WHERE id = (SELECT id FROM backfill_jobs WHERE status IN ('QUEUED', 'RUNNING') "
+        + "AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP) "
+        + "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED) "
+        + "RETURNING id",
+        nativeQuery = true)
+    Optional<Long> claimNext(@Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Claim a paused or failed job and queue it again.
+     *
+     * @param id           the job identifier
+     * @param owner        the claiming node
+     * @param leaseSeconds the duration of the lease in seconds
+     * @return 1 if the job was claimed, 0 if it does not exist or cannot be resumed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE backfill_jobs SET owner = :owner, "
+        + "lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds), "
+        + "status = 'QUEUED', updated_at = LOCALTIMESTAMP "
+        + "WHERE id = :id AND status IN ('PAUSED', 'FAILED')",
+        nativeQuery = true)
+    int claimResumable(
+        @Param("id") long id,
+        @Param("owner") String owner,
+        @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Extend the lease of a job, as long as it is still owned by the node.
+     *
+     * @param id           the job identifier
+     * @param owner        the owning node
+     * @param leaseSeconds the duration of the lease in seconds
+     * @return 1 if the lease was extended, 0 if the job is owned by another node
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE backfill_jobs SET owner = :owner, "
+        + "lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds) "
+        + "WHERE id = :id AND owner = :owner",
+        nativeQuery = true)
+    int renewLease(
+        @Param("id") long id,
+        @Param("owner") String owner,
+        @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Take the lease of a job just created by the node.
+     *
+     * @param id           the job identifier
+     * @param owner        the owning node
+     * @param leaseSeconds the duration of the lease in seconds
+     * @return 1 if the lease was taken, 0 if the job is owned by another node
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE backfill_jobs SET owner = :owner, "
+        + "lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds) "
+        + "WHERE id = :id AND owner IS NULL",
+        nativeQuery = true)
+    int takeLease(
+        @Param("id") long id,
+        @Param("owner") String owner,
+        @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Release the lease of a job which stopped running.
+     *
+     * @param id    the job identifier
+     * @param owner the owning node
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE backfill_jobs SET owner = NULL, lease_until = NULL WHERE id = :id AND owner = :owner",
+        nativeQuery = true)
+    void releaseLease(@Param("id") long id, @Param("owner") String owner);
+
+    /**
+     * Find all jobs, newest first.
+     *
+     * @return list of jobs
+     */
+    List<BackfillJob> findAllByOrderByIdDesc();
+}
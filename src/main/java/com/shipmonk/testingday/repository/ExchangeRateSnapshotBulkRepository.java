@@ -0,0 +1,78 @@
+package com.shipmonk.testingday.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.repository.entity.ExchangeRate;
+import com.shipmonk.testingday.repository.entity.ExchangeRateSnapshot;
+
+/**
+ * Repository fragment for bulk exchange rate snapshot reads and writes bypassing the persistence context.
+ *
+ * @author Radovan Šinko
+ */
+public interface ExchangeRateSnapshotBulkRepository {
+
+    /**
+     * Insert snapshots using multi-row inserts, skipping snapshots which are already stored
+     * for the same base currency and date.
+     * Safe to call concurrently from multiple threads and nodes for the same snapshot.
+     * Creation timestamps are assigned by the database.
+     *
+     * @param snapshots the snapshots to insert
+     * @return number of snapshots sent to the database
+     */
+    int upsertAll(Collection<ExchangeRateSnapshot> snapshots);
+
+    /**
+     * Find rates of selected currencies of the snapshot for a specific base currency and date.
+     * Only the selected rates are extracted by the database and transferred.
+     *
+     * @param baseCurrency the base currency
+     * @param date         the date to search for
+     * @param currencies   the currencies to select
+     * @return the selected rates, empty snapshot if none of the currencies is stored,
+     * or empty if the snapshot is not stored
+     */
+    Optional<RateSnapshot> findRatesByBaseCurrencyAndDate(
+        String baseCurrency,
+        LocalDate date,
+        Collection<String> currencies);
+
+    /**
+     * Find rates of selected currencies of all snapshots for a base currency within a range of dates.
+     * Only the selected rates are extracted by the database and transferred.
+     *
+     * @param baseCurrency the base currency
+     * @param from         the first date of the range
+     * @param to           the last date of the range (inclusive)
+     * @param currencies   the currencies to select
+     * @return the selected rates by date, dates without a stored snapshot are missing
+     */
+    Map<LocalDate, RateSnapshot> findRatesByBaseCurrencyAndDateBetween(
+        String baseCurrency,
+        LocalDate from,
+        LocalDate to,
+        Collection<String> currencies);
+
+    /**
+     * Stream exchange rates for a base currency within a range of dates, ordered by date and target currency.
+     * Snapshots are unpacked into single rates by the database. Rows are read through a forward-only cursor
+     * and handed to the consumer one by one, so memory use does not depend on the size of the range.
+     * Must be called within a transaction, otherwise the driver reads the whole result at once.
+     *
+     * @param baseCurrency the base currency
+     * @param from         the first date of the range
+     * @param to           the last date of the range (inclusive)
+     * @param consumer     the consumer of the exchange rates
+     */
+    void streamRatesByBaseCurrencyAndDateBetween(
+        String baseCurrency,
+        LocalDate from,
+        LocalDate to,
+        Consumer<ExchangeRate> consumer);
+}
@@ -0,0 +1,74 @@
+package com.shipmonk.testingday.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.shipmonk.testingday.repository.entity.ExchangeRateSnapshot;
+
+/**
+ * Repository for exchange rate snapshot operations.
+ *
+ * @author Radovan Šinko
+ */
+@Repository
+public interface ExchangeRateSnapshotRepository
+    extends JpaRepository<ExchangeRateSnapshot, ExchangeRateSnapshot.SnapshotId>, ExchangeRateSnapshotBulkRepository {
+
+    /**
+     * Find the snapshot for a specific base currency and date.
+     *
+     * @param baseCurrency the base currency
+     * @param date         the date to search for
+     * @return the snapshot, or empty if not stored
+     */
+    Optional<ExchangeRateSnapshot> findByBaseCurrencyAndDate(String baseCurrency, LocalDate date);
+
+    /**
+     * Find the snapshot of the most recent date for a base currency.
+     *
+     * @param baseCurrency the base currency
+     * @return the most recent snapshot, or empty if none is stored
+     */
+    Optional<ExchangeRateSnapshot> findFirstByBaseCurrencyOrderByDateDesc(String baseCurrency);
+
+    /**
+     * Find all snapshots for a base currency within a range of dates.
+     *
+     * @param baseCurrency the base currency
+     * @param from         the first date of the range
+     * @param to           the last date of the range (inclusive)
+     * @return list of snapshots
+     */
+    List<ExchangeRateSnapshot> findByBaseCurrencyAndDateBetween(String baseCurrency, LocalDate from, LocalDate to);
+
+    /**
+     * Find all snapshots for a base currency on given dates.
+     *
+     * @param baseCurrency the base currency
+     * @param dates        the dates
+     * @return list of snapshots
+     */
+    List<ExchangeRateSnapshot> findByBaseCurrencyAndDateIn(String baseCurrency, Collection<LocalDate> dates);
+
+    /**
+     * Find dates of all snapshots for a base currency within a range of dates, without reading their rates.
+     *
+     * @param baseCurrency the base currency
+     * @param from         the first date of the range
+     * @param to           the last date of the range (inclusive)
+     * @return list of dates
+     */
+    @Query("SELECT s.date FROM ExchangeRateSnapshot s WHERE s.baseCurrency = :baseCurrency "
+        + "AND s.date BETWEEN :from AND :to")
+    List<LocalDate> findDatesByBaseCurrencyAndDateBetween(
+        @Param("baseCurrency") String baseCurrency,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+}
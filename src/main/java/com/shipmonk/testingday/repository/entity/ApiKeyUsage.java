@@ -0,0 +1,53 @@
+package com.shipmonk.testingday.repository.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ApiKeyUsage counting calls of an external API key in a month.
+ *
+ * @author Radovan Šinko
+ */
+@Entity
+@Table(name = "api_key_usage")
+@IdClass(ApiKeyUsage.UsageId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyUsage {
+
+    @Id
+    @Column(name = "key_id", nullable = false)
+    private String keyId;
+
+    @Id
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "calls", nullable = false)
+    private long calls;
+
+    /**
+     * Identifier of a usage.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UsageId implements Serializable {
+
+        private String keyId;
+
+        private LocalDate month;
+    }
+}
@@ -0,0 +1,84 @@
+package com.shipmonk.testingday.repository.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.shipmonk.testingday.api.dto.BackfillStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * BackfillJob preloading historical exchange rates of a range of dates, checkpointed by its next date.
+ *
+ * @author Radovan Šinko
+ */
+@Entity
+@Table(name = "backfill_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "base_currency", nullable = false)
+    private String baseCurrency;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "next_date", nullable = false)
+    private LocalDate nextDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BackfillStatus status;
+
+    @Column(name = "fetched_days", nullable = false)
+    private int fetchedDays;
+
+    @Column(name = "error")
+    private String error;
+
+    // Lease columns are only written by the claiming queries of the repository
+    @Column(name = "owner", insertable = false, updatable = false)
+    private String owner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    private void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    private void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,68 @@
+package com.shipmonk.testingday.repository.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.shipmonk.testingday.model.RateSnapshot;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ExchangeRateSnapshot holding all rates of a base currency on a date in a single row.
+ *
+ * @author Radovan Šinko
+ */
+@Entity
+@Table(name = "exchange_rate_snapshots")
+@IdClass(ExchangeRateSnapshot.SnapshotId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateSnapshot {
+
+    @Id
+    @Column(name = "base_currency", nullable = false)
+    private String baseCurrency;
+
+    @Id
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "rates", nullable = false)
+    private RateSnapshot rates;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    private void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Identifier of a snapshot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SnapshotId implements Serializable {
+
+        private String baseCurrency;
+
+        private LocalDate date;
+    }
+}
@@ -0,0 +1,181 @@
+package com.shipmonk.testingday.repository.impl;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.repository.ExchangeRateSnapshotBulkRepository;
+import com.shipmonk.testingday.repository.entity.ExchangeRate;
+import com.shipmonk.testingday.repository.entity.ExchangeRateSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link ExchangeRateSnapshotBulkRepository}.
+ * Rates are sent to the database as JSON text and packed into JSONB by the database.
+ *
+ * @author Radovan Šinko
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateSnapshotBulkRepositoryImpl implements ExchangeRateSnapshotBulkRepository {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO exchange_rate_snapshots (base_currency, date, rates) VALUES (?, ?, CAST(? AS jsonb)) "
+            + "ON CONFLICT (base_currency, date) DO NOTHING";
+
+    // Builds a JSONB object of only the selected rates, the currencies are bound as a text array
+    private static final String SELECTED_RATES =
+        "(SELECT jsonb_object_agg(c.code, s.rates -> c.code) FROM unnest(?) AS c(code) "
+            + "WHERE s.rates -> c.code IS NOT NULL)";
+
+    private static final String SELECT_RATES_SQL =
+        "SELECT " + SELECTED_RATES + " FROM exchange_rate_snapshots s "
+            + "WHERE s.base_currency = ? AND s.date = ?";
+
+    private static final String SELECT_RATES_BETWEEN_SQL =
+        "SELECT s.date, " + SELECTED_RATES + " FROM exchange_rate_snapshots s "
+            + "WHERE s.base_currency = ? AND s.date BETWEEN ? AND ?";
+
+    private static final String STREAM_SQL =
+        "SELECT s.date, s.base_currency, r.key, r.value FROM exchange_rate_snapshots s "
+            + "CROSS JOIN LATERAL jsonb_each_text(s.rates) r "
+            + "WHERE s.base_currency = ? AND s.date BETWEEN ? AND ? "
+            + "ORDER BY s.date, r.key";
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public int upsertAll(final Collection<ExchangeRateSnapshot> snapshots) {
+        Assert.notNull(snapshots, "Snapshots cannot be null");
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, snapshots, BATCH_SIZE, (ps, snapshot) -> {
+            ps.setString(1, snapshot.getBaseCurrency());
+            ps.setDate(2, Date.valueOf(snapshot.getDate()));
+            ps.setString(3, toJson(snapshot));
+        });
+
+        log.debug("Upserted {} exchange rate snapshots", snapshots.size());
+        return snapshots.size();
+    }
+
+    @Override
+    public Optional<RateSnapshot> findRatesByBaseCurrencyAndDate(
+        final String baseCurrency,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(baseCurrency, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        final List<String> rates = jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(SELECT_RATES_SQL);
+            statement.setArray(1, connection.createArrayOf("text", currencies.toArray()));
+            statement.setString(2, baseCurrency);
+            statement.setDate(3, Date.valueOf(date));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+
+        return rates.stream()
+            .findFirst()
+            .map(json -> json == null ? RateSnapshot.empty() : fromJson(json, baseCurrency, date));
+    }
+
+    @Override
+    public Map<LocalDate, RateSnapshot> findRatesByBaseCurrencyAndDateBetween(
+        final String baseCurrency,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(baseCurrency, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        final Map<LocalDate, RateSnapshot> ratesByDate = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(SELECT_RATES_BETWEEN_SQL);
+            statement.setArray(1, connection.createArrayOf("text", currencies.toArray()));
+            statement.setString(2, baseCurrency);
+            statement.setDate(3, Date.valueOf(from));
+            statement.setDate(4, Date.valueOf(to));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            final LocalDate date = resultSet.getDate(1).toLocalDate();
+            final String json = resultSet.getString(2);
+            ratesByDate.put(date, json == null ? RateSnapshot.empty() : fromJson(json, baseCurrency, date));
+        });
+        return ratesByDate;
+    }
+
+    @Override
+    public void streamRatesByBaseCurrencyAndDateBetween(
+        final String baseCurrency,
+        final LocalDate from,
+        final LocalDate to,
+        final Consumer<ExchangeRate> consumer) {
+
+        Assert.hasText(baseCurrency, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.notNull(consumer, "Consumer cannot be null");
+
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement statement =
+                connection.prepareStatement(STREAM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, baseCurrency);
+            statement.setDate(2, Date.valueOf(from));
+            statement.setDate(3, Date.valueOf(to));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(ExchangeRate.builder()
+            .date(resultSet.getDate(1).toLocalDate())
+            .baseCurrency(resultSet.getString(2))
+            .targetCurrency(resultSet.getString(3))
+            .rate(new BigDecimal(resultSet.getString(4)))
+            .build()));
+    }
+
+    private RateSnapshot fromJson(final String json, final String baseCurrency, final LocalDate date) {
+        try {
+            return objectMapper.readValue(json, RateSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize rates of snapshot for base currency: "
+                + baseCurrency + " on date: " + date, e);
+        }
+    }
+
+    private String toJson(final ExchangeRateSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot.getRates());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize rates of snapshot for base currency: "
+                + snapshot.getBaseCurrency() + " on date: " + snapshot.getDate(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.shipmonk.testingday.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Backfill of historical exchange rates configuration properties.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+@Validated
+@ConfigurationProperties(BackfillProperties.PREFIX)
+public class BackfillProperties {
+
+    static final String PREFIX = "exchange-rates.backfill";
+
+    // Fixer limits a single timeseries request to 365 days
+    @Positive(message = "Batch days must be positive")
+    @Max(value = 365, message = "Batch days cannot exceed 365")
+    private int batchDays;
+
+    @Positive(message = "Concurrency must be positive")
+    private int concurrency;
+
+    @NotNull(message = "Batch interval cannot be null")
+    private Duration batchInterval;
+
+    @Positive(message = "Maximum range days must be positive")
+    private int maxRangeDays;
+
+    // Renewed after every round of batches, so it must be longer than a round takes
+    @NotNull(message = "Lease duration cannot be null")
+    private Duration leaseDuration;
+
+    @NotNull(message = "Claim interval cannot be null")
+    private Duration claimInterval;
+}
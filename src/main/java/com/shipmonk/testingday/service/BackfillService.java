@@ -0,0 +1,60 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.shipmonk.testingday.api.ConflictingRequestException;
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+
+/**
+ * Service preloading historical exchange rates of a range of dates, so that they are served from the database.
+ * Jobs run one at a time in the background. Each job fetches the missing dates in batches with bounded
+ * concurrency, as background calls of external API, and checkpoints its progress after every round of batches.
+ *
+ * @author Radovan Šinko
+ */
+public interface BackfillService {
+
+    /**
+     * Create a job for a range of past dates and queue it.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive), must be before today and within the maximum range.
+     * @return The created job.
+     */
+    BackfillJobDto start(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Queue a paused or failed job again, it continues from its checkpoint.
+     *
+     * @param id Job identifier.
+     * @return The resumed job, or empty if it does not exist.
+     * @throws ConflictingRequestException if the job is neither paused nor failed
+     */
+    Optional<BackfillJobDto> resume(long id);
+
+    /**
+     * Claim a queued or running job whose lease expired, e.g. interrupted by a restart, and queue it,
+     * it continues from its checkpoint. A job is only claimed while no other job is queued on this node.
+     *
+     * @return The resumed job, or empty if none was claimed.
+     */
+    List<BackfillJobDto> resumeUnfinished();
+
+    /**
+     * Find a job.
+     *
+     * @param id Job identifier.
+     * @return The job, or empty if it does not exist.
+     */
+    Optional<BackfillJobDto> find(long id);
+
+    /**
+     * Find all jobs, newest first.
+     *
+     * @return All jobs.
+     */
+    List<BackfillJobDto> findAll();
+}
@@ -0,0 +1,25 @@
+package com.shipmonk.testingday.service;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import com.shipmonk.testingday.api.dto.ConversionRequestDto;
+
+/**
+ * Service for converting many amounts in a single call.
+ *
+ * @author Radovan Šinko
+ */
+public interface BatchConversionService {
+
+    /**
+     * Convert all items and write the results to the output stream as a JSON array, in order of the items.
+     * Rates of each distinct date are loaded once. Items which are invalid or cannot be converted,
+     * e.g. for an unknown currency, are written with an error instead of failing the whole batch.
+     *
+     * @param base   Base currency code the rates are loaded in.
+     * @param items  Items to convert.
+     * @param output Output stream to write to.
+     */
+    void convert(String base, List<ConversionRequestDto> items, OutputStream output);
+}
@@ -1,6 +1,8 @@
 package com.shipmonk.testingday.service;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
 
@@ -13,11 +15,21 @@ public interface CachingExchangeService {
 
     /**
      * Get latest exchange rates.
+     * Rates are served from memory until their time to live expires.
+     * When they cannot be fetched from external API, e.g. it fails or its quota is used up, the expired rates
+     * or the most recent stored rates are served instead, flagged as stale.
+     * Only rates of the configured base currency are fetched and cached, other base currencies are derived from them.
      *
-     * @param base Base currency code.
-     * @return Latest exchange rates.
+     * @param requestedBase Requested base currency code.
+     * @return Latest exchange rates, possibly stale.
      */
-    ExchangeRatesDto getLatestRates(String base);
+    ExchangeRatesDto getLatestRates(String requestedBase);
+
+    /**
+     * Refresh cached latest exchange rates ahead of their expiry,
+     * so that request threads do not have to wait for the external API.
+     */
+    void refreshLatestRates();
 
     /**
      * Get exchange rates for given date with caching.
@@ -28,4 +40,41 @@ public interface CachingExchangeService {
      * @return Exchange rates for the specified date.
      */
     ExchangeRatesDto getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates of selected currencies for given date, or latest rates when the date is today.
+     * Only the selected rates are read: from memory when the snapshot is cached,
+     * otherwise from the database. Snapshots missing in the database are fetched from external API and stored.
+     *
+     * @param base       Base currency code.
+     * @param date       Date to get exchange rates for.
+     * @param currencies Currency codes to select, currencies without a rate are missing in the result.
+     * @return Selected exchange rates for the specified date.
+     */
+    ExchangeRatesDto getRatesForDate(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Get exchange rates for each date of given range with caching.
+     * Dates held in memory are served from there, the rest is read with a single range query
+     * and only dates missing in the database are fetched from external API and stored in bulk.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    List<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Get exchange rates of selected currencies for each date of given range with caching.
+     * Only the selected rates are read: from memory for cached snapshots, otherwise with a single range query.
+     * Dates missing in the database are fetched from external API and stored in bulk.
+     *
+     * @param base       Base currency code.
+     * @param from       First date of the range.
+     * @param to         Last date of the range (inclusive).
+     * @param currencies Currency codes to select, currencies without a rate are missing in the result.
+     * @return Selected exchange rates ordered by date.
+     */
+    List<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to, Collection<String> currencies);
 }
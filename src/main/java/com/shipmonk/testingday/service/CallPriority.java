@@ -0,0 +1,51 @@
+package com.shipmonk.testingday.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority of calls to external API made by the current thread.
+ * Calls are interactive unless made within {@link #callAs(CallPriority, Supplier)} with another priority.
+ *
+ * @author Radovan Šinko
+ */
+public enum CallPriority {
+
+    /**
+     * Calls made to serve a client request.
+     */
+    INTERACTIVE,
+
+    /**
+     * Calls made by background jobs, which can be postponed.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<CallPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * Get priority of calls made by the current thread.
+     *
+     * @return Current priority.
+     */
+    public static CallPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run an action with given priority of its calls, the previous priority is restored afterwards.
+     *
+     * @param priority Priority of the calls.
+     * @param action   Action to run.
+     * @param <T>      Type of the result.
+     * @return Result of the action.
+     */
+    public static <T> T callAs(final CallPriority priority, final Supplier<T> action) {
+        final CallPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
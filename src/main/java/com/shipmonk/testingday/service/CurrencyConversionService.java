@@ -3,6 +3,8 @@ package com.shipmonk.testingday.service;
 import java.math.BigDecimal;
 import java.util.Map;
 
+import com.shipmonk.testingday.model.RateSnapshot;
+
 /**
  * Service for handling currency conversion when the desired base currency
  * is not supported by external APIs.
@@ -25,6 +27,39 @@ public interface CurrencyConversionService {
         String targetBaseCurrency
     );
 
+    /**
+     * Convert exchange rates snapshot from one base currency to another.
+     *
+     * @param originalRates      Original exchange rates with source base currency
+     * @param sourceBaseCurrency The base currency of the original rates
+     * @param targetBaseCurrency The desired base currency
+     * @return Converted exchange rates with target base currency
+     */
+    RateSnapshot convertBaseCurrency(
+        RateSnapshot originalRates,
+        String sourceBaseCurrency,
+        String targetBaseCurrency
+    );
+
+    /**
+     * Get cross rate between two currencies quoted against the same base currency.
+     *
+     * @param fromRate Rate of the currency to convert from
+     * @param toRate   Rate of the currency to convert to
+     * @return Amount of the target currency for one unit of the source currency
+     */
+    BigDecimal getCrossRate(BigDecimal fromRate, BigDecimal toRate);
+
+    /**
+     * Convert an amount between two currencies quoted against the same base currency.
+     *
+     * @param amount   Amount in the currency to convert from
+     * @param fromRate Rate of the currency to convert from
+     * @param toRate   Rate of the currency to convert to
+     * @return Amount in the currency to convert to
+     */
+    BigDecimal convertAmount(BigDecimal amount, BigDecimal fromRate, BigDecimal toRate);
+
     /**
      * Get the appropriate base currency to use when fetching from external API.
      * This method determines whether to use the desired base currency or fallback
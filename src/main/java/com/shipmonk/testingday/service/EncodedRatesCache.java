@@ -0,0 +1,50 @@
+package com.shipmonk.testingday.service;
+
+import java.util.Optional;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+
+/**
+ * In-memory cache of exchange rates responses already encoded as JSON, optionally also compressed with gzip.
+ * Entries are keyed by the entity tag of the response, which is derived from its content, so an entry
+ * never becomes stale and serves every request variant with the same content.
+ *
+ * @author Radovan Šinko
+ */
+public interface EncodedRatesCache {
+
+    /**
+     * Get encoded response of given entity tag.
+     *
+     * @param eTag Entity tag of the response.
+     * @return Encoded response, or empty if not cached.
+     */
+    Optional<EncodedRates> get(String eTag);
+
+    /**
+     * Get encoded response of given entity tag, encoding and caching the rates if not cached yet.
+     *
+     * @param eTag  Entity tag of the response.
+     * @param rates Exchange rates of the response.
+     * @return Encoded response.
+     */
+    EncodedRates encode(String eTag, ExchangeRatesDto rates);
+
+    /**
+     * Encoded exchange rates response.
+     *
+     * @param json JSON encoded response.
+     * @param gzip The JSON compressed with gzip, or null if compression is disabled or would not pay off.
+     */
+    record EncodedRates(byte[] json, byte[] gzip) {
+
+        /**
+         * Get the size of the encoded response held in memory.
+         *
+         * @return Number of bytes.
+         */
+        public int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.shipmonk.testingday.service;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of exchange rates requests shared by the blocking and the reactive caching services.
+ * Base currencies come from clients, only currencies known from stored or fetched snapshots are tagged,
+ * any other is tagged as {@link #OTHER_BASE}. Each meter is registered once and reused.
+ *
+ * @author Radovan Šinko
+ */
+public interface ExchangeRatesMeters {
+
+    /**
+     * Tag value of base currencies not known from any snapshot.
+     */
+    String OTHER_BASE = "other";
+
+    /**
+     * Get timer of requests served by the caching service.
+     *
+     * @param operation     Requested operation.
+     * @param requestedBase Requested base currency.
+     * @param outcome       Outcome of the request.
+     * @return Timer of the requests.
+     */
+    Timer requestTimer(Operation operation, String requestedBase, Outcome outcome);
+
+    /**
+     * Count resolved snapshots of exchange rates by their source.
+     *
+     * @param base   Base currency of the snapshots.
+     * @param source Source of the snapshots.
+     * @param count  Number of resolved snapshots, nothing is counted for zero.
+     */
+    void countSnapshots(String base, Source source, int count);
+
+    /**
+     * Count snapshots fetched from external API and record their number of rates.
+     *
+     * @param base         Base currency of the snapshots.
+     * @param fetchedRates Fetched snapshots.
+     */
+    void countFetched(String base, List<ExchangeRatesDto> fetchedRates);
+
+    /**
+     * Operation of an exchange rates request.
+     */
+    enum Operation {
+        LATEST,
+        DATE,
+        RANGE;
+
+        /**
+         * Get value of the operation tag.
+         *
+         * @return Lowercase name of the operation.
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Outcome of an exchange rates request.
+     */
+    enum Outcome {
+        SUCCESS,
+        STALE,
+        ERROR;
+
+        /**
+         * Get value of the outcome tag.
+         *
+         * @return Lowercase name of the outcome.
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Source of a resolved snapshot.
+     */
+    enum Source {
+        MEMORY,
+        DB,
+        FIXER;
+
+        /**
+         * Get value of the source tag.
+         *
+         * @return Lowercase name of the source.
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
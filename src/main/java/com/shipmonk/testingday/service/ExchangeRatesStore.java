@@ -0,0 +1,99 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+
+/**
+ * Persistent store of historical exchange rates snapshots.
+ * Each snapshot (base currency and date) is read and written as a single packed row.
+ *
+ * @author Radovan Šinko
+ */
+public interface ExchangeRatesStore {
+
+    /**
+     * Find stored snapshot for given base currency and date.
+     *
+     * @param base Base currency code.
+     * @param date Date of the snapshot.
+     * @return Stored snapshot, or empty if not stored.
+     */
+    Optional<ExchangeRatesDto> find(String base, LocalDate date);
+
+    /**
+     * Find the stored snapshot of the most recent date for given base currency.
+     *
+     * @param base Base currency code.
+     * @return Most recent stored snapshot, or empty if none is stored.
+     */
+    Optional<ExchangeRatesDto> findLatest(String base);
+
+    /**
+     * Find rates of selected currencies of the stored snapshot for given base currency and date.
+     * Only the selected rates are read from the database.
+     *
+     * @param base       Base currency code.
+     * @param date       Date of the snapshot.
+     * @param currencies Currency codes to select.
+     * @return Stored snapshot with the selected rates only, or empty if not stored.
+     */
+    Optional<ExchangeRatesDto> findSelected(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Find all stored snapshots for given base currency within a range of dates.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Stored snapshots by date, dates without a stored snapshot are missing.
+     */
+    Map<LocalDate, ExchangeRatesDto> findBetween(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Find stored snapshots for given base currency on scattered dates in a single query.
+     *
+     * @param base  Base currency code.
+     * @param dates Dates to find.
+     * @return Stored snapshots by date, dates without a stored snapshot are missing.
+     */
+    Map<LocalDate, ExchangeRatesDto> findAll(String base, Collection<LocalDate> dates);
+
+    /**
+     * Find rates of selected currencies of all stored snapshots for given base currency within a range of dates.
+     * Only the selected rates are read from the database.
+     *
+     * @param base       Base currency code.
+     * @param from       First date of the range.
+     * @param to         Last date of the range (inclusive).
+     * @param currencies Currency codes to select.
+     * @return Stored snapshots with the selected rates only by date, dates without a stored snapshot are missing.
+     */
+    Map<LocalDate, ExchangeRatesDto> findSelectedBetween(
+        String base,
+        LocalDate from,
+        LocalDate to,
+        Collection<String> currencies);
+
+    /**
+     * Find dates of all stored snapshots for given base currency within a range of dates, without reading rates.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Dates with a stored snapshot.
+     */
+    Set<LocalDate> findStoredDates(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Store snapshots, skipping snapshots which are already stored.
+     *
+     * @param snapshots Snapshots to store.
+     */
+    void saveAll(List<ExchangeRatesDto> snapshots);
+}
@@ -2,6 +2,7 @@
 package com.shipmonk.testingday.service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
 
@@ -30,4 +31,15 @@ public interface ExchangeService {
      * @return Exchange rates for the specified date.
      */
     ExchangeRatesDto getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates for each date of given range.
+     * Dates for which no rates are available are omitted.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    List<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
 }
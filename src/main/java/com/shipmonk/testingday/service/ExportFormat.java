@@ -0,0 +1,40 @@
+package com.shipmonk.testingday.service;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Supported formats of the exchange rates export.
+ *
+ * @author Radovan Šinko
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+
+    private final String fileExtension;
+
+    /**
+     * Resolve export format from its case-insensitive name.
+     *
+     * @param value the format name
+     * @return the export format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromValue(final String value) {
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported export format. Please provide one of: csv, ndjson.");
+        }
+    }
+}
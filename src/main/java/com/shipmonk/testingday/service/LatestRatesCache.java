@@ -0,0 +1,54 @@
+package com.shipmonk.testingday.service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+
+/**
+ * In-memory cache of the latest exchange rates per base currency with a time to live.
+ *
+ * @author Radovan Šinko
+ */
+public interface LatestRatesCache {
+
+    /**
+     * Get the latest rates for given base currency if they have not expired yet.
+     *
+     * @param base Base currency code.
+     * @return Latest rates, or empty if not cached or expired.
+     */
+    Optional<ExchangeRatesDto> get(String base);
+
+    /**
+     * Get the latest rates for given base currency even if they have expired.
+     *
+     * @param base Base currency code.
+     * @return Latest rates, or empty if never cached.
+     */
+    Optional<ExchangeRatesDto> getStale(String base);
+
+    /**
+     * Store the latest rates. The rates are keyed by their own base currency.
+     *
+     * @param rates Latest rates to store.
+     * @return The rates as held by the cache.
+     */
+    ExchangeRatesDto put(ExchangeRatesDto rates);
+
+    /**
+     * Get base currencies which have latest rates cached, expired or not.
+     *
+     * @return Set of base currency codes.
+     */
+    Set<String> getBases();
+
+    /**
+     * Get the time when the latest rates of given base currency were fetched, expired or not.
+     *
+     * @param base Base currency code.
+     * @return Time of the fetch, or empty if no rates are cached.
+     */
+    Optional<Instant> getFetchedAt(String base);
+}
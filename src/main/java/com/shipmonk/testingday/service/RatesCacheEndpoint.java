@@ -0,0 +1,97 @@
+package com.shipmonk.testingday.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint exposing state of the in-memory rates caches.
+ *
+ * @author Radovan Šinko
+ */
+@Component
+@Endpoint(id = "ratescache")
+@RequiredArgsConstructor
+public class RatesCacheEndpoint {
+
+    private final RatesSnapshotCache ratesSnapshotCache;
+
+    private final LatestRatesCache latestRatesCache;
+
+    /**
+     * Get statistics of the historical snapshots cache and the age of the cached latest rates.
+     *
+     * @return the current state of the caches
+     */
+    @ReadOperation
+    public CacheState state() {
+        final RatesSnapshotCache.Stats stats = ratesSnapshotCache.stats();
+        final long lookups = stats.hitCount() + stats.missCount();
+        final Snapshots snapshots = new Snapshots(
+            stats.size(),
+            stats.hitCount(),
+            stats.missCount(),
+            lookups == 0 ? 0 : (double) stats.hitCount() / lookups,
+            lookups == 0 ? 0 : (double) stats.missCount() / lookups,
+            stats.evictionCount());
+
+        final Instant now = Instant.now();
+        final Map<String, Latest> latest = new TreeMap<>();
+        for (String base : latestRatesCache.getBases()) {
+            latestRatesCache.getStale(base).ifPresent(rates -> latestRatesCache.getFetchedAt(base)
+                .ifPresent(fetchedAt -> latest.put(base, new Latest(
+                    rates.getDate(),
+                    fetchedAt,
+                    Duration.between(fetchedAt, now).toSeconds(),
+                    latestRatesCache.get(base).isEmpty()))));
+        }
+        return new CacheState(snapshots, latest);
+    }
+
+    /**
+     * State of the caches.
+     *
+     * @param snapshots Statistics of the historical snapshots cache.
+     * @param latest    Cached latest rates by base currency.
+     */
+    public record CacheState(Snapshots snapshots, Map<String, Latest> latest) {
+    }
+
+    /**
+     * Statistics of the historical snapshots cache.
+     *
+     * @param size          Approximate number of cached snapshots.
+     * @param hitCount      Number of lookups that found a snapshot.
+     * @param missCount     Number of lookups that did not find a snapshot.
+     * @param hitRate       Ratio of lookups that found a snapshot.
+     * @param missRate      Ratio of lookups that did not find a snapshot.
+     * @param evictionCount Number of snapshots evicted due to the size bound.
+     */
+    public record Snapshots(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        double missRate,
+        long evictionCount) {
+    }
+
+    /**
+     * Cached latest rates of a base currency.
+     *
+     * @param date       Date of the rates.
+     * @param fetchedAt  Time when the rates were fetched.
+     * @param ageSeconds Seconds since the rates were fetched.
+     * @param expired    Whether the rates outlived their time to live and are only served as stale.
+     */
+    public record Latest(LocalDate date, Instant fetchedAt, long ageSeconds, boolean expired) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.shipmonk.testingday.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * In-memory rates cache configuration properties.
+ *
+ * @author Radovan Šinko
+ */
+@Data
+@Validated
+@ConfigurationProperties(RatesCacheProperties.PREFIX)
+public class RatesCacheProperties {
+
+    static final String PREFIX = "exchange-rates.cache";
+
+    @Positive(message = "Maximum cache size must be positive")
+    private long maximumSize;
+
+    @Positive(message = "Maximum number of registered entity tags must be positive")
+    private long etagMaximumSize;
+
+    @Positive(message = "Maximum size of encoded responses must be positive")
+    private long encodedMaximumBytes;
+
+    private boolean encodedGzip;
+
+    @NotNull(message = "Latest rates time to live cannot be null")
+    private Duration latestTtl;
+
+    @NotNull(message = "Latest rates refresh interval cannot be null")
+    private Duration latestRefreshInterval;
+
+    @PositiveOrZero(message = "Number of warmed up days cannot be negative")
+    private int warmUpDays;
+
+    @NotNull(message = "Warmed up pinned dates cannot be null")
+    private List<LocalDate> warmUpPinnedDates = new ArrayList<>();
+
+    private boolean warmUpLatest;
+
+    @AssertTrue(message = "Latest rates refresh interval must be shorter than their time to live")
+    boolean isLatestRefreshedBeforeExpiry() {
+        return latestTtl == null || latestRefreshInterval == null || latestRefreshInterval.compareTo(latestTtl) < 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.shipmonk.testingday.service;
+
+/**
+ * Warm-up of the in-memory rates cache from the database, so that the first requests after a start
+ * do not each pay the database round trip.
+ *
+ * @author Radovan Šinko
+ */
+public interface RatesCacheWarmUp {
+
+    /**
+     * Load stored snapshots of the configured number of recent days and of the pinned dates into the cache.
+     *
+     * @return Number of loaded snapshots.
+     */
+    int warmUp();
+}
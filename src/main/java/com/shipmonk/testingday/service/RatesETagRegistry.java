@@ -0,0 +1,37 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+
+/**
+ * Registry of entity tags of immutable historical exchange rates responses.
+ * Once registered, a conditional request can be validated without loading the snapshot.
+ *
+ * @author Radovan Šinko
+ */
+public interface RatesETagRegistry {
+
+    /**
+     * Find the registered entity tag of a historical response.
+     *
+     * @param base       Base currency code.
+     * @param date       Requested date.
+     * @param currencies Selected currency codes, or null for all currencies.
+     * @return Registered strong entity tag, or empty if not registered.
+     */
+    Optional<String> find(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Compute a strong entity tag from the content of a response. Responses of historical dates are immutable,
+     * so their entity tag is registered under the requested base currency, date and currencies.
+     *
+     * @param date       Requested date.
+     * @param currencies Selected currency codes, or null for all currencies.
+     * @param rates      Returned exchange rates.
+     * @return Strong entity tag of the response.
+     */
+    String register(LocalDate date, Collection<String> currencies, ExchangeRatesDto rates);
+}
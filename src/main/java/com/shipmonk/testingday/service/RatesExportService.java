@@ -0,0 +1,25 @@
+package com.shipmonk.testingday.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service for exporting stored exchange rates in bulk.
+ *
+ * @author Radovan Šinko
+ */
+public interface RatesExportService {
+
+    /**
+     * Write all stored exchange rates within a range of dates to the output stream.
+     * Rates are streamed from the database as they are read, memory use does not depend on the size of the range.
+     * Only stored dates are exported, missing dates are not fetched from external API.
+     *
+     * @param base   Base currency code.
+     * @param from   First date of the range.
+     * @param to     Last date of the range (inclusive).
+     * @param format Export format.
+     * @param output Output stream to write to.
+     */
+    void exportRates(String base, LocalDate from, LocalDate to, ExportFormat format, OutputStream output);
+}
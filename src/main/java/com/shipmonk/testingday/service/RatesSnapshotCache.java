@@ -0,0 +1,50 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+
+/**
+ * In-memory cache of immutable historical exchange rates snapshots.
+ * Sits in front of the repository so that hot dates are served without touching the database.
+ *
+ * @author Radovan Šinko
+ */
+public interface RatesSnapshotCache {
+
+    /**
+     * Get cached snapshot for given base currency and date.
+     *
+     * @param base Base currency code.
+     * @param date Date of the snapshot.
+     * @return Cached snapshot, or empty if not cached.
+     */
+    Optional<ExchangeRatesDto> get(String base, LocalDate date);
+
+    /**
+     * Store snapshot in the cache. The snapshot is keyed by its own base currency and date.
+     *
+     * @param rates Snapshot to store.
+     * @return The snapshot as held by the cache.
+     */
+    ExchangeRatesDto put(ExchangeRatesDto rates);
+
+    /**
+     * Get cache statistics.
+     *
+     * @return Current cache statistics.
+     */
+    Stats stats();
+
+    /**
+     * Cache statistics.
+     *
+     * @param size          Approximate number of cached snapshots.
+     * @param hitCount      Number of lookups that found a snapshot.
+     * @param missCount     Number of lookups that did not find a snapshot.
+     * @param evictionCount Number of snapshots evicted due to the size bound.
+     */
+    record Stats(long size, long hitCount, long missCount, long evictionCount) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service for caching exchange rates, the counterpart of {@link CachingExchangeService}
+ * used by the reactive profile. It shares the in-memory caches with the blocking service,
+ * which keeps refreshing the latest rates in the background.
+ *
+ * @author Radovan Šinko
+ */
+public interface ReactiveCachingExchangeService {
+
+    /**
+     * Get latest exchange rates.
+     * Rates are served from memory until their time to live expires.
+     * When they cannot be fetched from external API, e.g. it fails or its quota is used up, the expired rates
+     * or the most recent stored rates are served instead, flagged as stale.
+     * Only rates of the configured base currency are fetched and cached, other base currencies are derived from them.
+     *
+     * @param requestedBase Requested base currency code.
+     * @return Latest exchange rates, possibly stale.
+     */
+    Mono<ExchangeRatesDto> getLatestRates(String requestedBase);
+
+    /**
+     * Get exchange rates for given date with caching.
+     * If rates are not found in cache, fetch from external API and store.
+     *
+     * @param base Base currency code.
+     * @param date Date to get exchange rates for.
+     * @return Exchange rates for the specified date.
+     */
+    Mono<ExchangeRatesDto> getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates of selected currencies for given date, or latest rates when the date is today.
+     * The whole snapshot is loaded and cached, so that later requests of other currencies are served from memory.
+     *
+     * @param base       Base currency code.
+     * @param date       Date to get exchange rates for.
+     * @param currencies Currency codes to select, currencies without a rate are missing in the result.
+     * @return Selected exchange rates for the specified date.
+     */
+    Mono<ExchangeRatesDto> getRatesForDate(String base, LocalDate date, Collection<String> currencies);
+
+    /**
+     * Get exchange rates for each date of given range with caching.
+     * Dates held in memory are served from there, the rest is read with a single range query
+     * and only dates missing in the database are fetched from external API and stored in bulk.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    Flux<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Get exchange rates of selected currencies for each date of given range with caching.
+     * Whole snapshots are loaded and cached as by {@link #getRatesForRange(String, LocalDate, LocalDate)}.
+     *
+     * @param base       Base currency code.
+     * @param from       First date of the range.
+     * @param to         Last date of the range (inclusive).
+     * @param currencies Currency codes to select, currencies without a rate are missing in the result.
+     * @return Selected exchange rates ordered by date.
+     */
+    Flux<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to, Collection<String> currencies);
+}
@@ -0,0 +1,52 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking persistent store of historical exchange rates snapshots, the counterpart of
+ * {@link ExchangeRatesStore} used by the reactive profile.
+ *
+ * @author Radovan Šinko
+ */
+public interface ReactiveExchangeRatesStore {
+
+    /**
+     * Find stored snapshot for given base currency and date.
+     *
+     * @param base Base currency code.
+     * @param date Date of the snapshot.
+     * @return Stored snapshot, or empty if not stored.
+     */
+    Mono<ExchangeRatesDto> find(String base, LocalDate date);
+
+    /**
+     * Find the stored snapshot of the most recent date for given base currency.
+     *
+     * @param base Base currency code.
+     * @return Most recent stored snapshot, or empty if none is stored.
+     */
+    Mono<ExchangeRatesDto> findLatest(String base);
+
+    /**
+     * Find all stored snapshots for given base currency within a range of dates.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Stored snapshots, dates without a stored snapshot are missing.
+     */
+    Flux<ExchangeRatesDto> findBetween(String base, LocalDate from, LocalDate to);
+
+    /**
+     * Store snapshots in a single statement, skipping snapshots which are already stored.
+     *
+     * @param snapshots Snapshots to store.
+     * @return Completion of the store.
+     */
+    Mono<Void> saveAll(List<ExchangeRatesDto> snapshots);
+}
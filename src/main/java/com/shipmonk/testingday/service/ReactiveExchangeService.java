@@ -0,0 +1,44 @@
+package com.shipmonk.testingday.service;
+
+import java.time.LocalDate;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service for getting exchange rates, the counterpart of {@link ExchangeService}
+ * used by the reactive profile.
+ *
+ * @author Radovan Šinko
+ */
+public interface ReactiveExchangeService {
+
+    /**
+     * Get latest exchange rates.
+     *
+     * @param base Base currency code.
+     * @return Latest exchange rates.
+     */
+    Mono<ExchangeRatesDto> getLatestRates(String base);
+
+    /**
+     * Get exchange rates for given date.
+     *
+     * @param base Base currency code.
+     * @param date Date to get exchange rates for.
+     * @return Exchange rates for the specified date.
+     */
+    Mono<ExchangeRatesDto> getRatesForDate(String base, LocalDate date);
+
+    /**
+     * Get exchange rates for each date of given range.
+     * Dates for which no rates are available are omitted.
+     *
+     * @param base Base currency code.
+     * @param from First date of the range.
+     * @param to   Last date of the range (inclusive).
+     * @return Exchange rates ordered by date.
+     */
+    Flux<ExchangeRatesDto> getRatesForRange(String base, LocalDate from, LocalDate to);
+}
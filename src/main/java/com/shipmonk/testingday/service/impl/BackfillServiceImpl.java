@@ -0,0 +1,326 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.ConflictingRequestException;
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+import com.shipmonk.testingday.api.dto.BackfillStatus;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.repository.BackfillJobRepository;
+import com.shipmonk.testingday.repository.entity.BackfillJob;
+import com.shipmonk.testingday.service.BackfillProperties;
+import com.shipmonk.testingday.service.BackfillService;
+import com.shipmonk.testingday.service.CallPriority;
+import com.shipmonk.testingday.service.ExchangeRatesStore;
+import com.shipmonk.testingday.service.ExchangeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link BackfillService}.
+ * Jobs run on a single thread, their batches on a pool bounded by the configured concurrency.
+ * Batches of a round are awaited together, so that the checkpoint only moves over a contiguous range of dates.
+ * A job is run only by the node holding its lease, renewed after every round. An idle node claims one job
+ * left by a stopped node at a time, so that jobs are spread across the nodes.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(BackfillProperties.class)
+@Service
+@Slf4j
+public class BackfillServiceImpl implements BackfillService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BackfillJobRepository backfillJobRepository;
+
+    private final ExchangeRatesStore exchangeRatesStore;
+
+    private final ExchangeService fixerExchangeService;
+
+    private final BackfillProperties backfillProperties;
+
+    private final ExecutorService jobExecutor;
+
+    private final ExecutorService batchExecutor;
+
+    // Identifier of this node as the owner of leases
+    private final String owner = UUID.randomUUID().toString();
+
+    // Jobs queued or running on this node
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+
+    /**
+     * Creates the service with its job thread and pool of batch threads.
+     *
+     * @param backfillJobRepository the backfill job repository
+     * @param exchangeRatesStore    the exchange rates store
+     * @param fixerExchangeService  the exchange service fetching rates from external API
+     * @param backfillProperties    the backfill configuration properties
+     */
+    public BackfillServiceImpl(
+        final BackfillJobRepository backfillJobRepository,
+        final ExchangeRatesStore exchangeRatesStore,
+        final ExchangeService fixerExchangeService,
+        final BackfillProperties backfillProperties) {
+
+        this.backfillJobRepository = backfillJobRepository;
+        this.exchangeRatesStore = exchangeRatesStore;
+        this.fixerExchangeService = fixerExchangeService;
+        this.backfillProperties = backfillProperties;
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("backfill-"));
+        this.batchExecutor = Executors.newFixedThreadPool(
+            backfillProperties.getConcurrency(), new CustomizableThreadFactory("backfill-batch-"));
+    }
+
+    @Override
+    public BackfillJobDto start(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.isTrue(!from.isAfter(to), "From date cannot be after to date");
+        Assert.isTrue(to.isBefore(LocalDate.now(ZoneOffset.UTC)), "Only dates before today can be backfilled");
+        Assert.isTrue(ChronoUnit.DAYS.between(from, to) < backfillProperties.getMaxRangeDays(),
+            "Backfill range cannot be longer than " + backfillProperties.getMaxRangeDays() + " days");
+
+        final BackfillJob job = backfillJobRepository.save(BackfillJob.builder()
+            .baseCurrency(base)
+            .fromDate(from)
+            .toDate(to)
+            .nextDate(from)
+            .status(BackfillStatus.QUEUED)
+            .build());
+        backfillJobRepository.takeLease(job.getId(), owner, getLeaseSeconds());
+        log.info("Queued backfill job: {} for base currency: {} between {} and {}", job.getId(), base, from, to);
+        return queue(job);
+    }
+
+    @Override
+    public Optional<BackfillJobDto> resume(final long id) {
+        if (backfillJobRepository.claimResumable(id, owner, getLeaseSeconds()) == 0) {
+            final Optional<BackfillJob> job = backfillJobRepository.findById(id);
+            if (job.isPresent()) {
+                throw new ConflictingRequestException("Backfill job " + id + " is " + job.get().getStatus()
+                    + ", only paused or failed jobs can be resumed");
+            }
+            return Optional.empty();
+        }
+
+        final BackfillJob job = backfillJobRepository.findById(id).orElseThrow();
+        log.info("Resuming backfill job: {} from date: {}", id, job.getNextDate());
+        return Optional.of(queue(job));
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${exchange-rates.backfill.claim-interval}",
+        fixedDelayString = "${exchange-rates.backfill.claim-interval}")
+    public List<BackfillJobDto> resumeUnfinished() {
+        if (pendingJobs.get() > 0) {
+            return List.of();
+        }
+        return backfillJobRepository.claimNext(owner, getLeaseSeconds())
+            .flatMap(backfillJobRepository::findById)
+            .map(job -> {
+                log.info("Resuming unfinished backfill job: {} from date: {}", job.getId(), job.getNextDate());
+                return queue(job);
+            })
+            .stream()
+            .toList();
+    }
+
+    @Override
+    public Optional<BackfillJobDto> find(final long id) {
+        return backfillJobRepository.findById(id).map(BackfillServiceImpl::toBackfillJobDto);
+    }
+
+    @Override
+    public List<BackfillJobDto> findAll() {
+        return backfillJobRepository.findAllByOrderByIdDesc().stream()
+            .map(BackfillServiceImpl::toBackfillJobDto)
+            .toList();
+    }
+
+    /**
+     * Stops running jobs, they are resumed from their checkpoints once their leases expire.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    private BackfillJobDto queue(final BackfillJob job) {
+        final long id = job.getId();
+        // Mapped before running, the job is changed by the executor
+        final BackfillJobDto queued = toBackfillJobDto(job);
+        pendingJobs.incrementAndGet();
+        jobExecutor.execute(() -> {
+            try {
+                run(id);
+            } finally {
+                pendingJobs.decrementAndGet();
+            }
+        });
+        return queued;
+    }
+
+    private void run(final long id) {
+        // The lease may have expired while the job was queued and the job was taken over by another node
+        if (!renewLease(id)) {
+            return;
+        }
+
+        BackfillJob job = backfillJobRepository.findById(id).orElseThrow();
+        job.setStatus(BackfillStatus.RUNNING);
+        job.setError(null);
+        job = backfillJobRepository.save(job);
+        log.info("Running backfill job: {} from date: {} to date: {}", id, job.getNextDate(), job.getToDate());
+
+        try {
+            while (!job.getNextDate().isAfter(job.getToDate())) {
+                job = runRound(job);
+                if (!renewLease(id)) {
+                    return;
+                }
+                if (!job.getNextDate().isAfter(job.getToDate())) {
+                    Thread.sleep(backfillProperties.getBatchInterval().toMillis());
+                }
+            }
+            job.setStatus(BackfillStatus.COMPLETED);
+            log.info("Completed backfill job: {}, fetched {} days", id, job.getFetchedDays());
+        } catch (InterruptedException e) {
+            // The job stays running, so that it is claimed again once its lease expires
+            Thread.currentThread().interrupt();
+            log.info("Interrupted backfill job: {} at date: {}", id, job.getNextDate());
+            return;
+        } catch (SystemApiClientException e) {
+            job.setStatus(e.isRateLimited() ? BackfillStatus.PAUSED : BackfillStatus.FAILED);
+            job.setError(StringUtils.abbreviate(e.getMessage(), MAX_ERROR_LENGTH));
+            log.warn("Stopped backfill job: {} at date: {} as {}", id, job.getNextDate(), job.getStatus(), e);
+        } catch (RuntimeException e) {
+            if (jobExecutor.isShutdown()) {
+                // Batches were cancelled by the shutdown, the job is claimed again once its lease expires
+                log.info("Stopped backfill job: {} at date: {} on shutdown", id, job.getNextDate());
+                return;
+            }
+            job.setStatus(BackfillStatus.FAILED);
+            job.setError(StringUtils.abbreviate(e.getMessage(), MAX_ERROR_LENGTH));
+            log.error("Failed backfill job: {} at date: {}", id, job.getNextDate(), e);
+        }
+        backfillJobRepository.save(job);
+        backfillJobRepository.releaseLease(id, owner);
+    }
+
+    /**
+     * Renew the lease of a job run by this node.
+     *
+     * @param id the job identifier
+     * @return false if the job is owned by another node and must not be run
+     */
+    private boolean renewLease(final long id) {
+        if (backfillJobRepository.renewLease(id, owner, getLeaseSeconds()) == 0) {
+            log.warn("Not running backfill job: {}, it is owned by another node", id);
+            return false;
+        }
+        return true;
+    }
+
+    private long getLeaseSeconds() {
+        return backfillProperties.getLeaseDuration().toSeconds();
+    }
+
+    private BackfillJob runRound(final BackfillJob job) {
+        final List<LocalDate> batchStarts = new ArrayList<>();
+        final List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        LocalDate batchStart = job.getNextDate();
+        while (batches.size() < backfillProperties.getConcurrency() && !batchStart.isAfter(job.getToDate())) {
+            final LocalDate from = batchStart;
+            final LocalDate to = min(from.plusDays(backfillProperties.getBatchDays() - 1L), job.getToDate());
+            batchStarts.add(from);
+            batches.add(CompletableFuture.supplyAsync(() -> CallPriority.callAs(CallPriority.BACKGROUND,
+                () -> backfillBatch(job.getBaseCurrency(), from, to)), batchExecutor));
+            batchStart = to.plusDays(1);
+        }
+
+        // The checkpoint moves over batches up to the first failed one, later batches are fetched again on resume
+        LocalDate checkpoint = batchStart;
+        RuntimeException failure = null;
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                job.setFetchedDays(job.getFetchedDays() + batches.get(i).join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                    checkpoint = batchStarts.get(i);
+                }
+            }
+        }
+
+        job.setNextDate(checkpoint);
+        final BackfillJob savedJob = backfillJobRepository.save(job);
+        if (failure != null) {
+            throw failure;
+        }
+        return savedJob;
+    }
+
+    private int backfillBatch(final String base, final LocalDate from, final LocalDate to) {
+        final Set<LocalDate> storedDates = exchangeRatesStore.findStoredDates(base, from, to);
+        final List<LocalDate> missingDates = from.datesUntil(to.plusDays(1))
+            .filter(date -> !storedDates.contains(date))
+            .toList();
+        if (missingDates.isEmpty()) {
+            return 0;
+        }
+
+        // A single call for the span of missing dates, dates already stored are skipped when storing
+        final List<ExchangeRatesDto> rates = fixerExchangeService.getRatesForRange(
+                base, missingDates.get(0), missingDates.get(missingDates.size() - 1)).stream()
+            .filter(snapshot -> !storedDates.contains(snapshot.getDate()))
+            .filter(snapshot -> !snapshot.getDate().isBefore(from) && !snapshot.getDate().isAfter(to))
+            .toList();
+        exchangeRatesStore.saveAll(rates);
+        log.debug("Backfilled {} of {} missing days between {} and {}", rates.size(), missingDates.size(), from, to);
+        return rates.size();
+    }
+
+    private static LocalDate min(final LocalDate first, final LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static BackfillJobDto toBackfillJobDto(final BackfillJob job) {
+        return BackfillJobDto.builder()
+            .id(job.getId())
+            .base(job.getBaseCurrency())
+            .from(job.getFromDate())
+            .to(job.getToDate())
+            .nextDate(job.getNextDate())
+            .status(job.getStatus())
+            .fetchedDays(job.getFetchedDays())
+            .error(job.getError())
+            .createdAt(job.getCreatedAt())
+            .updatedAt(job.getUpdatedAt())
+            .build();
+    }
+}
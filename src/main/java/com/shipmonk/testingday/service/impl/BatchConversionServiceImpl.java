@@ -0,0 +1,157 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.api.dto.ConversionDto;
+import com.shipmonk.testingday.api.dto.ConversionRequestDto;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.BatchConversionService;
+import com.shipmonk.testingday.service.CachingExchangeService;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link BatchConversionService}
+ *
+ * @author Radovan Šinko
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchConversionServiceImpl implements BatchConversionService {
+
+    private static final Pattern CURRENCY_CODE = Pattern.compile("^[A-Z]{3}$");
+
+    private final CachingExchangeService cachingExchangeService;
+
+    private final CurrencyConversionService currencyConversionService;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void convert(final String base, final List<ConversionRequestDto> items, final OutputStream output) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(items, "Items cannot be null");
+        Assert.notNull(output, "Output stream cannot be null");
+
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final Set<LocalDate> dates = items.stream()
+            .filter(item -> validate(item, today) == null)
+            .map(item -> item.getDate() == null ? today : item.getDate())
+            .collect(Collectors.toSet());
+        log.info("Converting batch of {} items using rates of {} dates", items.size(), dates.size());
+
+        final Map<LocalDate, RatesOrError> ratesByDate = new HashMap<>();
+        dates.forEach(date -> ratesByDate.put(date, loadRates(base, date, today)));
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (ConversionRequestDto item : items) {
+                objectMapper.writeValue(generator, convert(item, ratesByDate, today));
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write batch conversion results", e);
+        }
+    }
+
+    private RatesOrError loadRates(final String base, final LocalDate date, final LocalDate today) {
+        try {
+            final ExchangeRatesDto rates = date.isBefore(today)
+                ? cachingExchangeService.getRatesForDate(base, date)
+                : cachingExchangeService.getLatestRates(base);
+            return new RatesOrError(rates, null);
+        } catch (Exception e) {
+            log.warn("Failed to load rates for base currency: {} on date: {}, failing its batch items", base, date, e);
+            return new RatesOrError(null, "Exchange rates for " + date + " are not available");
+        }
+    }
+
+    private static String validate(final ConversionRequestDto item, final LocalDate today) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        if (item.getAmount() == null) {
+            return "Amount cannot be null";
+        }
+        if (item.getFrom() == null || !CURRENCY_CODE.matcher(item.getFrom()).matches()) {
+            return "From currency must be a 3-letter uppercase currency code";
+        }
+        if (item.getTo() == null || !CURRENCY_CODE.matcher(item.getTo()).matches()) {
+            return "To currency must be a 3-letter uppercase currency code";
+        }
+        if (item.getDate() != null && item.getDate().isAfter(today)) {
+            return "Cannot request rates for future dates";
+        }
+        return null;
+    }
+
+    private ConversionDto convert(
+        final ConversionRequestDto item,
+        final Map<LocalDate, RatesOrError> ratesByDate,
+        final LocalDate today) {
+
+        final String invalid = validate(item, today);
+        if (invalid != null) {
+            return ConversionDto.builder()
+                .from(item == null ? null : item.getFrom())
+                .to(item == null ? null : item.getTo())
+                .amount(item == null ? null : item.getAmount())
+                .date(item == null ? null : item.getDate())
+                .error(invalid)
+                .build();
+        }
+
+        final ConversionDto.ConversionDtoBuilder conversion = ConversionDto.builder()
+            .from(item.getFrom())
+            .to(item.getTo())
+            .amount(item.getAmount())
+            .date(item.getDate());
+
+        final RatesOrError ratesOrError = ratesByDate.get(item.getDate() == null ? today : item.getDate());
+        if (ratesOrError.error() != null) {
+            return conversion.error(ratesOrError.error()).build();
+        }
+
+        final ExchangeRatesDto rates = ratesOrError.rates();
+        final BigDecimal fromRate = getRate(rates, item.getFrom());
+        final BigDecimal toRate = getRate(rates, item.getTo());
+        if (fromRate == null || toRate == null) {
+            return conversion
+                .date(rates.getDate())
+                .error("No exchange rate found for currency " + (fromRate == null ? item.getFrom() : item.getTo()))
+                .build();
+        }
+
+        return conversion
+            .date(rates.getDate())
+            .rate(currencyConversionService.getCrossRate(fromRate, toRate))
+            .result(currencyConversionService.convertAmount(item.getAmount(), fromRate, toRate))
+            .build();
+    }
+
+    private static BigDecimal getRate(final ExchangeRatesDto rates, final String currency) {
+        return currency.equals(rates.getBase()) ? BigDecimal.ONE : rates.getRates().get(currency);
+    }
+
+    private record RatesOrError(ExchangeRatesDto rates, String error) {
+    }
+}
@@ -1,28 +1,42 @@
 package com.shipmonk.testingday.service.impl;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import com.shipmonk.testingday.facade.ExchangeRatesProperties;
-import com.shipmonk.testingday.repository.ExchangeRateRepository;
-import com.shipmonk.testingday.repository.entity.ExchangeRate;
 import com.shipmonk.testingday.service.CachingExchangeService;
-import com.shipmonk.testingday.service.CurrencyConversionService;
+import com.shipmonk.testingday.service.CallPriority;
+import com.shipmonk.testingday.service.ExchangeRatesMeters;
+import com.shipmonk.testingday.service.ExchangeRatesStore;
 import com.shipmonk.testingday.service.ExchangeService;
+import com.shipmonk.testingday.service.LatestRatesCache;
+import com.shipmonk.testingday.service.RatesSnapshotCache;
 import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of {@link CachingExchangeService} with caching logic.
+ * Requests are timed by operation, requested base currency and outcome, resolved snapshots are counted
+ * by their source: memory, database or the external API.
  *
  * @author Radovan Šinko
  */
@@ -32,97 +46,416 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CachingExchangeServiceImpl implements CachingExchangeService {
 
-    private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRatesStore exchangeRatesStore;
 
     private final ExchangeService fixerExchangeService;
 
     private final ExchangeRatesProperties exchangeRatesProperties;
 
-    private final CurrencyConversionService currencyConversionService;
+    private final CachingExchangeSupport cachingExchangeSupport;
+
+    private final RatesSnapshotCache ratesSnapshotCache;
+
+    private final LatestRatesCache latestRatesCache;
+
+    private final ExchangeRatesMeters exchangeRatesMeters;
+
+    private final SingleFlight<SnapshotKey, ExchangeRatesDto> ratesForDateFlight = new SingleFlight<>();
+
+    private final SingleFlight<String, ExchangeRatesDto> latestRatesFlight = new SingleFlight<>();
+
+    private final SingleFlight<RangeKey, List<ExchangeRatesDto>> ratesForRangeFlight = new SingleFlight<>();
+
+    // Snapshots read from the database with selected rates only and not yet loaded into memory,
+    // bounded by the number of historical dates of the configured base currency
+    private final Set<SnapshotKey> selectedReadSnapshots = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public ExchangeRatesDto getLatestRates(final String requestedBase) {
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+
+        return timed(ExchangeRatesMeters.Operation.LATEST, requestedBase,
+            () -> cachingExchangeSupport.toRequestedBase(getCanonicalLatestRates(), requestedBase),
+            cachingExchangeSupport::isStale);
+    }
+
+    /**
+     * Get latest rates of the configured base currency, the only base currency fetched from external API.
+     *
+     * @return Latest rates of the configured base currency, possibly stale.
+     */
+    private ExchangeRatesDto getCanonicalLatestRates() {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        try {
+            final ExchangeRatesDto cachedRates = latestRatesCache.get(base).orElse(null);
+            if (cachedRates != null) {
+                exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+                return cachedRates;
+            }
+            return latestRatesFlight.execute(base, () -> latestRatesCache.get(base)
+                .orElseGet(() -> fetchAndCacheLatestRates(base)));
+        } catch (RuntimeException e) {
+            if (!cachingExchangeSupport.isUpstreamUnavailable(e)) {
+                throw e;
+            }
+            final ExchangeRatesDto staleRates = latestRatesCache.getStale(base)
+                .or(() -> exchangeRatesStore.findLatest(base))
+                .orElseThrow(() -> e);
+            log.warn("Failed to fetch latest rates for base currency: {}, serving stale rates of date: {}",
+                base, staleRates.getDate(), e);
+            return cachingExchangeSupport.toStale(staleRates);
+        }
+    }
 
     @Override
-    public ExchangeRatesDto getLatestRates(final String base) {
-        Assert.hasText(base, "Base currency cannot be null or empty");
-        return fixerExchangeService.getLatestRates(base);
+    @Scheduled(
+        initialDelayString = "${exchange-rates.cache.latest-refresh-interval}",
+        fixedDelayString = "${exchange-rates.cache.latest-refresh-interval}")
+    public void refreshLatestRates() {
+        for (String base : latestRatesCache.getBases()) {
+            try {
+                CallPriority.callAs(CallPriority.BACKGROUND,
+                    () -> latestRatesFlight.execute(base, () -> fetchAndCacheLatestRates(base)));
+            } catch (Exception e) {
+                log.warn("Failed to refresh latest rates for base currency: {}, keeping cached rates until expiry",
+                    base, e);
+            }
+        }
+    }
+
+    private ExchangeRatesDto fetchAndCacheLatestRates(final String base) {
+        log.debug("Fetching latest rates for base currency: {} from external API", base);
+        final ExchangeRatesDto rates = fixerExchangeService.getLatestRates(base);
+        exchangeRatesMeters.countFetched(base, List.of(rates));
+        return latestRatesCache.put(rates);
     }
 
     @Override
-    @Transactional
     public ExchangeRatesDto getRatesForDate(final String requestedBase, final LocalDate date) {
         Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
         Assert.notNull(date, "Date cannot be null");
 
-        if (exchangeRateRepository.existsByDateAndBaseCurrency(date, requestedBase)) {
-            log.debug("Found cached rates for configured base currency: {} on date: {}", requestedBase, date);
-            return getRatesFromCache(requestedBase, date);
+        return timed(ExchangeRatesMeters.Operation.DATE, requestedBase,
+            () -> resolveRatesForDate(requestedBase, date), cachingExchangeSupport::isStale);
+    }
+
+    private ExchangeRatesDto resolveRatesForDate(final String requestedBase, final LocalDate date) {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final ExchangeRatesDto inMemoryRates = ratesSnapshotCache.get(base, date).orElse(null);
+        if (inMemoryRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+            log.debug("Found in-memory rates for configured base currency: {} on date: {}", base, date);
+            return cachingExchangeSupport.toRequestedBase(inMemoryRates, requestedBase);
+        }
+
+        // Concurrent misses for the same snapshot share a single database lookup, upstream fetch and persist
+        final ExchangeRatesDto rates =
+            ratesForDateFlight.execute(new SnapshotKey(base, date), () -> loadRatesForDate(base, date));
+        return cachingExchangeSupport.toRequestedBase(rates, requestedBase);
+    }
+
+    private ExchangeRatesDto loadRatesForDate(final String base, final LocalDate date) {
+        final ExchangeRatesDto inMemoryRates = ratesSnapshotCache.get(base, date).orElse(null);
+        if (inMemoryRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+            return inMemoryRates;
+        }
+
+        final ExchangeRatesDto storedRates = exchangeRatesStore.find(base, date).orElse(null);
+        if (storedRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.DB, 1);
+            log.debug("Found cached rates for configured base currency: {} on date: {}", base, date);
+            return ratesSnapshotCache.put(storedRates);
         }
 
         log.info("No cached rates found for configured base currency: {} on date: {}, fetching from external API",
-            requestedBase, date);
-        return fetchAndCacheRatesForDate(requestedBase, date);
+            base, date);
+        return fetchAndCacheRatesForDate(base, date);
     }
 
-    private ExchangeRatesDto fetchAndCacheRatesForDate(final String requestedBase, final LocalDate date) {
-        final ExchangeRatesDto rates =
-            fixerExchangeService.getRatesForDate(exchangeRatesProperties.getBaseCurrency(), date);
-        cacheExchangeRates(rates);
+    private ExchangeRatesDto fetchAndCacheRatesForDate(final String base, final LocalDate date) {
+        final ExchangeRatesDto rates = fixerExchangeService.getRatesForDate(base, date);
+        exchangeRatesMeters.countFetched(base, List.of(rates));
+        exchangeRatesStore.saveAll(List.of(rates));
+
+        return ratesSnapshotCache.put(rates);
+    }
 
-        if (!requestedBase.equals(exchangeRatesProperties.getBaseCurrency())) {
-            return convertRatesForRequestedBase(rates, requestedBase);
+    @Override
+    public ExchangeRatesDto getRatesForDate(
+        final String requestedBase,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        return timed(ExchangeRatesMeters.Operation.DATE, requestedBase,
+            () -> resolveSelectedRatesForDate(requestedBase, date, currencies), cachingExchangeSupport::isStale);
+    }
+
+    private ExchangeRatesDto resolveSelectedRatesForDate(
+        final String requestedBase,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final Set<String> selected = cachingExchangeSupport.toSelected(currencies, requestedBase);
+
+        final ExchangeRatesDto rates;
+        if (!date.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            rates = cachingExchangeSupport.select(getCanonicalLatestRates(), selected);
+        } else {
+            rates = cachingExchangeSupport.select(resolveSelectedHistoricalRates(base, date, selected), selected);
         }
 
-        return rates;
+        return cachingExchangeSupport.toRequestedBase(rates, requestedBase, currencies);
     }
 
-    private ExchangeRatesDto getRatesFromCache(final String requestedBase, final LocalDate date) {
-        final List<ExchangeRate> cachedRates =
-            exchangeRateRepository.findByDateAndBaseCurrency(date, exchangeRatesProperties.getBaseCurrency());
+    /**
+     * Resolve historical rates containing at least the selected currencies.
+     * The first lookup of a snapshot missing in memory reads only the selected rates from the database.
+     * A repeated lookup of the same snapshot loads it whole into memory, so that further lookups are served
+     * from memory. A snapshot missing in the database is fetched right away, without looking it up again.
+     *
+     * @param base     the configured base currency
+     * @param date     the date of the rates
+     * @param selected the currencies to select
+     * @return the full snapshot, or the selected rates only if read from the database
+     */
+    private ExchangeRatesDto resolveSelectedHistoricalRates(
+        final String base,
+        final LocalDate date,
+        final Set<String> selected) {
 
-        final Map<String, BigDecimal> ratesMap = cachedRates.stream()
-            .collect(Collectors.toMap(
-                ExchangeRate::getTargetCurrency,
-                ExchangeRate::getRate
-            ));
+        final ExchangeRatesDto inMemoryRates = ratesSnapshotCache.get(base, date).orElse(null);
+        if (inMemoryRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+            return inMemoryRates;
+        }
 
-        final ExchangeRatesDto cachedRatesDto = ExchangeRatesDto.builder()
-            .base(exchangeRatesProperties.getBaseCurrency())
-            .date(date)
-            .rates(ratesMap)
-            .build();
+        final SnapshotKey key = new SnapshotKey(base, date);
+        if (selectedReadSnapshots.remove(key)) {
+            return ratesForDateFlight.execute(key, () -> loadRatesForDate(base, date));
+        }
 
-        if (!requestedBase.equals(exchangeRatesProperties.getBaseCurrency())) {
-            return convertRatesForRequestedBase(cachedRatesDto, requestedBase);
+        final ExchangeRatesDto storedRates = exchangeRatesStore.findSelected(base, date, selected).orElse(null);
+        if (storedRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.DB, 1);
+            selectedReadSnapshots.add(key);
+            return storedRates;
         }
 
-        return cachedRatesDto;
+        log.info("No cached rates found for configured base currency: {} on date: {}, fetching from external API",
+            base, date);
+        return ratesForDateFlight.execute(key, () -> ratesSnapshotCache.get(base, date)
+            .orElseGet(() -> fetchAndCacheRatesForDate(base, date)));
     }
 
-    private ExchangeRatesDto convertRatesForRequestedBase(ExchangeRatesDto cachedRates, String requestedBase) {
-        final Map<String, BigDecimal> convertedRates = currencyConversionService.convertBaseCurrency(
-            cachedRates.getRates(),
-            cachedRates.getBase(),
-            requestedBase
-        );
+    @Override
+    public List<ExchangeRatesDto> getRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        cachingExchangeSupport.assertRange(from, to);
 
-        return ExchangeRatesDto.builder()
-            .base(requestedBase)
-            .date(cachedRates.getDate())
-            .rates(convertedRates)
-            .build();
+        return timed(ExchangeRatesMeters.Operation.RANGE, requestedBase,
+            () -> resolveRatesForRange(requestedBase, from, to), cachingExchangeSupport::isAnyStale);
     }
 
-    private void cacheExchangeRates(final ExchangeRatesDto rates) {
-        final List<ExchangeRate> exchangeRates = rates.getRates().entrySet().stream()
-            .map(entry -> ExchangeRate.builder()
-                .date(rates.getDate())
-                .baseCurrency(rates.getBase())
-                .targetCurrency(entry.getKey())
-                .rate(entry.getValue())
-                .build())
-            .collect(Collectors.toList());
+    private List<ExchangeRatesDto> resolveRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to) {
+
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new TreeMap<>();
+
+        final LocalDate historicalTo = to.isBefore(today) ? to : today.minusDays(1);
+        if (!from.isAfter(historicalTo)) {
+            ratesByDate.putAll(getHistoricalRatesForRange(base, from, historicalTo));
+        }
+        // Today's rates still change, they are served as latest rates and never stored
+        if (!to.isBefore(today)) {
+            ratesByDate.put(today, getCanonicalLatestRates());
+        }
+
+        return ratesByDate.values().stream()
+            .map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase))
+            .toList();
+    }
+
+    @Override
+    public List<ExchangeRatesDto> getRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        Assert.notNull(currencies, "Currencies cannot be null");
+        cachingExchangeSupport.assertRange(from, to);
+
+        return timed(ExchangeRatesMeters.Operation.RANGE, requestedBase,
+            () -> resolveSelectedRatesForRange(requestedBase, from, to, currencies),
+            cachingExchangeSupport::isAnyStale);
+    }
+
+    private List<ExchangeRatesDto> resolveSelectedRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final Set<String> selected = cachingExchangeSupport.toSelected(currencies, requestedBase);
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new TreeMap<>();
+
+        final LocalDate historicalTo = to.isBefore(today) ? to : today.minusDays(1);
+        if (!from.isAfter(historicalTo)) {
+            ratesByDate.putAll(getSelectedHistoricalRatesForRange(base, from, historicalTo, selected));
+        }
+        if (!to.isBefore(today)) {
+            ratesByDate.put(today, cachingExchangeSupport.select(getCanonicalLatestRates(), selected));
+        }
+
+        return ratesByDate.values().stream()
+            .map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase, currencies))
+            .toList();
+    }
+
+    private Map<LocalDate, ExchangeRatesDto> getSelectedHistoricalRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final Set<String> selected) {
+
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new HashMap<>();
+        final List<LocalDate> notInMemory = new ArrayList<>();
+        from.datesUntil(to.plusDays(1)).forEach(date -> ratesSnapshotCache.get(base, date)
+            .ifPresentOrElse(rates -> ratesByDate.put(date, cachingExchangeSupport.select(rates, selected)),
+                () -> notInMemory.add(date)));
+        exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, ratesByDate.size());
+
+        if (notInMemory.isEmpty()) {
+            return ratesByDate;
+        }
+
+        final LocalDate first = notInMemory.get(0);
+        final LocalDate last = notInMemory.get(notInMemory.size() - 1);
+        final int inMemory = ratesByDate.size();
+        exchangeRatesStore.findSelectedBetween(base, first, last, selected)
+            .forEach(ratesByDate::putIfAbsent);
+        exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.DB, ratesByDate.size() - inMemory);
+
+        final List<LocalDate> missing = notInMemory.stream()
+            .filter(date -> !ratesByDate.containsKey(date))
+            .toList();
+        if (!missing.isEmpty()) {
+            // Snapshots missing in the database are loaded in full, so that they are stored and cached complete
+            getHistoricalRatesForRange(base, missing.get(0), missing.get(missing.size() - 1))
+                .forEach((date, rates) ->
+                    ratesByDate.putIfAbsent(date, cachingExchangeSupport.select(rates, selected)));
+        }
+        return ratesByDate;
+    }
+
+    private Map<LocalDate, ExchangeRatesDto> getHistoricalRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to) {
+
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new HashMap<>();
+        final List<LocalDate> notInMemory = new ArrayList<>();
+        from.datesUntil(to.plusDays(1)).forEach(date -> ratesSnapshotCache.get(base, date)
+            .ifPresentOrElse(rates -> ratesByDate.put(date, rates), () -> notInMemory.add(date)));
+        exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, ratesByDate.size());
+
+        if (notInMemory.isEmpty()) {
+            return ratesByDate;
+        }
+
+        final int inMemory = ratesByDate.size();
+        exchangeRatesStore.findBetween(base, notInMemory.get(0), notInMemory.get(notInMemory.size() - 1))
+            .forEach((date, storedRates) -> ratesByDate.computeIfAbsent(
+                date, key -> ratesSnapshotCache.put(storedRates)));
+        exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.DB, ratesByDate.size() - inMemory);
+
+        final List<LocalDate> missing = notInMemory.stream()
+            .filter(date -> !ratesByDate.containsKey(date))
+            .toList();
+        if (missing.isEmpty()) {
+            return ratesByDate;
+        }
+
+        log.info("No cached rates found for configured base currency: {} on {} dates between {} and {}, "
+            + "fetching from external API", base, missing.size(), from, to);
+
+        // Concurrent misses for the same gap share a single upstream fetch and persist
+        for (List<LocalDate> gap : cachingExchangeSupport.toContiguousGaps(missing)) {
+            final LocalDate gapFrom = gap.get(0);
+            final LocalDate gapTo = gap.get(gap.size() - 1);
+            ratesForRangeFlight.execute(new RangeKey(base, gapFrom, gapTo),
+                    () -> loadRatesForRange(base, gapFrom, gapTo))
+                .forEach(rates -> ratesByDate.put(rates.getDate(), rates));
+        }
+        return ratesByDate;
+    }
+
+    private List<ExchangeRatesDto> loadRatesForRange(final String base, final LocalDate from, final LocalDate to) {
+        // The gap may have been loaded by a flight which completed since the in-memory lookup
+        final List<ExchangeRatesDto> inMemoryRates = from.datesUntil(to.plusDays(1))
+            .map(date -> ratesSnapshotCache.get(base, date))
+            .flatMap(Optional::stream)
+            .toList();
+        if (inMemoryRates.size() > ChronoUnit.DAYS.between(from, to)) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, inMemoryRates.size());
+            return inMemoryRates;
+        }
+
+        final List<ExchangeRatesDto> fetchedRates = fixerExchangeService.getRatesForRange(base, from, to);
+        exchangeRatesMeters.countFetched(base, fetchedRates);
+        exchangeRatesStore.saveAll(fetchedRates);
+        return fetchedRates.stream()
+            .map(ratesSnapshotCache::put)
+            .toList();
+    }
+
+    /**
+     * Time a request by its operation, requested base currency and outcome.
+     *
+     * @param operation     the requested operation
+     * @param requestedBase the requested base currency
+     * @param request       the request to time
+     * @param isStale       tells whether the result is stale
+     * @param <T>           the result type
+     * @return the result of the request
+     */
+    private <T> T timed(
+        final ExchangeRatesMeters.Operation operation,
+        final String requestedBase,
+        final Supplier<T> request,
+        final Predicate<T> isStale) {
+
+        final Timer.Sample sample = Timer.start();
+        ExchangeRatesMeters.Outcome outcome = ExchangeRatesMeters.Outcome.ERROR;
+        try {
+            final T result = request.get();
+            outcome = isStale.test(result) ? ExchangeRatesMeters.Outcome.STALE : ExchangeRatesMeters.Outcome.SUCCESS;
+            return result;
+        } finally {
+            sample.stop(exchangeRatesMeters.requestTimer(operation, requestedBase, outcome));
+        }
+    }
+
+    private record SnapshotKey(String base, LocalDate date) {
+    }
 
-        exchangeRateRepository.saveAll(exchangeRates);
-        log.debug("Cached {} exchange rates for base currency: {} on date: {}",
-            exchangeRates.size(), rates.getBase(), rates.getDate());
+    private record RangeKey(String base, LocalDate from, LocalDate to) {
     }
 }
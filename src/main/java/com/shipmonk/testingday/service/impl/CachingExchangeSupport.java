@@ -0,0 +1,198 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.InvalidRequestException;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.CurrencyConversionService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Logic of the caching service independent of how rates are loaded, shared by the blocking
+ * and the reactive caching service.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(ExchangeRatesProperties.class)
+@Component
+@RequiredArgsConstructor
+public class CachingExchangeSupport {
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    private final CurrencyConversionService currencyConversionService;
+
+    /**
+     * Assert the date range is ordered and not longer than the configured maximum.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     */
+    public void assertRange(final LocalDate from, final LocalDate to) {
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.isTrue(!from.isAfter(to), "From date cannot be after to date");
+        Assert.isTrue(ChronoUnit.DAYS.between(from, to) < exchangeRatesProperties.getMaxRangeDays(),
+            "Date range cannot be longer than " + exchangeRatesProperties.getMaxRangeDays() + " days");
+    }
+
+    /**
+     * Get the currencies to select from rates of the configured base currency, including the requested base
+     * currency needed to rebase the selected rates.
+     *
+     * @param currencies    the requested currencies
+     * @param requestedBase the requested base currency
+     * @return the currencies to select
+     */
+    public Set<String> toSelected(final Collection<String> currencies, final String requestedBase) {
+        final Set<String> selected = new HashSet<>(currencies);
+        selected.add(requestedBase);
+        return selected;
+    }
+
+    /**
+     * Rebase rates to the requested base currency.
+     *
+     * @param rates         the rates to rebase
+     * @param requestedBase the requested base currency
+     * @return the rebased rates
+     * @throws InvalidRequestException if the requested base currency is not in the rates
+     */
+    public ExchangeRatesDto toRequestedBase(final ExchangeRatesDto rates, final String requestedBase) {
+        if (requestedBase.equals(rates.getBase())) {
+            return rates;
+        }
+
+        // Checked before rebasing, an unknown base currency is an error of the request
+        if (!rates.getRates().contains(requestedBase)) {
+            throw new InvalidRequestException("Base currency " + requestedBase + " is not supported");
+        }
+        final RateSnapshot convertedRates = currencyConversionService.convertBaseCurrency(
+            rates.getRates(),
+            rates.getBase(),
+            requestedBase
+        );
+        return ExchangeRatesDto.builder()
+            .base(requestedBase)
+            .date(rates.getDate())
+            .rates(convertedRates)
+            .stale(rates.getStale())
+            .build();
+    }
+
+    /**
+     * Rebase rates to the requested base currency and select the requested currencies.
+     * Only the selected rates are rebased.
+     *
+     * @param rates         the rates to rebase, containing at least the selected currencies
+     * @param requestedBase the requested base currency
+     * @param currencies    the requested currencies
+     * @return the rebased rates of the requested currencies
+     * @throws InvalidRequestException if the requested base currency is not in the rates
+     */
+    public ExchangeRatesDto toRequestedBase(
+        final ExchangeRatesDto rates,
+        final String requestedBase,
+        final Collection<String> currencies) {
+
+        return select(toRequestedBase(select(rates, toSelected(currencies, requestedBase)), requestedBase),
+            currencies);
+    }
+
+    /**
+     * Select rates of the currencies.
+     *
+     * @param rates      the rates to select from
+     * @param currencies the currencies to select
+     * @return the selected rates
+     */
+    public ExchangeRatesDto select(final ExchangeRatesDto rates, final Collection<String> currencies) {
+        return ExchangeRatesDto.builder()
+            .base(rates.getBase())
+            .date(rates.getDate())
+            .rates(rates.getRates().select(currencies))
+            .stale(rates.getStale())
+            .build();
+    }
+
+    /**
+     * Flag rates as stale, served while the external API is unavailable.
+     *
+     * @param rates the rates to flag
+     * @return the rates flagged as stale
+     */
+    public ExchangeRatesDto toStale(final ExchangeRatesDto rates) {
+        return ExchangeRatesDto.builder()
+            .base(rates.getBase())
+            .date(rates.getDate())
+            .rates(rates.getRates())
+            .stale(true)
+            .build();
+    }
+
+    /**
+     * Tell whether stale rates can be served instead of failing, that is the external API is unavailable
+     * or rate limited rather than rejecting the request itself.
+     *
+     * @param e the failure of fetching rates
+     * @return true if the external API is unavailable
+     */
+    public boolean isUpstreamUnavailable(final Throwable e) {
+        return e instanceof SystemApiServerException
+            || e instanceof SystemApiClientException clientException && clientException.isRateLimited();
+    }
+
+    /**
+     * Tell whether rates are stale.
+     *
+     * @param rates the rates
+     * @return true if the rates are flagged as stale
+     */
+    public boolean isStale(final ExchangeRatesDto rates) {
+        return Boolean.TRUE.equals(rates.getStale());
+    }
+
+    /**
+     * Tell whether any of the rates is stale.
+     *
+     * @param rates the rates
+     * @return true if any of the rates is flagged as stale
+     */
+    public boolean isAnyStale(final List<ExchangeRatesDto> rates) {
+        return rates.stream().anyMatch(this::isStale);
+    }
+
+    /**
+     * Split sorted dates into runs of consecutive dates, each fetched by a single call.
+     *
+     * @param sortedDates the sorted dates, not empty
+     * @return the runs of consecutive dates
+     */
+    public List<List<LocalDate>> toContiguousGaps(final List<LocalDate> sortedDates) {
+        final List<List<LocalDate>> gaps = new ArrayList<>();
+        List<LocalDate> gap = new ArrayList<>();
+        for (LocalDate date : sortedDates) {
+            if (!gap.isEmpty() && !gap.get(gap.size() - 1).plusDays(1).equals(date)) {
+                gaps.add(gap);
+                gap = new ArrayList<>();
+            }
+            gap.add(date);
+        }
+        gaps.add(gap);
+        return gaps;
+    }
+}
@@ -8,8 +8,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.model.RateSnapshot;
 import com.shipmonk.testingday.service.CurrencyConversionService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -18,12 +21,34 @@ import lombok.extern.slf4j.Slf4j;
  * @author Radovan Šinko
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CurrencyConversionServiceImpl implements CurrencyConversionService {
 
+    private static final String REBASE_TIMER = "exchange.rates.rebase";
+
     private final ExchangeRatesProperties exchangeRatesProperties;
 
+    private final MeterRegistry meterRegistry;
+
+    private final Counter conversions;
+
+    /**
+     * Creates the service and registers its meters.
+     *
+     * @param exchangeRatesProperties the exchange rates configuration properties
+     * @param meterRegistry           the meter registry
+     */
+    public CurrencyConversionServiceImpl(
+        final ExchangeRatesProperties exchangeRatesProperties,
+        final MeterRegistry meterRegistry) {
+
+        this.exchangeRatesProperties = exchangeRatesProperties;
+        this.meterRegistry = meterRegistry;
+        this.conversions = Counter.builder("exchange.rates.conversions")
+            .description("Amounts converted between currencies")
+            .register(meterRegistry);
+    }
+
     @Override
     public Map<String, BigDecimal> convertBaseCurrency(
         final Map<String, BigDecimal> originalRates,
@@ -31,14 +56,41 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         final String targetBaseCurrency) {
 
         Assert.notNull(originalRates, "Original rates cannot be null");
-        Assert.notEmpty(originalRates, "Original rates cannot be empty");
+
+        return new HashMap<>(
+            convertBaseCurrency(RateSnapshot.of(originalRates), sourceBaseCurrency, targetBaseCurrency).toMap());
+    }
+
+    @Override
+    public RateSnapshot convertBaseCurrency(
+        final RateSnapshot originalRates,
+        final String sourceBaseCurrency,
+        final String targetBaseCurrency) {
+
+        Assert.notNull(originalRates, "Original rates cannot be null");
+        Assert.isTrue(!originalRates.isEmpty(), "Original rates cannot be empty");
         Assert.hasText(sourceBaseCurrency, "Source base currency cannot be null or empty");
         Assert.hasText(targetBaseCurrency, "Target base currency cannot be null or empty");
 
         if (sourceBaseCurrency.equals(targetBaseCurrency)) {
-            return new HashMap<>(originalRates);
+            return originalRates;
         }
 
+        // Rebased rates are memoized on the source snapshot, repeated conversions of a cached snapshot are free,
+        // so only the actual rebasing is timed
+        return originalRates.derive(sourceBaseCurrency + '>' + targetBaseCurrency,
+            rates -> Timer.builder(REBASE_TIMER)
+                .description("Rebasing of exchange rates snapshots to another base currency")
+                .tag("base", targetBaseCurrency)
+                .register(meterRegistry)
+                .record(() -> rebase(rates, sourceBaseCurrency, targetBaseCurrency)));
+    }
+
+    private RateSnapshot rebase(
+        final RateSnapshot originalRates,
+        final String sourceBaseCurrency,
+        final String targetBaseCurrency) {
+
         log.debug("Converting exchange rates from {} to {}", sourceBaseCurrency, targetBaseCurrency);
 
         final BigDecimal targetCurrencyRate = originalRates.get(targetBaseCurrency);
@@ -47,12 +99,9 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
                 "Target base currency " + targetBaseCurrency + " not found in exchange rates");
         }
 
-        final Map<String, BigDecimal> convertedRates = new HashMap<>();
-
-        for (Map.Entry<String, BigDecimal> entry : originalRates.entrySet()) {
-            final String currency = entry.getKey();
-            final BigDecimal rate = entry.getValue();
+        final RateSnapshot.Builder convertedRates = RateSnapshot.builder();
 
+        originalRates.forEach((currency, rate) -> {
             if (currency.equals(sourceBaseCurrency)) {
                 convertedRates.put(
                     currency, BigDecimal.ONE.divide(targetCurrencyRate, exchangeRatesProperties.getRoundingScale(),
@@ -64,10 +113,34 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
                     currency, rate.divide(targetCurrencyRate, exchangeRatesProperties.getRoundingScale(),
                     exchangeRatesProperties.getRoundingMode()));
             }
-        }
+        });
+
+        final RateSnapshot result = convertedRates.build();
+        log.debug("Successfully converted {} exchange rates", result.size());
+        return result;
+    }
+
+    @Override
+    public BigDecimal getCrossRate(final BigDecimal fromRate, final BigDecimal toRate) {
+        return multiplyAndDivide(BigDecimal.ONE, fromRate, toRate);
+    }
+
+    @Override
+    public BigDecimal convertAmount(final BigDecimal amount, final BigDecimal fromRate, final BigDecimal toRate) {
+        final BigDecimal result = multiplyAndDivide(amount, fromRate, toRate);
+        conversions.increment();
+        return result;
+    }
+
+    private BigDecimal multiplyAndDivide(final BigDecimal amount, final BigDecimal fromRate, final BigDecimal toRate) {
+        Assert.notNull(amount, "Amount cannot be null");
+        Assert.notNull(fromRate, "From rate cannot be null");
+        Assert.notNull(toRate, "To rate cannot be null");
+        Assert.isTrue(fromRate.signum() > 0, "From rate must be positive");
 
-        log.debug("Successfully converted {} exchange rates", convertedRates.size());
-        return convertedRates;
+        // Multiply first so that the amount is not scaled by an already rounded cross rate
+        return amount.multiply(toRate).divide(fromRate, exchangeRatesProperties.getRoundingScale(),
+            exchangeRatesProperties.getRoundingMode());
     }
 
     @Override
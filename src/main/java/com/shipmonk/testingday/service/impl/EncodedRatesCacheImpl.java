@@ -0,0 +1,101 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.EncodedRatesCache;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caffeine backed implementation of {@link EncodedRatesCache}, bounded by the total size of the encoded responses.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(RatesCacheProperties.class)
+@Service
+public class EncodedRatesCacheImpl implements EncodedRatesCache {
+
+    private static final String CACHE_NAME = "encodedRates";
+
+    // Smaller responses are not compressed, the gzip header and trailer would outweigh the savings
+    private static final int GZIP_MIN_BYTES = 256;
+
+    private final Cache<String, EncodedRates> cache;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean gzipEnabled;
+
+    /**
+     * Creates the cache bounded by the configured maximum size and binds its statistics to the meter registry.
+     *
+     * @param properties    the cache configuration properties
+     * @param objectMapper  the object mapper used to encode responses
+     * @param meterRegistry the meter registry
+     */
+    public EncodedRatesCacheImpl(
+        final RatesCacheProperties properties,
+        final ObjectMapper objectMapper,
+        final MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getEncodedMaximumBytes())
+            .weigher((String eTag, EncodedRates encoded) -> encoded.weight())
+            .recordStats()
+            .build();
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = properties.isEncodedGzip();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<EncodedRates> get(final String eTag) {
+        Assert.hasText(eTag, "Entity tag cannot be null or empty");
+
+        return Optional.ofNullable(cache.getIfPresent(eTag));
+    }
+
+    @Override
+    public EncodedRates encode(final String eTag, final ExchangeRatesDto rates) {
+        Assert.hasText(eTag, "Entity tag cannot be null or empty");
+        Assert.notNull(rates, "Rates cannot be null");
+
+        return cache.get(eTag, key -> encode(rates));
+    }
+
+    // Package-private for benchmarks
+    EncodedRates encode(final ExchangeRatesDto rates) {
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(rates);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode rates for base currency: " + rates.getBase()
+                + " on date: " + rates.getDate(), e);
+        }
+        return new EncodedRates(json, gzipEnabled && json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(final byte[] bytes) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.CurrencyIndex;
+import com.shipmonk.testingday.service.ExchangeRatesMeters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementation of {@link ExchangeRatesMeters}.
+ * Meters are kept by their tags, which are bounded by the known currencies, so that they are looked up
+ * in the registry only when first used.
+ *
+ * @author Radovan Šinko
+ */
+@Service
+@RequiredArgsConstructor
+public class ExchangeRatesMetersImpl implements ExchangeRatesMeters {
+
+    private static final String REQUESTS_TIMER = "exchange.rates.requests";
+    private static final String SNAPSHOTS_COUNTER = "exchange.rates.snapshots";
+    private static final String SNAPSHOT_CURRENCIES_SUMMARY = "exchange.rates.snapshot.currencies";
+
+    private static final String TAG_OPERATION = "operation";
+    private static final String TAG_BASE = "base";
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String TAG_SOURCE = "source";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RequestKey, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    private final Map<SnapshotsKey, Counter> snapshotCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> currenciesSummaries = new ConcurrentHashMap<>();
+
+    @Override
+    public Timer requestTimer(final Operation operation, final String requestedBase, final Outcome outcome) {
+        Assert.notNull(operation, "Operation cannot be null");
+        Assert.notNull(outcome, "Outcome cannot be null");
+
+        return requestTimers.computeIfAbsent(new RequestKey(operation, toBaseTag(requestedBase), outcome),
+            key -> Timer.builder(REQUESTS_TIMER)
+                .description("Exchange rates requests served by the caching service")
+                .tags(TAG_OPERATION, key.operation().tagValue(), TAG_BASE, key.base(),
+                    TAG_OUTCOME, key.outcome().tagValue())
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void countSnapshots(final String base, final Source source, final int count) {
+        Assert.notNull(source, "Source cannot be null");
+
+        if (count > 0) {
+            snapshotCounters.computeIfAbsent(new SnapshotsKey(toBaseTag(base), source),
+                    key -> Counter.builder(SNAPSHOTS_COUNTER)
+                        .description("Snapshots of exchange rates resolved by their source")
+                        .tags(TAG_BASE, key.base(), TAG_SOURCE, key.source().tagValue())
+                        .register(meterRegistry))
+                .increment(count);
+        }
+    }
+
+    @Override
+    public void countFetched(final String base, final List<ExchangeRatesDto> fetchedRates) {
+        Assert.notNull(fetchedRates, "Fetched rates cannot be null");
+
+        countSnapshots(base, Source.FIXER, fetchedRates.size());
+        final DistributionSummary currencies = currenciesSummaries.computeIfAbsent(toBaseTag(base),
+            baseTag -> DistributionSummary.builder(SNAPSHOT_CURRENCIES_SUMMARY)
+                .description("Number of rates in a snapshot fetched from external API")
+                .tags(TAG_BASE, baseTag)
+                .register(meterRegistry));
+        fetchedRates.forEach(rates -> currencies.record(rates.getRates().size()));
+    }
+
+    /**
+     * Get tag value of a base currency, bounded by the currencies known from snapshots.
+     *
+     * @param base the base currency
+     * @return the base currency if known, otherwise {@link #OTHER_BASE}
+     */
+    private static String toBaseTag(final String base) {
+        return CurrencyIndex.find(base) < 0 ? OTHER_BASE : base;
+    }
+
+    private record RequestKey(Operation operation, String base, Outcome outcome) {
+    }
+
+    private record SnapshotsKey(String base, Source source) {
+    }
+}
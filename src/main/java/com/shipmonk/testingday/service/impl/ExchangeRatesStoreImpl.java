@@ -0,0 +1,149 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.repository.ExchangeRateSnapshotRepository;
+import com.shipmonk.testingday.repository.entity.ExchangeRateSnapshot;
+import com.shipmonk.testingday.service.ExchangeRatesStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link ExchangeRatesStore} backed by the packed snapshot table.
+ *
+ * @author Radovan Šinko
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRatesStoreImpl implements ExchangeRatesStore {
+
+    private final ExchangeRateSnapshotRepository exchangeRateSnapshotRepository;
+
+    @Override
+    public Optional<ExchangeRatesDto> find(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return exchangeRateSnapshotRepository.findByBaseCurrencyAndDate(base, date)
+            .map(ExchangeRatesStoreImpl::toExchangeRatesDto);
+    }
+
+    @Override
+    public Optional<ExchangeRatesDto> findLatest(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        return exchangeRateSnapshotRepository.findFirstByBaseCurrencyOrderByDateDesc(base)
+            .map(ExchangeRatesStoreImpl::toExchangeRatesDto);
+    }
+
+    @Override
+    public Optional<ExchangeRatesDto> findSelected(
+        final String base,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        return exchangeRateSnapshotRepository.findRatesByBaseCurrencyAndDate(base, date, currencies)
+            .map(rates -> ExchangeRatesDto.builder()
+                .base(base)
+                .date(date)
+                .rates(rates)
+                .build());
+    }
+
+    @Override
+    public Map<LocalDate, ExchangeRatesDto> findBetween(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new HashMap<>();
+        exchangeRateSnapshotRepository.findByBaseCurrencyAndDateBetween(base, from, to)
+            .forEach(snapshot -> ratesByDate.put(snapshot.getDate(), toExchangeRatesDto(snapshot)));
+        return ratesByDate;
+    }
+
+    @Override
+    public Map<LocalDate, ExchangeRatesDto> findAll(final String base, final Collection<LocalDate> dates) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(dates, "Dates cannot be null");
+
+        if (dates.isEmpty()) {
+            return Map.of();
+        }
+        return exchangeRateSnapshotRepository.findByBaseCurrencyAndDateIn(base, dates).stream()
+            .collect(Collectors.toMap(ExchangeRateSnapshot::getDate, ExchangeRatesStoreImpl::toExchangeRatesDto));
+    }
+
+    @Override
+    public Map<LocalDate, ExchangeRatesDto> findSelectedBetween(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = new HashMap<>();
+        exchangeRateSnapshotRepository.findRatesByBaseCurrencyAndDateBetween(base, from, to, currencies)
+            .forEach((date, rates) -> ratesByDate.put(date, ExchangeRatesDto.builder()
+                .base(base)
+                .date(date)
+                .rates(rates)
+                .build()));
+        return ratesByDate;
+    }
+
+    @Override
+    public Set<LocalDate> findStoredDates(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+
+        return Set.copyOf(exchangeRateSnapshotRepository.findDatesByBaseCurrencyAndDateBetween(base, from, to));
+    }
+
+    @Override
+    public void saveAll(final List<ExchangeRatesDto> snapshots) {
+        Assert.notNull(snapshots, "Snapshots cannot be null");
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        exchangeRateSnapshotRepository.upsertAll(snapshots.stream()
+            .map(rates -> ExchangeRateSnapshot.builder()
+                .baseCurrency(rates.getBase())
+                .date(rates.getDate())
+                .rates(rates.getRates())
+                .build())
+            .toList());
+        log.debug("Stored {} snapshots for base currency: {}", snapshots.size(), snapshots.get(0).getBase());
+    }
+
+    // Package-private for benchmarks
+    static ExchangeRatesDto toExchangeRatesDto(final ExchangeRateSnapshot snapshot) {
+        return ExchangeRatesDto.builder()
+            .base(snapshot.getBaseCurrency())
+            .date(snapshot.getDate())
+            .rates(snapshot.getRates())
+            .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.LatestRatesCache;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementation of {@link LatestRatesCache}.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(RatesCacheProperties.class)
+@Service
+@RequiredArgsConstructor
+public class LatestRatesCacheImpl implements LatestRatesCache {
+
+    private final RatesCacheProperties ratesCacheProperties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<ExchangeRatesDto> get(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        final Entry entry = entries.get(base);
+        if (entry == null || entry.isExpired(ratesCacheProperties)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.rates());
+    }
+
+    @Override
+    public Optional<ExchangeRatesDto> getStale(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        return Optional.ofNullable(entries.get(base)).map(Entry::rates);
+    }
+
+    @Override
+    public ExchangeRatesDto put(final ExchangeRatesDto rates) {
+        Assert.notNull(rates, "Rates cannot be null");
+
+        entries.put(rates.getBase(), new Entry(rates, Instant.now()));
+        return rates;
+    }
+
+    @Override
+    public Set<String> getBases() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    @Override
+    public Optional<Instant> getFetchedAt(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        return Optional.ofNullable(entries.get(base)).map(Entry::fetchedAt);
+    }
+
+    private record Entry(ExchangeRatesDto rates, Instant fetchedAt) {
+
+        boolean isExpired(final RatesCacheProperties properties) {
+            return fetchedAt.plus(properties.getLatestTtl()).isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.service.CachingExchangeService;
+import com.shipmonk.testingday.service.CallPriority;
+import com.shipmonk.testingday.service.ExchangeRatesStore;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import com.shipmonk.testingday.service.RatesCacheWarmUp;
+import com.shipmonk.testingday.service.RatesSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link RatesCacheWarmUp}.
+ * The warm-up runs synchronously on {@link ApplicationReadyEvent}, which is published before the readiness state
+ * changes to accepting traffic, so the readiness probe reports ready only once the cache is warm.
+ * Latest rates are fetched from Fixer in the background, so that a slow or failing Fixer does not delay readiness.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties({RatesCacheProperties.class, ExchangeRatesProperties.class})
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatesCacheWarmUpImpl implements RatesCacheWarmUp {
+
+    private final ExchangeRatesStore exchangeRatesStore;
+
+    private final RatesSnapshotCache ratesSnapshotCache;
+
+    private final RatesCacheProperties ratesCacheProperties;
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    private final CachingExchangeService cachingExchangeService;
+
+    /**
+     * Warm up the cache once the application is started. A failed warm-up does not prevent the application
+     * from serving, the snapshots are then loaded on first request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm up the rates cache, rates will be loaded on first request", e);
+        }
+        if (ratesCacheProperties.isWarmUpLatest()) {
+            CompletableFuture.runAsync(this::warmUpLatest);
+        }
+    }
+
+    private void warmUpLatest() {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        try {
+            // Cached latest rates are kept fresh by the scheduled refresh from now on
+            CallPriority.callAs(CallPriority.BACKGROUND, () -> cachingExchangeService.getLatestRates(base));
+            log.info("Warmed up latest rates for base currency: {}", base);
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm up latest rates for base currency: {}, they will be fetched on first request",
+                base, e);
+        }
+    }
+
+    @Override
+    public int warmUp() {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final int days = ratesCacheProperties.getWarmUpDays();
+        final long startedAt = System.nanoTime();
+
+        final Map<LocalDate, ExchangeRatesDto> ratesByDate = days > 0
+            ? exchangeRatesStore.findBetween(base, today.minusDays(days), today.minusDays(1))
+            : Map.of();
+
+        final Set<LocalDate> pinnedDates = new HashSet<>(ratesCacheProperties.getWarmUpPinnedDates());
+        pinnedDates.removeIf(date -> !date.isBefore(today) || ratesByDate.containsKey(date));
+        final Map<LocalDate, ExchangeRatesDto> pinnedRates = exchangeRatesStore.findAll(base, pinnedDates);
+
+        ratesByDate.values().forEach(ratesSnapshotCache::put);
+        pinnedRates.values().forEach(ratesSnapshotCache::put);
+
+        final int loaded = ratesByDate.size() + pinnedRates.size();
+        log.info("Warmed up rates cache with {} snapshots for base currency: {} in {} ms",
+            loaded, base, (System.nanoTime() - startedAt) / 1_000_000);
+        return loaded;
+    }
+}
@@ -0,0 +1,108 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import com.shipmonk.testingday.service.RatesETagRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caffeine backed implementation of {@link RatesETagRegistry}.
+ * Entity tags are SHA-256 hashes of the response content, truncated to 128 bits.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(RatesCacheProperties.class)
+@Service
+public class RatesETagRegistryImpl implements RatesETagRegistry {
+
+    private static final String CACHE_NAME = "ratesETags";
+
+    private static final int ETAG_BYTES = 16;
+
+    private final Cache<ETagKey, String> cache;
+
+    // Cached snapshots are shared instances, so their tags are memoized by identity
+    private final Cache<ExchangeRatesDto, String> tagsByInstance;
+
+    /**
+     * Creates the registry bounded by the configured maximum size and binds its statistics to the meter registry.
+     *
+     * @param properties    the cache configuration properties
+     * @param meterRegistry the meter registry
+     */
+    public RatesETagRegistryImpl(final RatesCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getEtagMaximumSize())
+            .recordStats()
+            .build();
+        this.tagsByInstance = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(properties.getEtagMaximumSize())
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<String> find(final String base, final LocalDate date, final Collection<String> currencies) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return Optional.ofNullable(cache.getIfPresent(ETagKey.of(base, date, currencies)));
+    }
+
+    @Override
+    public String register(final LocalDate date, final Collection<String> currencies, final ExchangeRatesDto rates) {
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(rates, "Rates cannot be null");
+
+        final String eTag = tagsByInstance.get(rates, RatesETagRegistryImpl::computeETag);
+        if (date.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            cache.put(ETagKey.of(rates.getBase(), date, currencies), eTag);
+        }
+        return eTag;
+    }
+
+    private static String computeETag(final ExchangeRatesDto rates) {
+        final MessageDigest digest = newDigest();
+        digest.update((rates.getBase() + '|' + rates.getDate() + '|' + rates.getStale())
+            .getBytes(StandardCharsets.US_ASCII));
+        // Sorted by currency, so that the tag does not depend on the order in which currencies were indexed
+        new TreeMap<>(rates.getRates().toMap()).forEach((currency, rate) ->
+            digest.update(('|' + currency + '=' + rate).getBytes(StandardCharsets.US_ASCII)));
+        return '"' + HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), ETAG_BYTES)) + '"';
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record ETagKey(String base, LocalDate date, Set<String> currencies) {
+
+        static ETagKey of(final String base, final LocalDate date, final Collection<String> currencies) {
+            return new ETagKey(base, date, currencies == null ? null : Set.copyOf(currencies));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.repository.ExchangeRateSnapshotRepository;
+import com.shipmonk.testingday.repository.entity.ExchangeRate;
+import com.shipmonk.testingday.service.ExportFormat;
+import com.shipmonk.testingday.service.RatesExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of {@link RatesExportService}
+ *
+ * @author Radovan Šinko
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatesExportServiceImpl implements RatesExportService {
+
+    private static final String CSV_HEADER = "date,base_currency,target_currency,rate\n";
+
+    private final ExchangeRateSnapshotRepository exchangeRateSnapshotRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportRates(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final ExportFormat format,
+        final OutputStream output) {
+
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+        Assert.isTrue(!from.isAfter(to), "From date cannot be after to date");
+        Assert.notNull(format, "Export format cannot be null");
+        Assert.notNull(output, "Output stream cannot be null");
+
+        log.info("Exporting rates for base currency: {} between {} and {} as {}", base, from, to, format);
+        try {
+            final long exported = switch (format) {
+                case CSV -> writeCsv(base, from, to, output);
+                case NDJSON -> writeNdjson(base, from, to, output);
+            };
+            log.info("Exported {} rates for base currency: {} between {} and {}", exported, base, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write exchange rates export", e);
+        }
+    }
+
+    private long writeCsv(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final OutputStream output) throws IOException {
+
+        final AtomicLong count = new AtomicLong();
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+
+        exchangeRateSnapshotRepository.streamRatesByBaseCurrencyAndDateBetween(base, from, to, exchangeRate -> {
+            try {
+                writer.write(exchangeRate.getDate().toString());
+                writer.write(',');
+                writer.write(exchangeRate.getBaseCurrency());
+                writer.write(',');
+                writer.write(exchangeRate.getTargetCurrency());
+                writer.write(',');
+                writer.write(exchangeRate.getRate().toPlainString());
+                writer.write('\n');
+                count.incrementAndGet();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+        return count.get();
+    }
+
+    private long writeNdjson(
+        final String base,
+        final LocalDate from,
+        final LocalDate to,
+        final OutputStream output) throws IOException {
+
+        final AtomicLong count = new AtomicLong();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            exchangeRateSnapshotRepository.streamRatesByBaseCurrencyAndDateBetween(base, from, to, exchangeRate -> {
+                try {
+                    writeJsonRow(generator, exchangeRate);
+                    count.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (count.get() > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count.get();
+    }
+
+    private static void writeJsonRow(final JsonGenerator generator, final ExchangeRate exchangeRate)
+        throws IOException {
+
+        generator.writeStartObject();
+        generator.writeStringField("date", exchangeRate.getDate().toString());
+        generator.writeStringField("base", exchangeRate.getBaseCurrency());
+        generator.writeStringField("currency", exchangeRate.getTargetCurrency());
+        generator.writeNumberField("rate", exchangeRate.getRate());
+        generator.writeEndObject();
+    }
+}
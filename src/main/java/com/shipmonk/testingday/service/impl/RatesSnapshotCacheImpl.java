@@ -0,0 +1,73 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.service.RatesCacheProperties;
+import com.shipmonk.testingday.service.RatesSnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caffeine backed implementation of {@link RatesSnapshotCache}.
+ *
+ * @author Radovan Šinko
+ */
+@EnableConfigurationProperties(RatesCacheProperties.class)
+@Service
+@Slf4j
+public class RatesSnapshotCacheImpl implements RatesSnapshotCache {
+
+    private static final String CACHE_NAME = "historicalRates";
+
+    private final Cache<SnapshotKey, ExchangeRatesDto> cache;
+
+    /**
+     * Creates the cache bounded by the configured maximum size and binds its statistics to the meter registry.
+     *
+     * @param properties    the cache configuration properties
+     * @param meterRegistry the meter registry
+     */
+    public RatesSnapshotCacheImpl(final RatesCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<ExchangeRatesDto> get(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return Optional.ofNullable(cache.getIfPresent(new SnapshotKey(base, date)));
+    }
+
+    @Override
+    public ExchangeRatesDto put(final ExchangeRatesDto rates) {
+        Assert.notNull(rates, "Rates cannot be null");
+
+        cache.put(new SnapshotKey(rates.getBase(), rates.getDate()), rates);
+        log.debug("Cached snapshot in memory for base currency: {} on date: {}", rates.getBase(), rates.getDate());
+        return rates;
+    }
+
+    @Override
+    public Stats stats() {
+        final CacheStats stats = cache.stats();
+        return new Stats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    private record SnapshotKey(String base, LocalDate date) {
+    }
+}
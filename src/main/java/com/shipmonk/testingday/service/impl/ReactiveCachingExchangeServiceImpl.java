@@ -0,0 +1,347 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.service.ExchangeRatesMeters;
+import com.shipmonk.testingday.service.LatestRatesCache;
+import com.shipmonk.testingday.service.RatesSnapshotCache;
+import com.shipmonk.testingday.service.ReactiveCachingExchangeService;
+import com.shipmonk.testingday.service.ReactiveExchangeRatesStore;
+import com.shipmonk.testingday.service.ReactiveExchangeService;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveCachingExchangeService} with the caching logic of
+ * {@link CachingExchangeServiceImpl} on non-blocking calls of the database and external API.
+ * Rebasing, selection of currencies and meters are shared with the blocking service.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@EnableConfigurationProperties(ExchangeRatesProperties.class)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCachingExchangeServiceImpl implements ReactiveCachingExchangeService {
+
+    private final ReactiveExchangeRatesStore reactiveExchangeRatesStore;
+
+    private final ReactiveExchangeService reactiveFixerExchangeService;
+
+    private final ExchangeRatesProperties exchangeRatesProperties;
+
+    private final CachingExchangeSupport cachingExchangeSupport;
+
+    private final RatesSnapshotCache ratesSnapshotCache;
+
+    private final LatestRatesCache latestRatesCache;
+
+    private final ExchangeRatesMeters exchangeRatesMeters;
+
+    private final ReactiveSingleFlight<SnapshotKey, ExchangeRatesDto> ratesForDateFlight = new ReactiveSingleFlight<>();
+
+    private final ReactiveSingleFlight<String, ExchangeRatesDto> latestRatesFlight = new ReactiveSingleFlight<>();
+
+    private final ReactiveSingleFlight<RangeKey, List<ExchangeRatesDto>> ratesForRangeFlight =
+        new ReactiveSingleFlight<>();
+
+    @Override
+    public Mono<ExchangeRatesDto> getLatestRates(final String requestedBase) {
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+
+        return timed(ExchangeRatesMeters.Operation.LATEST, requestedBase,
+            getCanonicalLatestRates().map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase)),
+            cachingExchangeSupport::isStale);
+    }
+
+    /**
+     * Get latest rates of the configured base currency, the only base currency fetched from external API.
+     *
+     * @return Latest rates of the configured base currency, possibly stale.
+     */
+    private Mono<ExchangeRatesDto> getCanonicalLatestRates() {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        return Mono.defer(() -> {
+            final ExchangeRatesDto cachedRates = latestRatesCache.get(base).orElse(null);
+            if (cachedRates != null) {
+                exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+                return Mono.just(cachedRates);
+            }
+            return latestRatesFlight.execute(base, () -> latestRatesCache.get(base)
+                .map(Mono::just)
+                .orElseGet(() -> fetchAndCacheLatestRates(base)));
+        }).onErrorResume(cachingExchangeSupport::isUpstreamUnavailable, e ->
+            Mono.justOrEmpty(latestRatesCache.getStale(base))
+                .switchIfEmpty(reactiveExchangeRatesStore.findLatest(base))
+                .map(staleRates -> {
+                    log.warn("Failed to fetch latest rates for base currency: {}, serving stale rates of date: {}",
+                        base, staleRates.getDate(), e);
+                    return cachingExchangeSupport.toStale(staleRates);
+                })
+                .switchIfEmpty(Mono.error(e)));
+    }
+
+    private Mono<ExchangeRatesDto> fetchAndCacheLatestRates(final String base) {
+        log.debug("Fetching latest rates for base currency: {} from external API", base);
+        return reactiveFixerExchangeService.getLatestRates(base)
+            .doOnNext(rates -> exchangeRatesMeters.countFetched(base, List.of(rates)))
+            .map(latestRatesCache::put);
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> getRatesForDate(final String requestedBase, final LocalDate date) {
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return timed(ExchangeRatesMeters.Operation.DATE, requestedBase,
+            getCanonicalRatesForDate(date).map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase)),
+            cachingExchangeSupport::isStale);
+    }
+
+    private Mono<ExchangeRatesDto> getCanonicalRatesForDate(final LocalDate date) {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        return Mono.defer(() -> {
+            final ExchangeRatesDto inMemoryRates = ratesSnapshotCache.get(base, date).orElse(null);
+            if (inMemoryRates != null) {
+                exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+                log.debug("Found in-memory rates for configured base currency: {} on date: {}", base, date);
+                return Mono.just(inMemoryRates);
+            }
+
+            // Concurrent misses for the same snapshot share a single database lookup, upstream fetch and persist
+            return ratesForDateFlight.execute(new SnapshotKey(base, date), () -> loadRatesForDate(base, date));
+        });
+    }
+
+    private Mono<ExchangeRatesDto> loadRatesForDate(final String base, final LocalDate date) {
+        final ExchangeRatesDto inMemoryRates = ratesSnapshotCache.get(base, date).orElse(null);
+        if (inMemoryRates != null) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, 1);
+            return Mono.just(inMemoryRates);
+        }
+
+        return reactiveExchangeRatesStore.find(base, date)
+            .map(storedRates -> {
+                exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.DB, 1);
+                log.debug("Found cached rates for configured base currency: {} on date: {}", base, date);
+                return ratesSnapshotCache.put(storedRates);
+            })
+            .switchIfEmpty(Mono.defer(() -> {
+                log.info("No cached rates found for configured base currency: {} on date: {}, "
+                    + "fetching from external API", base, date);
+                return fetchAndCacheRatesForDate(base, date);
+            }));
+    }
+
+    private Mono<ExchangeRatesDto> fetchAndCacheRatesForDate(final String base, final LocalDate date) {
+        return reactiveFixerExchangeService.getRatesForDate(base, date)
+            .doOnNext(rates -> exchangeRatesMeters.countFetched(base, List.of(rates)))
+            .flatMap(rates -> reactiveExchangeRatesStore.saveAll(List.of(rates)).thenReturn(rates))
+            .map(ratesSnapshotCache::put);
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> getRatesForDate(
+        final String requestedBase,
+        final LocalDate date,
+        final Collection<String> currencies) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(currencies, "Currencies cannot be null");
+
+        final Mono<ExchangeRatesDto> rates = date.isBefore(LocalDate.now(ZoneOffset.UTC))
+            ? getCanonicalRatesForDate(date)
+            : getCanonicalLatestRates();
+        return timed(ExchangeRatesMeters.Operation.DATE, requestedBase,
+            rates.map(canonicalRates ->
+                cachingExchangeSupport.toRequestedBase(canonicalRates, requestedBase, currencies)),
+            cachingExchangeSupport::isStale);
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> getRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        cachingExchangeSupport.assertRange(from, to);
+
+        return timed(ExchangeRatesMeters.Operation.RANGE, requestedBase,
+            getCanonicalRatesForRange(from, to)
+                .map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase))
+                .collectList(),
+            cachingExchangeSupport::isAnyStale)
+            .flatMapIterable(rates -> rates);
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> getRatesForRange(
+        final String requestedBase,
+        final LocalDate from,
+        final LocalDate to,
+        final Collection<String> currencies) {
+
+        Assert.hasText(requestedBase, "Requested base currency cannot be null or empty");
+        Assert.notNull(currencies, "Currencies cannot be null");
+        cachingExchangeSupport.assertRange(from, to);
+
+        return timed(ExchangeRatesMeters.Operation.RANGE, requestedBase,
+            getCanonicalRatesForRange(from, to)
+                .map(rates -> cachingExchangeSupport.toRequestedBase(rates, requestedBase, currencies))
+                .collectList(),
+            cachingExchangeSupport::isAnyStale)
+            .flatMapIterable(rates -> rates);
+    }
+
+    private Flux<ExchangeRatesDto> getCanonicalRatesForRange(final LocalDate from, final LocalDate to) {
+        final String base = exchangeRatesProperties.getBaseCurrency();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        final LocalDate historicalTo = to.isBefore(today) ? to : today.minusDays(1);
+        final Flux<ExchangeRatesDto> historicalRates = from.isAfter(historicalTo)
+            ? Flux.empty()
+            : getHistoricalRatesForRange(base, from, historicalTo)
+                .flatMapIterable(ratesByDate -> new TreeMap<>(ratesByDate).values());
+        // Today's rates still change, they are served as latest rates and never stored
+        final Flux<ExchangeRatesDto> latestRates = to.isBefore(today) ? Flux.empty() : getCanonicalLatestRates().flux();
+
+        // Both are resolved concurrently, the latest rates follow the historical ones
+        return Flux.mergeSequential(historicalRates, latestRates);
+    }
+
+    private Mono<Map<LocalDate, ExchangeRatesDto>> getHistoricalRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to) {
+
+        return Mono.defer(() -> {
+            final Map<LocalDate, ExchangeRatesDto> ratesByDate = new HashMap<>();
+            final List<LocalDate> notInMemory = new ArrayList<>();
+            from.datesUntil(to.plusDays(1)).forEach(date -> ratesSnapshotCache.get(base, date)
+                .ifPresentOrElse(rates -> ratesByDate.put(date, rates), () -> notInMemory.add(date)));
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, ratesByDate.size());
+
+            if (notInMemory.isEmpty()) {
+                return Mono.just(ratesByDate);
+            }
+
+            final int inMemory = ratesByDate.size();
+            return reactiveExchangeRatesStore.findBetween(
+                    base, notInMemory.get(0), notInMemory.get(notInMemory.size() - 1))
+                .doOnNext(storedRates -> ratesByDate.computeIfAbsent(
+                    storedRates.getDate(), key -> ratesSnapshotCache.put(storedRates)))
+                .then(Mono.defer(() -> {
+                    exchangeRatesMeters.countSnapshots(
+                        base, ExchangeRatesMeters.Source.DB, ratesByDate.size() - inMemory);
+                    final List<LocalDate> missing = notInMemory.stream()
+                        .filter(date -> !ratesByDate.containsKey(date))
+                        .toList();
+                    if (missing.isEmpty()) {
+                        return Mono.just(ratesByDate);
+                    }
+
+                    log.info("No cached rates found for configured base currency: {} on {} dates between {} and {}, "
+                        + "fetching from external API", base, missing.size(), from, to);
+                    return fetchAndCacheRatesForGaps(base, missing)
+                        .doOnNext(rates -> ratesByDate.put(rates.getDate(), rates))
+                        .then(Mono.just(ratesByDate));
+                }));
+        });
+    }
+
+    private Flux<ExchangeRatesDto> fetchAndCacheRatesForGaps(final String base, final List<LocalDate> missing) {
+        // Concurrent misses for the same gap share a single upstream fetch and persist
+        return Flux.fromIterable(cachingExchangeSupport.toContiguousGaps(missing))
+            .concatMap(gap -> {
+                final LocalDate gapFrom = gap.get(0);
+                final LocalDate gapTo = gap.get(gap.size() - 1);
+                return ratesForRangeFlight.execute(new RangeKey(base, gapFrom, gapTo),
+                    () -> loadRatesForRange(base, gapFrom, gapTo));
+            })
+            .flatMapIterable(rates -> rates);
+    }
+
+    private Mono<List<ExchangeRatesDto>> loadRatesForRange(
+        final String base,
+        final LocalDate from,
+        final LocalDate to) {
+
+        // The gap may have been loaded by a flight which completed since the in-memory lookup
+        final List<ExchangeRatesDto> inMemoryRates = from.datesUntil(to.plusDays(1))
+            .map(date -> ratesSnapshotCache.get(base, date))
+            .flatMap(Optional::stream)
+            .toList();
+        if (inMemoryRates.size() > ChronoUnit.DAYS.between(from, to)) {
+            exchangeRatesMeters.countSnapshots(base, ExchangeRatesMeters.Source.MEMORY, inMemoryRates.size());
+            return Mono.just(inMemoryRates);
+        }
+
+        return reactiveFixerExchangeService.getRatesForRange(base, from, to)
+            .collectList()
+            .flatMap(fetchedRates -> {
+                exchangeRatesMeters.countFetched(base, fetchedRates);
+                return reactiveExchangeRatesStore.saveAll(fetchedRates).thenReturn(fetchedRates);
+            })
+            .map(fetchedRates -> fetchedRates.stream()
+                .map(ratesSnapshotCache::put)
+                .toList());
+    }
+
+    /**
+     * Time a request by its operation, requested base currency and outcome.
+     * The timer starts on subscription, a cancelled request is not recorded.
+     *
+     * @param operation     the requested operation
+     * @param requestedBase the requested base currency
+     * @param request       the request to time
+     * @param isStale       tells whether the result is stale
+     * @param <T>           the result type
+     * @return the result of the request
+     */
+    private <T> Mono<T> timed(
+        final ExchangeRatesMeters.Operation operation,
+        final String requestedBase,
+        final Mono<T> request,
+        final Predicate<T> isStale) {
+
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start();
+            return request
+                .doOnSuccess(result -> sample.stop(exchangeRatesMeters.requestTimer(operation, requestedBase,
+                    result != null && isStale.test(result)
+                        ? ExchangeRatesMeters.Outcome.STALE
+                        : ExchangeRatesMeters.Outcome.SUCCESS)))
+                .doOnError(e -> sample.stop(
+                    exchangeRatesMeters.requestTimer(operation, requestedBase, ExchangeRatesMeters.Outcome.ERROR)));
+        });
+    }
+
+    private record SnapshotKey(String base, LocalDate date) {
+    }
+
+    private record RangeKey(String base, LocalDate from, LocalDate to) {
+    }
+}
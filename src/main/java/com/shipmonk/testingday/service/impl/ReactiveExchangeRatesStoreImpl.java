@@ -0,0 +1,142 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.ReactiveExchangeRatesStore;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveExchangeRatesStore} on R2DBC, backed by the packed snapshot table.
+ * Rates are exchanged with the database as JSON text, packed into JSONB by the database.
+ *
+ * @author Radovan Šinko
+ */
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExchangeRatesStoreImpl implements ReactiveExchangeRatesStore {
+
+    private static final String SELECT_SQL =
+        "SELECT base_currency, date, CAST(rates AS text) AS rates FROM exchange_rate_snapshots ";
+
+    private static final String FIND_SQL = SELECT_SQL + "WHERE base_currency = :base AND date = :date";
+
+    private static final String FIND_LATEST_SQL = SELECT_SQL + "WHERE base_currency = :base ORDER BY date DESC LIMIT 1";
+
+    private static final String FIND_BETWEEN_SQL =
+        SELECT_SQL + "WHERE base_currency = :base AND date BETWEEN :from AND :to ORDER BY date";
+
+    private static final String UPSERT_SQL = "INSERT INTO exchange_rate_snapshots (base_currency, date, rates) VALUES ";
+
+    private static final String UPSERT_CONFLICT_SQL = " ON CONFLICT (base_currency, date) DO NOTHING";
+
+    private final DatabaseClient databaseClient;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<ExchangeRatesDto> find(final String base, final LocalDate date) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(date, "Date cannot be null");
+
+        return databaseClient.sql(FIND_SQL)
+            .bind("base", base)
+            .bind("date", date)
+            .map(this::toExchangeRatesDto)
+            .one();
+    }
+
+    @Override
+    public Mono<ExchangeRatesDto> findLatest(final String base) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+
+        return databaseClient.sql(FIND_LATEST_SQL)
+            .bind("base", base)
+            .map(this::toExchangeRatesDto)
+            .one();
+    }
+
+    @Override
+    public Flux<ExchangeRatesDto> findBetween(final String base, final LocalDate from, final LocalDate to) {
+        Assert.hasText(base, "Base currency cannot be null or empty");
+        Assert.notNull(from, "From date cannot be null");
+        Assert.notNull(to, "To date cannot be null");
+
+        return databaseClient.sql(FIND_BETWEEN_SQL)
+            .bind("base", base)
+            .bind("from", from)
+            .bind("to", to)
+            .map(this::toExchangeRatesDto)
+            .all();
+    }
+
+    @Override
+    public Mono<Void> saveAll(final List<ExchangeRatesDto> snapshots) {
+        Assert.notNull(snapshots, "Snapshots cannot be null");
+        if (snapshots.isEmpty()) {
+            return Mono.empty();
+        }
+
+        final StringBuilder sql = new StringBuilder(UPSERT_SQL);
+        for (int i = 0; i < snapshots.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:base").append(i).append(", :date").append(i).append(", CAST(:rates").append(i)
+                .append(" AS jsonb))");
+        }
+        sql.append(UPSERT_CONFLICT_SQL);
+
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql.toString());
+        for (int i = 0; i < snapshots.size(); i++) {
+            final ExchangeRatesDto rates = snapshots.get(i);
+            statement = statement
+                .bind("base" + i, rates.getBase())
+                .bind("date" + i, rates.getDate())
+                .bind("rates" + i, toJson(rates));
+        }
+        return statement.fetch()
+            .rowsUpdated()
+            .doOnNext(stored -> log.debug("Stored {} of {} snapshots for base currency: {}",
+                stored, snapshots.size(), snapshots.get(0).getBase()))
+            .then();
+    }
+
+    private ExchangeRatesDto toExchangeRatesDto(final Readable row) {
+        final String base = row.get("base_currency", String.class);
+        final LocalDate date = row.get("date", LocalDate.class);
+        final String json = row.get("rates", String.class);
+        try {
+            return ExchangeRatesDto.builder()
+                .base(base)
+                .date(date)
+                .rates(objectMapper.readValue(json, RateSnapshot.class))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize rates of snapshot for base currency: "
+                + base + " on date: " + date, e);
+        }
+    }
+
+    private String toJson(final ExchangeRatesDto rates) {
+        try {
+            return objectMapper.writeValueAsString(rates.getRates());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize rates of snapshot for base currency: "
+                + rates.getBase() + " on date: " + rates.getDate(), e);
+        }
+    }
+}
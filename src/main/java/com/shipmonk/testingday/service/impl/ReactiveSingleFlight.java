@@ -0,0 +1,72 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Coalesces concurrent loads of the same key into a single subscription, the non-blocking
+ * counterpart of {@link SingleFlight}.
+ * The first subscriber for a key subscribes the loader, subscribers arriving while it is in flight
+ * share its result (or its error) without waiting on a thread. The load is not cancelled when its
+ * subscribers cancel, so that its result is still cached. Once the load completes the key is released.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Radovan Šinko
+ */
+public final class ReactiveSingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribe the loader for the given key, unless a load of the same key is already in flight,
+     * in which case share the result of that load.
+     *
+     * @param key    the key to coalesce on
+     * @param loader the loader to subscribe when no load is in flight
+     * @return the loaded value
+     */
+    public Mono<V> execute(final K key, final Supplier<Mono<V>> loader) {
+        Assert.notNull(key, "Key cannot be null");
+        Assert.notNull(loader, "Loader cannot be null");
+
+        return Mono.defer(() -> {
+            final Sinks.One<V> result = Sinks.one();
+            final Mono<V> shared = result.asMono();
+            final Mono<V> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                return existing;
+            }
+
+            Mono.defer(loader).subscribe(
+                value -> {
+                    inFlight.remove(key, shared);
+                    result.tryEmitValue(value);
+                },
+                e -> {
+                    inFlight.remove(key, shared);
+                    result.tryEmitError(e);
+                },
+                () -> {
+                    inFlight.remove(key, shared);
+                    result.tryEmitEmpty();
+                });
+            return shared;
+        });
+    }
+
+    /**
+     * Get the number of keys currently being loaded.
+     *
+     * @return number of in-flight loads
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
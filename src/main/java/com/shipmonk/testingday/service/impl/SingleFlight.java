@@ -0,0 +1,67 @@
+package com.shipmonk.testingday.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces concurrent loads of the same key into a single execution.
+ * The first caller for a key runs the loader, callers arriving while it is in flight wait for
+ * and share its result (or its exception). Once the load completes the key is released.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Radovan Šinko
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Execute the loader for the given key, unless a load of the same key is already in flight,
+     * in which case wait for that load and return its result.
+     *
+     * @param key    the key to coalesce on
+     * @param loader the loader to run when no load is in flight
+     * @return the loaded value
+     */
+    public V execute(final K key, final Supplier<V> loader) {
+        Assert.notNull(key, "Key cannot be null");
+        Assert.notNull(loader, "Loader cannot be null");
+
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            final V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Remove duplicate rates written by racing cache misses, keeping the first stored row
+DELETE FROM exchange_rates duplicate
+    USING exchange_rates original
+WHERE duplicate.date = original.date
+    AND duplicate.base_currency = original.base_currency
+    AND duplicate.target_currency = original.target_currency
+    AND duplicate.id > original.id;
+
+-- Constraints
+ALTER TABLE exchange_rates
+    ADD CONSTRAINT uq_exchange_rates_date_base_target UNIQUE (date, base_currency, target_currency);
@@ -0,0 +1,19 @@
+-- Create the exchange_rate_snapshots table storing each snapshot (base currency and date) as a single row
+-- with all rates packed into a JSONB object keyed by target currency
+CREATE TABLE exchange_rate_snapshots (
+    base_currency VARCHAR(3) NOT NULL,
+    date DATE NOT NULL,
+    rates JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_exchange_rate_snapshots PRIMARY KEY (base_currency, date)
+);
+
+-- Constraints
+ALTER TABLE exchange_rate_snapshots ADD CONSTRAINT chk_exchange_rate_snapshots_rates_object
+    CHECK (jsonb_typeof(rates) = 'object');
+
+-- Migrate snapshots stored as one row per rate, the exchange_rates table is kept for rollback
+INSERT INTO exchange_rate_snapshots (base_currency, date, rates, created_at)
+SELECT base_currency, date, jsonb_object_agg(target_currency, rate), MIN(created_at)
+FROM exchange_rates
+GROUP BY base_currency, date;
@@ -0,0 +1,11 @@
+-- Create the api_key_usage table counting calls of each external API key per month,
+-- keys are identified by a hash so that they are not stored
+CREATE TABLE api_key_usage (
+    key_id VARCHAR(16) NOT NULL,
+    month DATE NOT NULL,
+    calls BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_api_key_usage PRIMARY KEY (key_id, month)
+);
+
+-- Constraints
+ALTER TABLE api_key_usage ADD CONSTRAINT chk_api_key_usage_calls_non_negative CHECK (calls >= 0);
@@ -0,0 +1,20 @@
+-- Create the backfill_jobs table tracking jobs preloading historical exchange rates,
+-- next_date is the checkpoint: all dates of the range before it are stored
+CREATE TABLE backfill_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    base_currency VARCHAR(3) NOT NULL,
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    next_date DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    fetched_days INTEGER NOT NULL DEFAULT 0,
+    error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Indexes
+CREATE INDEX idx_backfill_jobs_status ON backfill_jobs(status);
+
+-- Constraints
+ALTER TABLE backfill_jobs ADD CONSTRAINT chk_backfill_jobs_range CHECK (from_date <= to_date);
@@ -0,0 +1,7 @@
+-- Pack snapshots written one row per rate after V3, e.g. by nodes running the previous version during
+-- the rolling deployment, as snapshots are no longer read from the exchange_rates table
+INSERT INTO exchange_rate_snapshots (base_currency, date, rates, created_at)
+SELECT base_currency, date, jsonb_object_agg(target_currency, rate), MIN(created_at)
+FROM exchange_rates
+GROUP BY base_currency, date
+ON CONFLICT (base_currency, date) DO NOTHING;
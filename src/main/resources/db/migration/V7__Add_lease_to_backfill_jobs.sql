@@ -0,0 +1,7 @@
+-- Lease of backfill jobs, a job is run only by the node owning its lease and taken over by another node
+-- once the lease expires, e.g. after the owning node stopped
+ALTER TABLE backfill_jobs ADD COLUMN owner VARCHAR(36);
+ALTER TABLE backfill_jobs ADD COLUMN lease_until TIMESTAMP;
+
+-- Indexes
+CREATE INDEX idx_backfill_jobs_lease_until ON backfill_jobs(lease_until);
@@ -0,0 +1,50 @@
+package com.shipmonk.testingday.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AcceptEncodingTest {
+
+    @Test
+    void testGzipAcceptedWhenListed() {
+        // When & Then: Gzip listed without or with a positive quality value is accepted
+        assertTrue(AcceptEncoding.acceptsGzip("gzip"));
+        assertTrue(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        assertTrue(AcceptEncoding.acceptsGzip("x-gzip"));
+    }
+
+    @Test
+    void testGzipRejectedWithZeroQuality() {
+        // When & Then: Gzip listed with a zero quality value is refused, even if the wildcard accepts any coding
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip; q=0.000, identity"));
+        assertFalse(AcceptEncoding.acceptsGzip("*, gzip;q=0"));
+    }
+
+    @Test
+    void testGzipAcceptedByWildcard() {
+        // When & Then: Gzip not listed is accepted by the wildcard with a positive quality value
+        assertTrue(AcceptEncoding.acceptsGzip("*"));
+        assertTrue(AcceptEncoding.acceptsGzip("br, *;q=0.1"));
+        assertFalse(AcceptEncoding.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void testGzipRejectedWhenNotListed() {
+        // When & Then: Gzip neither listed nor matched by the wildcard is not accepted
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+        assertFalse(AcceptEncoding.acceptsGzip(""));
+        assertFalse(AcceptEncoding.acceptsGzip("identity"));
+        assertFalse(AcceptEncoding.acceptsGzip("br, deflate"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzipped"));
+    }
+
+    @Test
+    void testGzipRejectedWithMalformedQuality() {
+        // When & Then: Gzip with a malformed quality value is not accepted
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=high"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=2"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.shipmonk.testingday.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+class DateValidatorTest {
+
+    // Already January 1st in the time zone of the clock, still December 31st in UTC
+    private final DateValidator dateValidator = new DateValidator(
+        Clock.fixed(Instant.parse("2024-12-31T23:30:00Z"), ZoneId.of("Europe/Prague")));
+
+    @Test
+    void testTodayIsTheCurrentDateInUtc() {
+        // When & Then: The current date in UTC is valid and the next date is in the future
+        assertEquals(LocalDate.of(2024, 12, 31), dateValidator.validateDate("2024-12-31"));
+        final InvalidRequestException exception =
+            assertThrows(InvalidRequestException.class, () -> dateValidator.validateDate("2025-01-01"));
+        assertEquals("Cannot request rates for future dates", exception.getMessage());
+    }
+
+    @Test
+    void testPastDateIsBeforeTodayInUtc() {
+        // When & Then: Only dates before the current date in UTC are past dates
+        assertEquals(LocalDate.of(2024, 12, 30), dateValidator.validatePastDate("2024-12-30"));
+        final InvalidRequestException exception =
+            assertThrows(InvalidRequestException.class, () -> dateValidator.validatePastDate("2024-12-31"));
+        assertEquals("Date must be before today", exception.getMessage());
+    }
+}
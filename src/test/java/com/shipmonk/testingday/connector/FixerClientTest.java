@@ -0,0 +1,296 @@
+package com.shipmonk.testingday.connector;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClient;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientProperties;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.impl.FixerClientImpl;
+import com.shipmonk.testingday.connector.exchangerates.fixer.config.FixerClientConfig;
+import com.shipmonk.testingday.connector.exchangerates.fixer.dto.ExchangeRatesResponse;
+import com.shipmonk.testingday.connector.exchangerates.fixer.quota.FixerQuotaManager;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FixerClientTest {
+
+    private static final String API_KEY = "test-api-key";
+
+    private static final String EXHAUSTED_API_KEY = "exhausted-api-key";
+
+    private static final String BASE = "EUR";
+
+    private static final LocalDate DATE = LocalDate.of(2024, 12, 24);
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final FixerClientConfig fixerClientConfig = new FixerClientConfig();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FixerQuotaManager fixerQuotaManager = mock(FixerQuotaManager.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private WireMockServer wireMockServer;
+
+    private FixerClientProperties properties;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+            .dynamicPort()
+            .usingFilesUnderDirectory("src/test/resources"));
+        wireMockServer.start();
+
+        properties = new FixerClientProperties();
+        properties.setUrl(wireMockServer.baseUrl());
+        properties.setApiKey(API_KEY);
+        properties.setConnectTimeout(Duration.ofSeconds(1));
+        properties.setReadTimeout(Duration.ofMillis(500));
+        properties.setConnectionRequestTimeout(Duration.ofMillis(200));
+        properties.setKeepAlive(Duration.ofSeconds(30));
+        properties.setMaxConnections(1);
+        properties.setMaxConnectionsPerRoute(1);
+        properties.getRetry().setMaxAttempts(1);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(10));
+        properties.getRetry().setBackoffMultiplier(1);
+        properties.getCircuitBreaker().setSlidingWindowSize(10);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(10);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        properties.getCircuitBreaker().setPermittedNumberOfCallsInHalfOpenState(1);
+
+        when(fixerQuotaManager.acquire()).thenReturn(API_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testSlowResponseFailsOnReadTimeout() {
+        // Given: Fixer responding later than the read timeout
+        stubHistorical(2000);
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final long start = System.nanoTime();
+        final SystemApiServerException exception =
+            assertThrows(SystemApiServerException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then: The call fails once the read timeout passes, without waiting for the response
+        assertEquals(SystemApiServerException.ServerErrorRequestType.INTERNAL_SERVER_ERROR,
+            exception.getServerErrorRequestType());
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1500)) < 0, "Call took " + elapsed);
+    }
+
+    @Test
+    void testResponseWithinReadTimeoutSucceeds() {
+        // Given: Fixer responding slowly, but within the read timeout
+        stubHistorical(200);
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final ExchangeRatesResponse response = fixerClient.getRatesForDate(BASE, DATE);
+
+        // Then: The rates are returned
+        assertEquals(DATE, response.getDate());
+    }
+
+    @Test
+    void testCallBeyondPoolSizeFailsOnConnectionRequestTimeout() throws Exception {
+        // Given: A pool of a single connection, leased by a slow call in progress
+        properties.setReadTimeout(Duration.ofSeconds(3));
+        stubHistorical(1000);
+        final FixerClient fixerClient = newFixerClient();
+        final Future<ExchangeRatesResponse> slowCall = executor.submit(() -> fixerClient.getRatesForDate(BASE, DATE));
+        awaitLeased(1);
+
+        // When: Another call is made while the connection is leased
+        final long start = System.nanoTime();
+        assertThrows(SystemApiServerException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then: The call fails after the connection request timeout, without reaching Fixer
+        assertTrue(elapsed.compareTo(Duration.ofMillis(900)) < 0, "Call took " + elapsed);
+        assertEquals(DATE, slowCall.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getDate());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/" + DATE)));
+    }
+
+    @Test
+    void testServerErrorIsRetried() {
+        // Given: Fixer failing with a server error
+        properties.getRetry().setMaxAttempts(3);
+        stubHistoricalStatus(503);
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final SystemApiServerException exception =
+            assertThrows(SystemApiServerException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+
+        // Then: The call is attempted up to the maximum number of attempts
+        assertEquals(SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE,
+            exception.getServerErrorRequestType());
+        wireMockServer.verify(3, getRequestedFor(urlPathEqualTo("/" + DATE)));
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+        // Given: Fixer rejecting the request
+        properties.getRetry().setMaxAttempts(3);
+        stubHistoricalStatus(400);
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final SystemApiClientException exception =
+            assertThrows(SystemApiClientException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+
+        // Then: The call is attempted once and does not count as a circuit breaker failure
+        assertEquals(SystemApiClientException.BadRequestType.INVALID_REQUEST, exception.getBadRequestType());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/" + DATE)));
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testServerErrorsTripCircuitBreaker() {
+        // Given: Fixer failing with server errors, enough of them to open the circuit breaker
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        stubHistoricalStatus(500);
+        final FixerClient fixerClient = newFixerClient();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(SystemApiServerException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+        }
+
+        // When: Rates are requested once the circuit breaker is open
+        final SystemApiServerException exception =
+            assertThrows(SystemApiServerException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+
+        // Then: The call is rejected without reaching Fixer
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("Remote service is unavailable", exception.getMessage());
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/" + DATE)));
+    }
+
+    @Test
+    void testTooManyRequestsIsRetriedWithoutExhaustingKey() {
+        // Given: Fixer throttling requests without reporting a reached usage limit
+        properties.getRetry().setMaxAttempts(3);
+        stubHistoricalStatus(429);
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final SystemApiClientException exception =
+            assertThrows(SystemApiClientException.class, () -> fixerClient.getRatesForDate(BASE, DATE));
+
+        // Then: The call is retried with backoff and the key stays usable
+        assertEquals(SystemApiClientException.BadRequestType.TOO_MANY_REQUESTS, exception.getBadRequestType());
+        wireMockServer.verify(3, getRequestedFor(urlPathEqualTo("/" + DATE)));
+        verify(fixerQuotaManager, never()).markExhausted(any());
+    }
+
+    @Test
+    void testUsageLimitReachedExhaustsKeyAndRotates() {
+        // Given: The first acquired key with its usage limit reached, reported with too many requests
+        when(fixerQuotaManager.acquire()).thenReturn(EXHAUSTED_API_KEY, API_KEY);
+        stubHistorical(0);
+        wireMockServer.stubFor(get(urlPathEqualTo("/" + DATE))
+            .withQueryParam("access_key", equalTo(EXHAUSTED_API_KEY))
+            .willReturn(aResponse()
+                .withStatus(429)
+                .withHeader("Content-Type", "application/json")
+                .withBodyFile("fixer-usage-limit-response.json")));
+        final FixerClient fixerClient = newFixerClient();
+
+        // When: Rates are requested
+        final ExchangeRatesResponse response = fixerClient.getRatesForDate(BASE, DATE);
+
+        // Then: The key is exhausted and the call is repeated with the next key
+        assertEquals(DATE, response.getDate());
+        verify(fixerQuotaManager).markExhausted(EXHAUSTED_API_KEY);
+        verify(fixerQuotaManager, never()).markExhausted(API_KEY);
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/" + DATE)));
+    }
+
+    private FixerClient newFixerClient() {
+        connectionManager = fixerClientConfig.fixerConnectionManager(properties, meterRegistry);
+        final RestClient restClient = RestClient.builder()
+            .baseUrl(properties.getUrl())
+            .requestFactory(new HttpComponentsClientHttpRequestFactory(
+                fixerClientConfig.fixerHttpClient(properties, connectionManager)))
+            .build();
+
+        circuitBreaker = fixerClientConfig.fixerCircuitBreaker(properties, meterRegistry);
+
+        return new FixerClientImpl(
+            restClient,
+            fixerQuotaManager,
+            fixerClientConfig.fixerRetry(properties, meterRegistry),
+            circuitBreaker,
+            meterRegistry);
+    }
+
+    private void stubHistorical(final int delayMillis) {
+        wireMockServer.stubFor(get(urlPathEqualTo("/" + DATE))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBodyFile("fixer-historical-response.json")
+                .withFixedDelay(delayMillis)));
+    }
+
+    private void stubHistoricalStatus(final int status) {
+        wireMockServer.stubFor(get(urlPathEqualTo("/" + DATE))
+            .willReturn(aResponse().withStatus(status)));
+    }
+
+    private void awaitLeased(final int leased) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (connectionManager.getTotalStats().getLeased() < leased) {
+            assertTrue(System.nanoTime() < deadline, "Connection was not leased in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.shipmonk.testingday.connector.exchangerates.fixer.quota.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.fixer.client.FixerClientProperties;
+import com.shipmonk.testingday.connector.exchangerates.fixer.quota.FixerQuotaManager;
+import com.shipmonk.testingday.repository.ApiKeyUsageRepository;
+import com.shipmonk.testingday.repository.entity.ApiKeyUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class FixerQuotaManagerTest {
+
+    private static final String FIRST_KEY = "first-api-key";
+
+    private static final String SECOND_KEY = "second-api-key";
+
+    private static final long MONTHLY_LIMIT = 3;
+
+    private static final LocalDate DECEMBER = LocalDate.of(2024, 12, 1);
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private ApiKeyUsageRepository apiKeyUsageRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-12-31T23:59:00Z"));
+
+    private FixerQuotaManager fixerQuotaManager;
+
+    @BeforeEach
+    void setUp() {
+        final FixerClientProperties properties = new FixerClientProperties();
+        properties.setApiKey(FIRST_KEY);
+        properties.setApiKeys(List.of(SECOND_KEY));
+        properties.getQuota().setMonthlyLimit(MONTHLY_LIMIT);
+        properties.getQuota().setBackgroundReserveRatio(0);
+
+        fixerQuotaManager =
+            new FixerQuotaManagerImpl(properties, apiKeyUsageRepository, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void testCallsAreSpreadAcrossKeys() {
+        // Given: The first key partly used up in the database
+        when(apiKeyUsageRepository.findByMonth(DECEMBER))
+            .thenReturn(List.of(new ApiKeyUsage(toKeyId(FIRST_KEY), DECEMBER, 2)));
+
+        // When: Keys are acquired
+        final String first = fixerQuotaManager.acquire();
+        final String second = fixerQuotaManager.acquire();
+        final String third = fixerQuotaManager.acquire();
+
+        // Then: The key with the most remaining calls is acquired each time
+        assertEquals(SECOND_KEY, first);
+        assertEquals(SECOND_KEY, second);
+        assertEquals(FIRST_KEY, third);
+        assertEquals(1, fixerQuotaManager.getUsage().remaining());
+    }
+
+    @Test
+    void testAcquireDoesNotWaitForDatabase() {
+        // Given: Usage of the month loaded
+        fixerQuotaManager.acquire();
+
+        // When: Further keys are acquired
+        fixerQuotaManager.acquire();
+        fixerQuotaManager.acquire();
+
+        // Then: The usage is loaded once and no calls are stored until flushed
+        verify(apiKeyUsageRepository).findByMonth(DECEMBER);
+        verifyNoMoreInteractions(apiKeyUsageRepository);
+    }
+
+    @Test
+    void testFlushStoresCountedCallsInBatch() {
+        // Given: Calls counted against both keys
+        for (int i = 0; i < 4; i++) {
+            fixerQuotaManager.acquire();
+        }
+
+        // When: Calls are flushed twice
+        fixerQuotaManager.flush();
+        fixerQuotaManager.flush();
+
+        // Then: The calls of each key are stored once in a single batch
+        verify(apiKeyUsageRepository).addCalls(toKeyId(FIRST_KEY), DECEMBER, 2);
+        verify(apiKeyUsageRepository).addCalls(toKeyId(SECOND_KEY), DECEMBER, 2);
+    }
+
+    @Test
+    void testFailedFlushIsRepeated() {
+        // Given: A call counted and the database failing on its first flush
+        fixerQuotaManager.acquire();
+        doThrow(new QueryTimeoutException("Query timed out")).doReturn(1L)
+            .when(apiKeyUsageRepository).addCalls(toKeyId(FIRST_KEY), DECEMBER, 1);
+        fixerQuotaManager.flush();
+
+        // When: Calls are flushed again
+        fixerQuotaManager.flush();
+        fixerQuotaManager.flush();
+
+        // Then: The call not stored is kept for the next flush and still counted
+        verify(apiKeyUsageRepository, times(2)).addCalls(toKeyId(FIRST_KEY), DECEMBER, 1);
+        assertEquals(2 * MONTHLY_LIMIT - 1, fixerQuotaManager.getUsage().remaining());
+    }
+
+    @Test
+    void testFlushSyncsCallsOfOtherNodes() {
+        // Given: A call counted by this node, other nodes calling both keys meanwhile
+        fixerQuotaManager.acquire();
+        when(apiKeyUsageRepository.addCalls(toKeyId(FIRST_KEY), DECEMBER, 1)).thenReturn(2L);
+        when(apiKeyUsageRepository.findByMonth(DECEMBER))
+            .thenReturn(List.of(new ApiKeyUsage(toKeyId(SECOND_KEY), DECEMBER, MONTHLY_LIMIT)));
+
+        // When: Calls are flushed
+        fixerQuotaManager.flush();
+
+        // Then: The totals stored by all nodes are counted, the second key is used up
+        assertEquals(MONTHLY_LIMIT - 2, fixerQuotaManager.getUsage().remaining());
+        assertEquals(FIRST_KEY, fixerQuotaManager.acquire());
+        assertThrows(SystemApiClientException.class, () -> fixerQuotaManager.acquire());
+    }
+
+    @Test
+    void testExhaustedKeyIsSkipped() {
+        // Given: The first key reported as exhausted by Fixer
+        fixerQuotaManager.markExhausted(FIRST_KEY);
+
+        // When: Keys are acquired until none remains
+        for (int i = 0; i < MONTHLY_LIMIT; i++) {
+            assertEquals(SECOND_KEY, fixerQuotaManager.acquire());
+        }
+        final SystemApiClientException exception =
+            assertThrows(SystemApiClientException.class, () -> fixerQuotaManager.acquire());
+
+        // Then: Only the other key is used and the exhaustion is stored
+        assertEquals(SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED, exception.getBadRequestType());
+        verify(apiKeyUsageRepository).raiseCalls(toKeyId(FIRST_KEY), DECEMBER, MONTHLY_LIMIT);
+    }
+
+    @Test
+    void testUnknownKeyIsNotMarkedExhausted() {
+        // When: A key not in the pool is marked exhausted
+        fixerQuotaManager.markExhausted("unknown-api-key");
+
+        // Then: Nothing is stored and the pool stays usable
+        verify(apiKeyUsageRepository, never()).raiseCalls(anyString(), any(), anyLong());
+        assertEquals(2 * MONTHLY_LIMIT, fixerQuotaManager.getUsage().remaining());
+    }
+
+    @Test
+    void testNewMonthReloadsUsageAndFlushesPreviousMonth() {
+        // Given: All keys used up in December
+        for (int i = 0; i < 2 * MONTHLY_LIMIT; i++) {
+            fixerQuotaManager.acquire();
+        }
+        assertThrows(SystemApiClientException.class, () -> fixerQuotaManager.acquire());
+        when(apiKeyUsageRepository.findByMonth(JANUARY))
+            .thenReturn(List.of(new ApiKeyUsage(toKeyId(SECOND_KEY), JANUARY, 1)));
+
+        // When: A key is acquired once January starts
+        clock.advance(Duration.ofMinutes(1));
+        final String apiKey = fixerQuotaManager.acquire();
+
+        // Then: January usage is loaded from the database and December calls are stored in December
+        assertEquals(FIRST_KEY, apiKey);
+        assertEquals(JANUARY, fixerQuotaManager.getUsage().month().atDay(1));
+        assertEquals(2 * MONTHLY_LIMIT - 2, fixerQuotaManager.getUsage().remaining());
+        verify(apiKeyUsageRepository).addCalls(toKeyId(FIRST_KEY), DECEMBER, MONTHLY_LIMIT);
+        verify(apiKeyUsageRepository).addCalls(toKeyId(SECOND_KEY), DECEMBER, MONTHLY_LIMIT);
+    }
+
+    private static String toKeyId(final String apiKey) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash).substring(0, 16);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.shipmonk.testingday.controller;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Testcontainers
+@Transactional
+class BackfillControllerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // Override database properties with TestContainer values
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void shouldRejectBackfillUpToToday() throws Exception {
+        // When & Then: Start a backfill of a range ending today, whose rates can still change
+        mockMvc.perform(post("/api/v1/admin/backfill")
+                .param("from", LocalDate.now(ZoneOffset.UTC).minusDays(3).toString())
+                .param("to", LocalDate.now(ZoneOffset.UTC).toString()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("Date must be before today"));
+    }
+
+    @Test
+    void shouldRejectBackfillOverMaximumRange() throws Exception {
+        // When & Then: Start a backfill of a range longer than the maximum
+        mockMvc.perform(post("/api/v1/admin/backfill")
+                .param("from", "2000-01-01")
+                .param("to", "2024-12-31"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value(
+                startsWith("Date range cannot be longer than")));
+    }
+
+    @Test
+    void shouldNotFindResumeOfMissingJob() throws Exception {
+        // When & Then: Resume a job which does not exist
+        mockMvc.perform(post("/api/v1/admin/backfill/{id}/resume", 424242))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectResumeOfCompletedJob() throws Exception {
+        // Given: A completed job
+        final long id = insertJob("COMPLETED");
+
+        // When & Then: Resume the job, which is not paused nor failed
+        mockMvc.perform(post("/api/v1/admin/backfill/{id}/resume", id))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.errors[0]").value(
+                "Backfill job " + id + " is COMPLETED, only paused or failed jobs can be resumed"));
+    }
+
+    @Test
+    void shouldGetBackfillJob() throws Exception {
+        // Given: A completed job
+        final long id = insertJob("COMPLETED");
+
+        // When & Then: Get the job, and a job which does not exist
+        mockMvc.perform(get("/api/v1/admin/backfill/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id))
+            .andExpect(jsonPath("$.status").value("COMPLETED"));
+        mockMvc.perform(get("/api/v1/admin/backfill/{id}", 424242))
+            .andExpect(status().isNotFound());
+    }
+
+    private long insertJob(final String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO backfill_jobs "
+            + "(base_currency, from_date, to_date, next_date, status, fetched_days) "
+            + "VALUES ('USD', '2024-01-01', '2024-01-05', '2024-01-06', ?, 5) RETURNING id", Long.class, status);
+    }
+}
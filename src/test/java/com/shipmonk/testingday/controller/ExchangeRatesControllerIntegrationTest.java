@@ -1,13 +1,19 @@
 package com.shipmonk.testingday.controller;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.Collections;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +21,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -148,4 +156,212 @@ class ExchangeRatesControllerIntegrationTest {
             .andExpect(jsonPath("$.rates.CZK").value(20.955955))
             .andExpect(jsonPath("$.rates.PLN").value(3.644449));
     }
+
+    @Test
+    void shouldGetRatesForDateRange() throws Exception {
+        // Given: Date range which is not cached
+        final String from = "2024-12-20";
+        final String to = "2024-12-22";
+
+        // When & Then: Call the endpoint for the date range
+        mockMvc.perform(get("/api/v1/rates")
+                .param("from", from)
+                .param("to", to)
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].base").value("USD"))
+            .andExpect(jsonPath("$[0].date").value("2024-12-20"))
+            // Verify currency conversion from EUR to USD base for each day of the range
+            .andExpect(jsonPath("$[0].rates.CZK").value(24.120678))
+            .andExpect(jsonPath("$[0].rates.GBP").value(0.795429))
+            .andExpect(jsonPath("$[2].date").value("2024-12-22"))
+            .andExpect(jsonPath("$[2].rates.CZK").value(24.119672))
+            .andExpect(jsonPath("$[2].rates.EUR").value(0.95862));
+    }
+
+    @Test
+    void shouldReturnOnlySelectedSymbols() throws Exception {
+        // When & Then: Request only selected rates of a historical date
+        mockMvc.perform(get("/api/v1/rates/2024-12-24")
+                .param("symbols", "eur,CZK")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.base").value("USD"))
+            .andExpect(jsonPath("$.date").value("2024-12-24"))
+            .andExpect(jsonPath("$.rates.CZK").value(24.23865))
+            .andExpect(jsonPath("$.rates.EUR").value(0.961402))
+            .andExpect(jsonPath("$.rates.GBP").doesNotExist());
+    }
+
+    @Test
+    void shouldRebaseRatesToRequestedBaseCurrency() throws Exception {
+        // When & Then: Request historical rates in a base currency other than the configured one
+        mockMvc.perform(get("/api/v1/rates/2024-12-24")
+                .param("base", "eur")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.base").value("EUR"))
+            .andExpect(jsonPath("$.date").value("2024-12-24"))
+            // Verify rates derived from the stored USD based snapshot
+            .andExpect(jsonPath("$.rates.EUR").value(1))
+            .andExpect(jsonPath("$.rates.USD").value(1.040148))
+            .andExpect(jsonPath("$.rates.CZK").value(25.211774));
+    }
+
+    @Test
+    void shouldRejectUnknownBaseCurrency() throws Exception {
+        // When & Then: Request historical rates in a base currency missing in the snapshot
+        mockMvc.perform(get("/api/v1/rates/2024-12-24")
+                .param("base", "XYZ")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("Base currency XYZ is not supported"));
+    }
+
+    @Test
+    void shouldAnswerConditionalRequestForHistoricalDateWithNotModified() throws Exception {
+        // Given: Historical rates were served once
+        final MvcResult result = mockMvc.perform(get("/api/v1/rates/2024-12-24"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+            .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 25 Dec 2024 00:00:00 GMT"))
+            .andReturn();
+        final String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then: The same entity tag is validated without a body
+        mockMvc.perform(get("/api/v1/rates/2024-12-24")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldConvertAmountBetweenCurrencies() throws Exception {
+        // When & Then: Convert an amount using historical rates
+        mockMvc.perform(get("/api/v1/convert")
+                .param("from", "EUR")
+                .param("to", "CZK")
+                .param("amount", "100")
+                .param("date", "2024-12-24")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.from").value("EUR"))
+            .andExpect(jsonPath("$.to").value("CZK"))
+            .andExpect(jsonPath("$.date").value("2024-12-24"))
+            // Verify cross rate computed from the USD based rates
+            .andExpect(jsonPath("$.rate").value(25.211774))
+            .andExpect(jsonPath("$.result").value(2521.177405))
+            .andExpect(jsonPath("$.rates").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectConversionOfCurrencyWithoutRate() throws Exception {
+        // When & Then: Convert from a well-formed currency which has no rate on the date
+        mockMvc.perform(get("/api/v1/convert")
+                .param("from", "XXX")
+                .param("to", "EUR")
+                .param("amount", "1")
+                .param("date", "2024-12-24")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("No exchange rate found for currency XXX"));
+    }
+
+    @Test
+    void shouldConvertBatchOfAmounts() throws Exception {
+        // Given: Batch with items of the same date, one of them with an unknown currency
+        final String batch = """
+            {"items": [
+                {"amount": 100, "from": "EUR", "to": "CZK", "date": "2024-12-24"},
+                {"amount": 5, "from": "EUR", "to": "XYZ", "date": "2024-12-24"},
+                {"amount": 10, "from": "USD", "to": "EUR", "date": "2024-12-24"}
+            ]}
+            """;
+
+        // When: Call the batch endpoint, results are streamed asynchronously
+        final MvcResult result = mockMvc.perform(post("/api/v1/convert/batch")
+                .content(batch)
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then: Results are returned in order of the items
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].result").value(2521.177405))
+            .andExpect(jsonPath("$[1].error").value("No exchange rate found for currency XYZ"))
+            .andExpect(jsonPath("$[2].rate").value(0.961402))
+            .andExpect(jsonPath("$[2].result").value(9.61402));
+    }
+
+    @Test
+    void shouldRejectExportOfInvertedRangeBeforeStreaming() throws Exception {
+        // When & Then: Export a range ending before it starts, answered without starting the stream
+        mockMvc.perform(get("/api/v1/rates/export")
+                .param("from", "2024-12-24")
+                .param("to", "2024-12-20"))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("From date cannot be after to date"));
+    }
+
+    @Test
+    void shouldRejectExportInUnsupportedFormatBeforeStreaming() throws Exception {
+        // When & Then: Export in an unknown format, answered without starting the stream
+        mockMvc.perform(get("/api/v1/rates/export")
+                .param("from", "2024-12-20")
+                .param("to", "2024-12-24")
+                .param("format", "xml"))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]")
+                .value("Unsupported export format. Please provide one of: csv, ndjson."));
+    }
+
+    @Test
+    void shouldRejectBatchOverLimitBeforeStreaming() throws Exception {
+        // Given: Batch with one item more than the configured maximum batch size
+        final String item = "{\"amount\": 1, \"from\": \"EUR\", \"to\": \"CZK\", \"date\": \"2024-12-24\"}";
+        final String batch = "{\"items\": [" + String.join(",", Collections.nCopies(5001, item)) + "]}";
+
+        // When & Then: Call the batch endpoint, answered without starting the stream
+        mockMvc.perform(post("/api/v1/convert/batch")
+                .content(batch)
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("Batch cannot have more than 5000 items"));
+    }
+
+    @Test
+    void shouldCompressRatesWhenClientAcceptsGzip() throws Exception {
+        // When & Then: Call the endpoint accepting gzip, the gzip variant is weakly tagged
+        mockMvc.perform(get("/api/v1/rates/{day}", "2024-12-24")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")));
+    }
+
+    @Test
+    void shouldNotCompressRatesWhenClientRefusesGzip() throws Exception {
+        // When & Then: Call the endpoint refusing gzip explicitly and by identity only, JSON is sent as is
+        for (String acceptEncoding : new String[] {"gzip;q=0, identity", "identity"}) {
+            mockMvc.perform(get("/api/v1/rates/{day}", "2024-12-24")
+                    .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"")))
+                .andExpect(jsonPath("$.date").value("2024-12-24"));
+        }
+    }
 }
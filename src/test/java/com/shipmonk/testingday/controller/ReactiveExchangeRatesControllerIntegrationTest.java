@@ -0,0 +1,183 @@
+package com.shipmonk.testingday.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+@Testcontainers
+class ReactiveExchangeRatesControllerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    private static WireMockServer wireMockServer;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // Override database properties with TestContainer values, the request path reads them over R2DBC
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.r2dbc.url", ReactiveExchangeRatesControllerIntegrationTest::getR2dbcUrl);
+    }
+
+    private static String getR2dbcUrl() {
+        return "r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getFirstMappedPort() + "/testdb";
+    }
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+            .port(8089)
+            .usingFilesUnderDirectory("src/test/resources"));
+        wireMockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void shouldGetHistoricalRatesForSpecificDate() {
+        // When & Then: Call the endpoint for historical date
+        webTestClient.get().uri("/api/v1/rates/{day}", "2024-12-24")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.base").isEqualTo("USD")
+            .jsonPath("$.date").isEqualTo("2024-12-24")
+            // Verify currency conversion from EUR to USD base for historical data
+            .jsonPath("$.rates.EUR").isEqualTo(0.961402)
+            .jsonPath("$.rates.CZK").isEqualTo(24.23865);
+    }
+
+    @Test
+    void shouldGetCachedRatesFromDatabase() {
+        // Given: A snapshot stored in the database
+        jdbcTemplate.update("INSERT INTO exchange_rate_snapshots (base_currency, date, rates) "
+            + "VALUES ('USD', '2025-08-12', CAST('{\"USD\": 1, \"EUR\": 0.856399, \"CZK\": 20.955955}' AS jsonb))");
+
+        // When & Then: Call the endpoint for the stored date, which is not served by Fixer
+        webTestClient.get().uri("/api/v1/rates/{day}", "2025-08-12")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.base").isEqualTo("USD")
+            .jsonPath("$.date").isEqualTo("2025-08-12")
+            .jsonPath("$.rates.EUR").isEqualTo(0.856399)
+            .jsonPath("$.rates.CZK").isEqualTo(20.955955);
+    }
+
+    @Test
+    void shouldGetRatesForDateRangeAndStoreThem() {
+        // When & Then: Call the endpoint for a date range which is not cached
+        webTestClient.get().uri(uri -> uri.path("/api/v1/rates")
+                .queryParam("from", "2024-12-20")
+                .queryParam("to", "2024-12-22")
+                .build())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(3)
+            .jsonPath("$[0].date").isEqualTo("2024-12-20")
+            .jsonPath("$[0].rates.CZK").isEqualTo(24.120678)
+            .jsonPath("$[2].date").isEqualTo("2024-12-22")
+            .jsonPath("$[2].rates.EUR").isEqualTo(0.95862);
+
+        // Then: The fetched snapshots are stored
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exchange_rate_snapshots "
+            + "WHERE base_currency = 'USD' AND date BETWEEN '2024-12-20' AND '2024-12-22'", Integer.class));
+    }
+
+    @Test
+    void shouldRebaseSelectedRatesToRequestedBaseCurrency() {
+        // When & Then: Request selected historical rates in a base currency other than the configured one
+        webTestClient.get().uri(uri -> uri.path("/api/v1/rates/2024-12-24")
+                .queryParam("base", "eur")
+                .queryParam("symbols", "USD,CZK")
+                .build())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.base").isEqualTo("EUR")
+            .jsonPath("$.rates.USD").isEqualTo(1.040148)
+            .jsonPath("$.rates.CZK").isEqualTo(25.211774)
+            .jsonPath("$.rates.GBP").doesNotExist();
+    }
+
+    @Test
+    void shouldRejectUnknownBaseCurrency() {
+        // When & Then: Request historical rates in a base currency missing in the snapshot
+        webTestClient.get().uri(uri -> uri.path("/api/v1/rates/2024-12-24")
+                .queryParam("base", "XYZ")
+                .build())
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.errors[0]").isEqualTo("Base currency XYZ is not supported");
+    }
+
+    @Test
+    void shouldConvertAmountBetweenCurrencies() {
+        // When & Then: Convert an amount using historical rates
+        webTestClient.get().uri(uri -> uri.path("/api/v1/convert")
+                .queryParam("from", "EUR")
+                .queryParam("to", "CZK")
+                .queryParam("amount", "100")
+                .queryParam("date", "2024-12-24")
+                .build())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.rate").isEqualTo(25.211774)
+            .jsonPath("$.result").isEqualTo(2521.177405);
+    }
+
+    @Test
+    void shouldRejectConversionOfCurrencyWithoutRate() {
+        // When & Then: Convert from a well-formed currency which has no rate on the date
+        webTestClient.get().uri(uri -> uri.path("/api/v1/convert")
+                .queryParam("from", "XXX")
+                .queryParam("to", "EUR")
+                .queryParam("amount", "1")
+                .queryParam("date", "2024-12-24")
+                .build())
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.errors[0]").isEqualTo("No exchange rate found for currency XXX");
+    }
+}
@@ -0,0 +1,298 @@
+package com.shipmonk.testingday.load;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+/**
+ * Load test of the rates request path, run by the load-test Maven profile.
+ * The application runs against a Postgres container and a WireMock Fixer with injected latency.
+ * A fixed number of concurrent clients sends a mix of requests for already cached dates (hit),
+ * never requested dates (miss) and latest rates, then throughput and latency percentiles are reported.
+ * Settings are read from system properties, e.g. {@code mvn -Pload-test test -Dload.concurrency=64}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("load")
+class RatesLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 10_000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 1_000);
+    private static final String MIX = System.getProperty("load.mix", "80:15:5");
+    private static final int FIXER_LATENCY_MS = Integer.getInteger("load.fixer-latency-ms", 50);
+    private static final int HIT_DATES = Integer.getInteger("load.hit-dates", 30);
+    private static final long MAX_P99_MS = Long.getLong("load.max-p99-ms", 0);
+
+    // Hit dates follow this date, miss dates precede it, so that a miss date is never cached before
+    private static final LocalDate FIRST_HIT_DATE = LocalDate.of(2024, 12, 1);
+
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    private static final WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+        .dynamicPort()
+        .usingFilesUnderDirectory("src/test/resources"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private final AtomicInteger missDates = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) throws IOException {
+        startFixer();
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("integration.fixer-client.url", wireMockServer::baseUrl);
+        // Every miss calls Fixer, the quota must not end the test
+        registry.add("integration.fixer-client.quota.monthly-limit", () -> Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts WireMock serving the recorded responses, historical rates of any date are served
+     * by the recorded historical response with the requested date.
+     *
+     * @throws IOException if the recorded response cannot be read
+     */
+    private static void startFixer() throws IOException {
+        if (wireMockServer.isRunning()) {
+            return;
+        }
+        wireMockServer.start();
+        wireMockServer.setGlobalFixedDelay(FIXER_LATENCY_MS);
+
+        final String historicalTemplate = Files.readString(
+                Paths.get("src/test/resources/__files/fixer-historical-response.json"))
+            .replace("\"2024-12-24\"", "\"{{request.pathSegments.[0]}}\"");
+        wireMockServer.stubFor(get(urlPathMatching("/\\d{4}-\\d{2}-\\d{2}"))
+            .atPriority(10)
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(historicalTemplate)
+                .withTransformers("response-template")));
+    }
+
+    @AfterAll
+    static void stopFixer() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldServeRequestMixUnderLoad() throws Exception {
+        final Mix mix = Mix.parse(MIX);
+        final Map<RequestType, Histogram> latencies = new EnumMap<>(RequestType.class);
+        final Map<RequestType, AtomicLong> errors = new EnumMap<>(RequestType.class);
+        for (RequestType type : RequestType.values()) {
+            latencies.put(type, new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3));
+            errors.put(type, new AtomicLong());
+        }
+
+        // Given: Hit dates are cached and the request path is warmed up
+        for (int i = 0; i < HIT_DATES; i++) {
+            send(RequestType.HIT, path(FIRST_HIT_DATE.plusDays(i)));
+        }
+        run(mix, WARMUP_REQUESTS, null, null);
+
+        // When: Clients send the measured requests
+        final long startedAt = System.nanoTime();
+        run(mix, REQUESTS, latencies, errors);
+        final long elapsedNanos = System.nanoTime() - startedAt;
+
+        // Then: Report throughput and latency, no request failed
+        final Histogram all = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+        latencies.values().forEach(all::add);
+        report(mix, latencies, errors, all, elapsedNanos);
+
+        final long errorCount = errors.values().stream().mapToLong(AtomicLong::get).sum();
+        assertEquals(0, errorCount, "Failed requests");
+        if (MAX_P99_MS > 0) {
+            final long p99Ms = TimeUnit.NANOSECONDS.toMillis(all.getValueAtPercentile(99));
+            assertTrue(p99Ms <= MAX_P99_MS, "p99 latency " + p99Ms + " ms exceeds " + MAX_P99_MS + " ms");
+        }
+    }
+
+    private void run(
+        final Mix mix,
+        final int requests,
+        final Map<RequestType, Histogram> latencies,
+        final Map<RequestType, AtomicLong> errors) throws Exception {
+
+        final AtomicInteger remaining = new AtomicInteger(requests);
+        final ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(clients.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        final RequestType type = mix.next();
+                        final long startedAt = System.nanoTime();
+                        final boolean ok = send(type, path(type));
+                        final long latency = System.nanoTime() - startedAt;
+                        if (latencies != null) {
+                            latencies.get(type).recordValue(Math.min(latency, HIGHEST_LATENCY_NANOS));
+                            if (!ok) {
+                                errors.get(type).incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private String path(final RequestType type) {
+        return switch (type) {
+            case HIT -> path(FIRST_HIT_DATE.plusDays(ThreadLocalRandom.current().nextInt(HIT_DATES)));
+            case MISS -> path(FIRST_HIT_DATE.minusDays(missDates.incrementAndGet()));
+            case LATEST -> path(LocalDate.now(ZoneOffset.UTC));
+        };
+    }
+
+    private static String path(final LocalDate date) {
+        return "/api/v1/rates/" + date;
+    }
+
+    private boolean send(final RequestType type, final String path) {
+        try {
+            final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending " + type + " request", e);
+        }
+    }
+
+    private static void report(
+        final Mix mix,
+        final Map<RequestType, Histogram> latencies,
+        final Map<RequestType, AtomicLong> errors,
+        final Histogram all,
+        final long elapsedNanos) {
+
+        final StringBuilder report = new StringBuilder()
+            .append(String.format(Locale.ROOT, "%nLoad test: %d requests, concurrency %d, mix hit:miss:latest %s, "
+                + "Fixer latency %d ms%n", REQUESTS, CONCURRENCY, mix, FIXER_LATENCY_MS))
+            .append(String.format(Locale.ROOT, "%-8s %8s %7s %9s %9s %9s %9s%n",
+                "type", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        latencies.forEach((type, histogram) -> report.append(
+            row(type.name().toLowerCase(Locale.ROOT), histogram, errors.get(type).get())));
+        report.append(row("all", all, errors.values().stream().mapToLong(AtomicLong::get).sum()))
+            .append(String.format(Locale.ROOT, "Throughput: %.1f requests/s over %.2f s%n",
+                all.getTotalCount() / (elapsedNanos / 1e9), elapsedNanos / 1e9));
+        System.out.println(report);
+    }
+
+    private static String row(final String name, final Histogram histogram, final long errors) {
+        return String.format(Locale.ROOT, "%-8s %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+            name,
+            histogram.getTotalCount(),
+            errors,
+            histogram.getValueAtPercentile(50) / 1e6,
+            histogram.getValueAtPercentile(99) / 1e6,
+            histogram.getValueAtPercentile(99.9) / 1e6,
+            histogram.getMaxValue() / 1e6);
+    }
+
+    private enum RequestType {
+        HIT, MISS, LATEST
+    }
+
+    /**
+     * Weights of the request types.
+     *
+     * @param hit    weight of requests for cached dates
+     * @param miss   weight of requests for dates never requested before
+     * @param latest weight of requests for latest rates
+     */
+    private record Mix(int hit, int miss, int latest) {
+
+        static Mix parse(final String mix) {
+            final String[] weights = mix.split(":");
+            if (weights.length != 3) {
+                throw new IllegalArgumentException("Mix must be given as hit:miss:latest weights, was: " + mix);
+            }
+            return new Mix(Integer.parseInt(weights[0]), Integer.parseInt(weights[1]), Integer.parseInt(weights[2]));
+        }
+
+        RequestType next() {
+            final int value = ThreadLocalRandom.current().nextInt(hit + miss + latest);
+            if (value < hit) {
+                return RequestType.HIT;
+            }
+            return value < hit + miss ? RequestType.MISS : RequestType.LATEST;
+        }
+
+        @Override
+        public String toString() {
+            return hit + ":" + miss + ":" + latest;
+        }
+    }
+}
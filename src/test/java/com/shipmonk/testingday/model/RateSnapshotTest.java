@@ -0,0 +1,92 @@
+package com.shipmonk.testingday.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RateSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldKeepRatesExactlyIncludingScale() {
+        // Given: Rates with different scales, including a tiny rate in scientific notation
+        final Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put("USD", BigDecimal.ONE);
+        rates.put("EUR", new BigDecimal("0.961402"));
+        rates.put("GBP", new BigDecimal("0.7500"));
+        rates.put("BTC", new BigDecimal("1.6022579E-5"));
+        rates.put("IRR", new BigDecimal("42087.449934"));
+
+        // When: Create the snapshot
+        final RateSnapshot snapshot = RateSnapshot.of(rates);
+
+        // Then: Every rate is returned unchanged
+        assertEquals(5, snapshot.size());
+        assertEquals(rates, snapshot.toMap());
+        assertEquals(new BigDecimal("0.7500"), snapshot.get("GBP"));
+        assertTrue(snapshot.contains("BTC"));
+        assertFalse(snapshot.contains("JPY"));
+        assertNull(snapshot.get("JPY"));
+        assertNull(snapshot.get("UNKNOWN"));
+    }
+
+    @Test
+    void shouldRoundRatesWithMoreThanEighteenSignificantDigits() {
+        // When: Create the snapshot with a rate of 20 significant digits
+        final RateSnapshot snapshot = RateSnapshot.builder()
+            .put("EUR", new BigDecimal("0.12345678901234567891"))
+            .build();
+
+        // Then: The rate is rounded to 18 significant digits
+        assertEquals(new BigDecimal("0.123456789012345679"), snapshot.get("EUR"));
+    }
+
+    @Test
+    void shouldRejectInvalidCurrencyCode() {
+        assertThrows(IllegalArgumentException.class,
+            () -> RateSnapshot.builder().put("usd", BigDecimal.ONE));
+    }
+
+    @Test
+    void shouldBeEqualForSameRates() {
+        // Given: Same rates put in different order
+        final RateSnapshot first = RateSnapshot.builder()
+            .put("CZK", new BigDecimal("24.23865"))
+            .put("PLN", new BigDecimal("4.098149"))
+            .build();
+        final RateSnapshot second = RateSnapshot.builder()
+            .put("PLN", new BigDecimal("4.098149"))
+            .put("CZK", new BigDecimal("24.23865"))
+            .build();
+
+        // Then: Snapshots are equal
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void shouldRoundTripThroughJson() throws Exception {
+        // Given: Rates as returned by the API
+        final String json = "{\"EUR\":0.961402,\"GBP\":0.797749,\"JPY\":157.111991,\"USD\":1}";
+
+        // When: Read and write the snapshot
+        final RateSnapshot snapshot = objectMapper.readValue(json, RateSnapshot.class);
+        final String written = objectMapper.writeValueAsString(snapshot);
+
+        // Then: Rates are kept exactly
+        assertEquals(new BigDecimal("157.111991"), snapshot.get("JPY"));
+        assertEquals(objectMapper.readTree(json), objectMapper.readTree(written));
+        assertEquals(snapshot, objectMapper.readValue(written, RateSnapshot.class));
+    }
+}
@@ -0,0 +1,275 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.shipmonk.testingday.api.ConflictingRequestException;
+import com.shipmonk.testingday.api.dto.BackfillJobDto;
+import com.shipmonk.testingday.api.dto.BackfillStatus;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.repository.BackfillJobRepository;
+import com.shipmonk.testingday.repository.entity.BackfillJob;
+import com.shipmonk.testingday.service.impl.BackfillServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillServiceTest {
+
+    private static final String BASE = "USD";
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+
+    private static final LocalDate TO = LocalDate.of(2024, 1, 5);
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Mock
+    private BackfillJobRepository backfillJobRepository;
+
+    @Mock
+    private ExchangeRatesStore exchangeRatesStore;
+
+    @Mock
+    private ExchangeService fixerExchangeService;
+
+    // Jobs stored by the mocked repository
+    private final Map<Long, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private BackfillServiceImpl backfillService;
+
+    @BeforeEach
+    void setUp() {
+        final BackfillProperties backfillProperties = new BackfillProperties();
+        backfillProperties.setBatchDays(2);
+        backfillProperties.setConcurrency(2);
+        backfillProperties.setBatchInterval(Duration.ZERO);
+        backfillProperties.setMaxRangeDays(30);
+        backfillProperties.setLeaseDuration(Duration.ofMinutes(2));
+        backfillProperties.setClaimInterval(Duration.ofSeconds(30));
+
+        lenient().when(backfillJobRepository.save(any())).thenAnswer(invocation -> {
+            final BackfillJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(nextId.getAndIncrement());
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(backfillJobRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<Long>getArgument(0))));
+        lenient().when(backfillJobRepository.renewLease(anyLong(), anyString(), anyLong())).thenReturn(1);
+        lenient().when(exchangeRatesStore.findStoredDates(eq(BASE), any(), any())).thenReturn(Set.of());
+        lenient().when(fixerExchangeService.getRatesForRange(eq(BASE), any(), any())).thenAnswer(invocation ->
+            invocation.<LocalDate>getArgument(1).datesUntil(invocation.<LocalDate>getArgument(2).plusDays(1))
+                .map(BackfillServiceTest::rates)
+                .toList());
+
+        backfillService = new BackfillServiceImpl(
+            backfillJobRepository, exchangeRatesStore, fixerExchangeService, backfillProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillService.shutdown();
+    }
+
+    @Test
+    void testStartFetchesRangeInBatches() {
+        // When: A backfill of five days is started
+        final BackfillJobDto started = backfillService.start(BASE, FROM, TO);
+        awaitStopped(started.getId());
+
+        // Then: The days are fetched in batches of two days and the job completes with its progress
+        final BackfillJob job = jobs.get(started.getId());
+        assertEquals(BackfillStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getFetchedDays());
+        assertEquals(TO.plusDays(1), job.getNextDate());
+        verify(fixerExchangeService).getRatesForRange(BASE, FROM, FROM.plusDays(1));
+        verify(fixerExchangeService).getRatesForRange(BASE, FROM.plusDays(2), FROM.plusDays(3));
+        verify(fixerExchangeService).getRatesForRange(BASE, TO, TO);
+        verify(exchangeRatesStore, times(3)).saveAll(any());
+        verify(backfillJobRepository).takeLease(eq(started.getId()), anyString(), eq(120L));
+    }
+
+    @Test
+    void testStoredDaysAreNotFetched() {
+        // Given: The first two days already stored
+        when(exchangeRatesStore.findStoredDates(BASE, FROM, FROM.plusDays(1)))
+            .thenReturn(Set.of(FROM, FROM.plusDays(1)));
+
+        // When: A backfill of five days is started
+        final BackfillJobDto started = backfillService.start(BASE, FROM, TO);
+        awaitStopped(started.getId());
+
+        // Then: Only the missing days are fetched and counted
+        final BackfillJob job = jobs.get(started.getId());
+        assertEquals(BackfillStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getFetchedDays());
+        verify(fixerExchangeService, never()).getRatesForRange(BASE, FROM, FROM.plusDays(1));
+    }
+
+    @Test
+    void testRateLimitedJobIsPausedAtCheckpoint() {
+        // Given: The quota used up before the last batch
+        when(fixerExchangeService.getRatesForRange(BASE, TO, TO)).thenThrow(new SystemApiClientException(
+            SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED, "Monthly quota is used up"));
+
+        // When: A backfill of five days is started
+        final BackfillJobDto started = backfillService.start(BASE, FROM, TO);
+        awaitStopped(started.getId());
+
+        // Then: The job is paused with the checkpoint at the failed batch
+        final BackfillJob job = jobs.get(started.getId());
+        assertEquals(BackfillStatus.PAUSED, job.getStatus());
+        assertEquals(TO, job.getNextDate());
+        assertEquals(4, job.getFetchedDays());
+        assertEquals("Monthly quota is used up", job.getError());
+    }
+
+    @Test
+    void testResumeContinuesFromCheckpoint() {
+        // Given: A job paused before the last day
+        final BackfillJob paused = backfillJobRepository.save(job(BackfillStatus.PAUSED, TO, 4));
+        when(backfillJobRepository.claimResumable(eq(paused.getId()), anyString(), anyLong())).thenAnswer(
+            invocation -> {
+                paused.setStatus(BackfillStatus.QUEUED);
+                return 1;
+            });
+
+        // When: The job is resumed
+        final BackfillJobDto resumed = backfillService.resume(paused.getId()).orElseThrow();
+        awaitStopped(paused.getId());
+
+        // Then: Only the days after the checkpoint are fetched
+        assertEquals(BackfillStatus.QUEUED, resumed.getStatus());
+        assertEquals(BackfillStatus.COMPLETED, paused.getStatus());
+        assertEquals(5, paused.getFetchedDays());
+        verify(fixerExchangeService, times(1)).getRatesForRange(any(), any(), any());
+        verify(fixerExchangeService).getRatesForRange(BASE, TO, TO);
+    }
+
+    @Test
+    void testResumeRejectsCompletedJob() {
+        // Given: A completed job
+        final BackfillJob completed = backfillJobRepository.save(job(BackfillStatus.COMPLETED, TO.plusDays(1), 5));
+
+        // When & Then: The job cannot be resumed
+        assertThrows(ConflictingRequestException.class, () -> backfillService.resume(completed.getId()));
+        verify(fixerExchangeService, never()).getRatesForRange(any(), any(), any());
+    }
+
+    @Test
+    void testResumeOfMissingJobIsEmpty() {
+        // When & Then: A job which does not exist is not resumed
+        assertTrue(backfillService.resume(42).isEmpty());
+        verify(fixerExchangeService, never()).getRatesForRange(any(), any(), any());
+    }
+
+    @Test
+    void testStartRejectsRangeOverMaximum() {
+        // When & Then: A range longer than the maximum is rejected before creating a job
+        assertThrows(IllegalArgumentException.class,
+            () -> backfillService.start(BASE, FROM, FROM.plusDays(30)));
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    @Test
+    void testUnfinishedJobIsClaimedOnlyWhenIdle() throws Exception {
+        // Given: An unfinished job of a stopped node, its fetch blocked until released
+        final BackfillJob unfinished = backfillJobRepository.save(job(BackfillStatus.RUNNING, FROM, 0));
+        when(backfillJobRepository.claimNext(anyString(), anyLong())).thenReturn(Optional.of(unfinished.getId()));
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(fixerExchangeService.getRatesForRange(BASE, FROM, FROM.plusDays(1))).thenAnswer(invocation -> {
+            fetching.countDown();
+            assertTrue(release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            return List.of(rates(FROM), rates(FROM.plusDays(1)));
+        });
+
+        // When: Unfinished jobs are claimed twice while the first claimed job runs
+        final List<BackfillJobDto> first = backfillService.resumeUnfinished();
+        assertTrue(fetching.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        final List<BackfillJobDto> second = backfillService.resumeUnfinished();
+        release.countDown();
+        awaitStopped(unfinished.getId());
+
+        // Then: Only one job is claimed at a time and it runs to completion
+        assertEquals(1, first.size());
+        assertTrue(second.isEmpty());
+        verify(backfillJobRepository, times(1)).claimNext(anyString(), anyLong());
+        assertEquals(BackfillStatus.COMPLETED, unfinished.getStatus());
+    }
+
+    @Test
+    void testJobOwnedByAnotherNodeIsNotRun() {
+        // Given: The lease of the job taken over by another node while it was queued
+        when(backfillJobRepository.renewLease(anyLong(), anyString(), anyLong())).thenReturn(0);
+
+        // When: A backfill is started
+        final BackfillJobDto started = backfillService.start(BASE, FROM, TO);
+        verify(backfillJobRepository, timeout(TIMEOUT_MILLIS)).renewLease(eq(started.getId()), anyString(), anyLong());
+
+        // Then: The job is left to the other node
+        verify(fixerExchangeService, never()).getRatesForRange(any(), any(), any());
+        assertEquals(BackfillStatus.QUEUED, jobs.get(started.getId()).getStatus());
+    }
+
+    private void awaitStopped(final long id) {
+        verify(backfillJobRepository, timeout(TIMEOUT_MILLIS)).releaseLease(eq(id), anyString());
+    }
+
+    private static BackfillJob job(final BackfillStatus status, final LocalDate nextDate, final int fetchedDays) {
+        return BackfillJob.builder()
+            .baseCurrency(BASE)
+            .fromDate(FROM)
+            .toDate(TO)
+            .nextDate(nextDate)
+            .status(status)
+            .fetchedDays(fetchedDays)
+            .build();
+    }
+
+    private static ExchangeRatesDto rates(final LocalDate date) {
+        return ExchangeRatesDto.builder()
+            .base(BASE)
+            .date(date)
+            .rates(RateSnapshot.builder()
+                .put(BASE, BigDecimal.ONE)
+                .put("EUR", new BigDecimal("0.958798"))
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.shipmonk.testingday.api.InvalidRequestException;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiClientException;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.impl.CachingExchangeServiceImpl;
+import com.shipmonk.testingday.service.impl.CachingExchangeSupport;
+import com.shipmonk.testingday.service.impl.CurrencyConversionServiceImpl;
+import com.shipmonk.testingday.service.impl.ExchangeRatesMetersImpl;
+import com.shipmonk.testingday.service.impl.LatestRatesCacheImpl;
+import com.shipmonk.testingday.service.impl.RatesSnapshotCacheImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExchangeServiceTest {
+
+    private static final String BASE = "USD";
+
+    private static final int CALLERS = 8;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final LocalDate FROM = LocalDate.of(2024, 12, 20);
+
+    private static final LocalDate TO = LocalDate.of(2024, 12, 22);
+
+    @Mock
+    private ExchangeRatesStore exchangeRatesStore;
+
+    @Mock
+    private ExchangeService fixerExchangeService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RatesCacheProperties ratesCacheProperties;
+
+    private CachingExchangeService cachingExchangeService;
+
+    @BeforeEach
+    void setUp() {
+        final ExchangeRatesProperties exchangeRatesProperties = new ExchangeRatesProperties();
+        exchangeRatesProperties.setBaseCurrency(BASE);
+        exchangeRatesProperties.setFallbackCurrency("EUR");
+        exchangeRatesProperties.setUnsupportedApiBaseCurrencies(Set.of(BASE));
+        exchangeRatesProperties.setRoundingScale(6);
+        exchangeRatesProperties.setRoundingMode(RoundingMode.HALF_UP);
+        exchangeRatesProperties.setMaxRangeDays(366);
+
+        ratesCacheProperties = new RatesCacheProperties();
+        ratesCacheProperties.setMaximumSize(100);
+        ratesCacheProperties.setLatestTtl(Duration.ofMinutes(10));
+        ratesCacheProperties.setLatestRefreshInterval(Duration.ofMinutes(5));
+
+        cachingExchangeService = new CachingExchangeServiceImpl(
+            exchangeRatesStore,
+            fixerExchangeService,
+            exchangeRatesProperties,
+            new CachingExchangeSupport(
+                exchangeRatesProperties, new CurrencyConversionServiceImpl(exchangeRatesProperties, meterRegistry)),
+            new RatesSnapshotCacheImpl(ratesCacheProperties, meterRegistry),
+            new LatestRatesCacheImpl(ratesCacheProperties),
+            new ExchangeRatesMetersImpl(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentRangeMissesShareSingleFetch() throws Exception {
+        // Given: A range missing in the database, fetched only once every caller has missed it
+        final CountDownLatch allMissed = new CountDownLatch(CALLERS);
+        when(exchangeRatesStore.findBetween(BASE, FROM, TO)).thenAnswer(invocation -> {
+            allMissed.countDown();
+            return Map.of();
+        });
+        when(fixerExchangeService.getRatesForRange(BASE, FROM, TO)).thenAnswer(invocation -> {
+            assertTrue(allMissed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return FROM.datesUntil(TO.plusDays(1)).map(CachingExchangeServiceTest::rates).toList();
+        });
+
+        // When: Many callers request the same range at once
+        final List<Future<List<ExchangeRatesDto>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> cachingExchangeService.getRatesForRange(BASE, FROM, TO)));
+        }
+
+        // Then: The range was fetched and stored once and every caller got all its days
+        for (Future<List<ExchangeRatesDto>> result : results) {
+            assertEquals(3, result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        }
+        verify(fixerExchangeService, times(1)).getRatesForRange(BASE, FROM, TO);
+        verify(exchangeRatesStore, times(1)).saveAll(anyList());
+        verify(fixerExchangeService, never()).getRatesForDate(any(), any());
+        verify(exchangeRatesStore, never()).find(eq(BASE), any());
+    }
+
+    @Test
+    void testSelectedRatesMissFetchesWithoutFullLookup() {
+        // Given: A snapshot missing in the database
+        final Set<String> selected = Set.of(BASE, "EUR", "CZK");
+        when(exchangeRatesStore.findSelected(BASE, FROM, selected)).thenReturn(Optional.empty());
+        when(fixerExchangeService.getRatesForDate(BASE, FROM)).thenReturn(rates(FROM));
+
+        // When: Rates of two currencies are requested twice
+        final ExchangeRatesDto first = cachingExchangeService.getRatesForDate(BASE, FROM, List.of("EUR", "CZK"));
+        final ExchangeRatesDto second = cachingExchangeService.getRatesForDate(BASE, FROM, List.of("EUR", "CZK"));
+
+        // Then: The snapshot is fetched right after the selected lookup missed and then served from memory
+        assertEquals(new BigDecimal("0.958798"), first.getRates().get("EUR"));
+        assertEquals(first.getRates(), second.getRates());
+        verify(exchangeRatesStore, times(1)).findSelected(BASE, FROM, selected);
+        verify(exchangeRatesStore, never()).find(any(), any());
+        verify(fixerExchangeService, times(1)).getRatesForDate(BASE, FROM);
+    }
+
+    @Test
+    void testRepeatedSelectedRatesAreServedFromMemory() {
+        // Given: A snapshot stored in the database
+        final Set<String> selected = Set.of(BASE, "EUR", "CZK");
+        when(exchangeRatesStore.findSelected(BASE, FROM, selected))
+            .thenReturn(Optional.of(rates(FROM)));
+        when(exchangeRatesStore.find(BASE, FROM)).thenReturn(Optional.of(rates(FROM)));
+
+        // When: Rates of two currencies are requested repeatedly
+        for (int i = 0; i < 3; i++) {
+            final ExchangeRatesDto rates = cachingExchangeService.getRatesForDate(BASE, FROM, List.of("EUR", "CZK"));
+            assertEquals(new BigDecimal("24.120678"), rates.getRates().get("CZK"));
+        }
+
+        // Then: Only the selected rates are read first, the repeated lookup loads the snapshot into memory
+        verify(exchangeRatesStore, times(1)).findSelected(BASE, FROM, selected);
+        verify(exchangeRatesStore, times(1)).find(BASE, FROM);
+        verify(fixerExchangeService, never()).getRatesForDate(any(), any());
+    }
+
+    @Test
+    void testStaleLatestRatesServedFromMemoryWhenFixerUnavailable() {
+        // Given: Latest rates cached in memory, then expired while Fixer is unavailable
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        when(fixerExchangeService.getLatestRates(BASE))
+            .thenReturn(rates(today))
+            .thenThrow(new SystemApiServerException(
+                SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE, "Remote service is unavailable"));
+        cachingExchangeService.getLatestRates(BASE);
+        ratesCacheProperties.setLatestTtl(Duration.ZERO);
+
+        // When: Latest rates are requested
+        final ExchangeRatesDto rates = cachingExchangeService.getLatestRates(BASE);
+
+        // Then: The expired rates are served flagged as stale and the request is timed as stale
+        assertEquals(Boolean.TRUE, rates.getStale());
+        assertEquals(today, rates.getDate());
+        assertEquals(new BigDecimal("0.958798"), rates.getRates().get("EUR"));
+        assertEquals(1, meterRegistry.get("exchange.rates.requests").tag("outcome", "stale").timer().count());
+        verify(exchangeRatesStore, never()).findLatest(any());
+    }
+
+    @Test
+    void testStaleLatestRatesServedFromDatabaseWhenFixerUnavailable() {
+        // Given: No latest rates in memory, Fixer rate limited and older rates stored
+        when(fixerExchangeService.getLatestRates(BASE)).thenThrow(new SystemApiClientException(
+            SystemApiClientException.BadRequestType.RATE_LIMIT_EXCEEDED, "Monthly quota is used up"));
+        when(exchangeRatesStore.findLatest(BASE)).thenReturn(Optional.of(rates(FROM)));
+
+        // When: Latest rates are requested
+        final ExchangeRatesDto rates = cachingExchangeService.getLatestRates(BASE);
+
+        // Then: The most recent stored rates are served flagged as stale
+        assertEquals(Boolean.TRUE, rates.getStale());
+        assertEquals(FROM, rates.getDate());
+    }
+
+    @Test
+    void testLatestRatesFailWhenFixerRejectsRequest() {
+        // Given: Fixer rejecting the request itself
+        when(fixerExchangeService.getLatestRates(BASE)).thenThrow(new SystemApiClientException(
+            SystemApiClientException.BadRequestType.INVALID_REQUEST, "Request failed: 201 invalid_base_currency"));
+
+        // When & Then: The error is propagated instead of serving stale rates
+        assertThrows(SystemApiClientException.class, () -> cachingExchangeService.getLatestRates(BASE));
+        verify(exchangeRatesStore, never()).findLatest(any());
+    }
+
+    @Test
+    void testUnknownBaseIsRejected() {
+        // Given: A snapshot stored in the database
+        when(exchangeRatesStore.find(BASE, FROM)).thenReturn(Optional.of(rates(FROM)));
+
+        // When: Rates are requested in a base currency missing in the snapshot
+        final InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+            () -> cachingExchangeService.getRatesForDate("XYZ", FROM));
+
+        // Then: The request is rejected instead of failing on rebasing
+        assertEquals("Base currency XYZ is not supported", exception.getMessage());
+        verify(fixerExchangeService, never()).getRatesForDate(any(), any());
+    }
+
+    private static ExchangeRatesDto rates(final LocalDate date) {
+        return ExchangeRatesDto.builder()
+            .base(BASE)
+            .date(date)
+            .rates(RateSnapshot.builder()
+                .put(BASE, BigDecimal.ONE)
+                .put("EUR", new BigDecimal("0.958798"))
+                .put("CZK", new BigDecimal("24.120678"))
+                .build())
+            .build();
+    }
+}
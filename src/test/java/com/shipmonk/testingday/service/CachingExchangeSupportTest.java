@@ -0,0 +1,98 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.shipmonk.testingday.api.InvalidRequestException;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.impl.CachingExchangeSupport;
+import com.shipmonk.testingday.service.impl.CurrencyConversionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingExchangeSupportTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 12, 20);
+
+    private CachingExchangeSupport cachingExchangeSupport;
+
+    @BeforeEach
+    void setUp() {
+        final ExchangeRatesProperties exchangeRatesProperties = new ExchangeRatesProperties();
+        exchangeRatesProperties.setBaseCurrency("USD");
+        exchangeRatesProperties.setRoundingScale(6);
+        exchangeRatesProperties.setRoundingMode(RoundingMode.HALF_UP);
+        exchangeRatesProperties.setMaxRangeDays(366);
+
+        cachingExchangeSupport = new CachingExchangeSupport(exchangeRatesProperties,
+            new CurrencyConversionServiceImpl(exchangeRatesProperties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testMissingDatesAreSplitIntoContiguousGaps() {
+        // Given: Missing dates with two holes
+        final List<LocalDate> missing = List.of(DATE, DATE.plusDays(1), DATE.plusDays(3), DATE.plusDays(5),
+            DATE.plusDays(6));
+
+        // When: The dates are split into gaps
+        final List<List<LocalDate>> gaps = cachingExchangeSupport.toContiguousGaps(missing);
+
+        // Then: Each gap holds consecutive dates only
+        assertEquals(List.of(
+            List.of(DATE, DATE.plusDays(1)),
+            List.of(DATE.plusDays(3)),
+            List.of(DATE.plusDays(5), DATE.plusDays(6))), gaps);
+    }
+
+    @Test
+    void testSelectedRatesAreRebasedToRequestedBase() {
+        // When: Rates of CZK are requested in EUR
+        final ExchangeRatesDto rates = cachingExchangeSupport.toRequestedBase(rates(), "EUR", List.of("CZK"));
+
+        // Then: Only CZK is returned, rebased to EUR
+        assertEquals("EUR", rates.getBase());
+        assertEquals(Set.of("CZK"), rates.getRates().toMap().keySet());
+        assertEquals(new BigDecimal("25.157205"), rates.getRates().get("CZK"));
+    }
+
+    @Test
+    void testUnknownBaseIsRejected() {
+        // When & Then: Rates in a base currency missing in the snapshot are rejected as an invalid request
+        final InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+            () -> cachingExchangeSupport.toRequestedBase(rates(), "XYZ"));
+        assertEquals("Base currency XYZ is not supported", exception.getMessage());
+    }
+
+    @Test
+    void testStaleRatesKeepTheirSnapshot() {
+        // When: Rates are flagged as stale
+        final ExchangeRatesDto stale = cachingExchangeSupport.toStale(rates());
+
+        // Then: Only the flag differs
+        assertEquals(Boolean.TRUE, stale.getStale());
+        assertEquals(rates().getRates(), stale.getRates());
+        assertEquals(DATE, stale.getDate());
+    }
+
+    private static ExchangeRatesDto rates() {
+        return ExchangeRatesDto.builder()
+            .base("USD")
+            .date(DATE)
+            .rates(RateSnapshot.builder()
+                .put("USD", BigDecimal.ONE)
+                .put("EUR", new BigDecimal("0.958798"))
+                .put("CZK", new BigDecimal("24.120678"))
+                .build())
+            .build();
+    }
+}
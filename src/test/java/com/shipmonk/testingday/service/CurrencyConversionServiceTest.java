@@ -2,6 +2,7 @@ package com.shipmonk.testingday.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.lenient;
@@ -19,7 +20,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.shipmonk.testingday.facade.ExchangeRatesProperties;
+import com.shipmonk.testingday.model.RateSnapshot;
 import com.shipmonk.testingday.service.impl.CurrencyConversionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class CurrencyConversionServiceTest {
@@ -35,7 +38,7 @@ class CurrencyConversionServiceTest {
         lenient().when(exchangeRatesProperties.getUnsupportedApiBaseCurrencies()).thenReturn(Set.of("USD"));
         lenient().when(exchangeRatesProperties.getRoundingScale()).thenReturn(6);
         lenient().when(exchangeRatesProperties.getRoundingMode()).thenReturn(RoundingMode.HALF_UP);
-        currencyConversionService = new CurrencyConversionServiceImpl(exchangeRatesProperties);
+        currencyConversionService = new CurrencyConversionServiceImpl(exchangeRatesProperties, new SimpleMeterRegistry());
     }
 
     @Test
@@ -65,6 +68,24 @@ class CurrencyConversionServiceTest {
         });
     }
 
+    @Test
+    void testConvertBaseCurrency_RebasedSnapshotIsMemoized() {
+        // Given: EUR-based snapshot
+        RateSnapshot rates = RateSnapshot.builder()
+            .put("EUR", BigDecimal.ONE)
+            .put("USD", new BigDecimal("0.5000"))
+            .put("GBP", new BigDecimal("0.7500"))
+            .build();
+
+        // When: Convert the same snapshot to USD base twice
+        RateSnapshot first = currencyConversionService.convertBaseCurrency(rates, "EUR", "USD");
+        RateSnapshot second = currencyConversionService.convertBaseCurrency(rates, "EUR", "USD");
+
+        // Then: The second conversion returns the memoized snapshot
+        assertEquals(new BigDecimal("1.500000"), first.get("GBP"));
+        assertSame(first, second);
+    }
+
     @Test
     void testIsBaseCurrencySupported() {
         // Test supported currencies
@@ -0,0 +1,103 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.EncodedRatesCache.EncodedRates;
+import com.shipmonk.testingday.service.impl.EncodedRatesCacheImpl;
+import com.shipmonk.testingday.service.impl.RatesETagRegistryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EncodedRatesCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EncodedRatesCache encodedRatesCache;
+
+    private RatesETagRegistry ratesETagRegistry;
+
+    @BeforeEach
+    void setUp() {
+        final RatesCacheProperties ratesCacheProperties = new RatesCacheProperties();
+        ratesCacheProperties.setEncodedMaximumBytes(1024 * 1024);
+        ratesCacheProperties.setEncodedGzip(true);
+        ratesCacheProperties.setEtagMaximumSize(100);
+
+        encodedRatesCache = new EncodedRatesCacheImpl(ratesCacheProperties, objectMapper, meterRegistry);
+        ratesETagRegistry = new RatesETagRegistryImpl(ratesCacheProperties, meterRegistry);
+    }
+
+    @Test
+    void testGzipVariantDecompressesToJson() throws IOException {
+        // Given: Rates large enough to be compressed
+        final ExchangeRatesDto rates = rates("0.958798");
+        final String eTag = ratesETagRegistry.register(TODAY, null, rates);
+
+        // When: Rates are encoded
+        final EncodedRates encoded = encodedRatesCache.encode(eTag, rates);
+
+        // Then: Both variants are kept and the gzip variant carries the same JSON
+        assertNotNull(encoded.gzip());
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), gzip.readAllBytes());
+        }
+        assertSame(encoded, encodedRatesCache.get(eTag).orElseThrow());
+    }
+
+    @Test
+    void testChangedRatesAreEncodedUnderNewETag() throws IOException {
+        // Given: Latest rates already encoded
+        final ExchangeRatesDto rates = rates("0.958798");
+        final String eTag = ratesETagRegistry.register(TODAY, null, rates);
+        final EncodedRates encoded = encodedRatesCache.encode(eTag, rates);
+
+        // When: Latest rates are refreshed with a changed rate
+        final ExchangeRatesDto refreshedRates = rates("0.961402");
+        final String refreshedETag = ratesETagRegistry.register(TODAY, null, refreshedRates);
+        final EncodedRates refreshedEncoded = encodedRatesCache.encode(refreshedETag, refreshedRates);
+
+        // Then: The refreshed rates get a new entity tag, so the previous encoding is never served for them
+        assertNotEquals(eTag, refreshedETag);
+        assertEquals(new BigDecimal("0.961402"),
+            objectMapper.readTree(refreshedEncoded.json()).path("rates").path("EUR").decimalValue());
+        assertSame(encoded, encodedRatesCache.get(eTag).orElseThrow());
+        assertSame(refreshedEncoded, encodedRatesCache.get(refreshedETag).orElseThrow());
+    }
+
+    private static ExchangeRatesDto rates(final String eurRate) {
+        final RateSnapshot.Builder rates = RateSnapshot.builder()
+            .put("USD", BigDecimal.ONE)
+            .put("EUR", new BigDecimal(eurRate));
+        // Enough currencies for the encoded response to be compressed
+        for (char currency = 'A'; currency <= 'Z'; currency++) {
+            rates.put("X" + currency + currency, new BigDecimal("1.234567"));
+        }
+        return ExchangeRatesDto.builder()
+            .base("USD")
+            .date(TODAY)
+            .rates(rates.build())
+            .build();
+    }
+}
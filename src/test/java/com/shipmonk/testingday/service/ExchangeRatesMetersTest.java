@@ -0,0 +1,104 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.impl.ExchangeRatesMetersImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExchangeRatesMetersTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 12, 24);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExchangeRatesMeters exchangeRatesMeters = new ExchangeRatesMetersImpl(meterRegistry);
+
+    @Test
+    void testKnownBaseIsTagged() {
+        // Given: A snapshot with EUR rates
+        rates("USD", "EUR");
+
+        // When: A request with EUR base is timed
+        exchangeRatesMeters.requestTimer(
+            ExchangeRatesMeters.Operation.DATE, "EUR", ExchangeRatesMeters.Outcome.SUCCESS).record(() -> { });
+
+        // Then: The timer is tagged with the requested base
+        assertEquals(1, meterRegistry.get("exchange.rates.requests")
+            .tags("operation", "date", "base", "EUR", "outcome", "success")
+            .timer().count());
+    }
+
+    @Test
+    void testUnknownBasesShareOtherTag() {
+        // When: Requests with bases not known from any snapshot are timed
+        for (String base : List.of("QQA", "QQB", "not a currency")) {
+            exchangeRatesMeters.requestTimer(
+                ExchangeRatesMeters.Operation.LATEST, base, ExchangeRatesMeters.Outcome.ERROR).record(() -> { });
+        }
+
+        // Then: All of them are counted by a single timer tagged as other
+        assertEquals(3, meterRegistry.get("exchange.rates.requests")
+            .tags("operation", "latest", "base", ExchangeRatesMeters.OTHER_BASE, "outcome", "error")
+            .timer().count());
+        assertEquals(1, meterRegistry.find("exchange.rates.requests").timers().size());
+    }
+
+    @Test
+    void testMetersAreRegisteredOnce() {
+        // Given: A snapshot with CZK rates
+        rates("USD", "CZK");
+
+        // When: The timer of the same tags is requested twice
+        final Timer first = exchangeRatesMeters.requestTimer(
+            ExchangeRatesMeters.Operation.RANGE, "CZK", ExchangeRatesMeters.Outcome.STALE);
+        final Timer second = exchangeRatesMeters.requestTimer(
+            ExchangeRatesMeters.Operation.RANGE, "CZK", ExchangeRatesMeters.Outcome.STALE);
+
+        // Then: The same timer is returned
+        assertSame(first, second);
+    }
+
+    @Test
+    void testFetchedSnapshotsAreCountedWithTheirSize() {
+        // Given: Two fetched snapshots with three rates each
+        final List<ExchangeRatesDto> fetchedRates = List.of(rates("USD", "EUR", "CZK"), rates("USD", "EUR", "CZK"));
+
+        // When: The snapshots are counted as fetched and one more as read from memory
+        exchangeRatesMeters.countFetched("USD", fetchedRates);
+        exchangeRatesMeters.countSnapshots("USD", ExchangeRatesMeters.Source.MEMORY, 1);
+        exchangeRatesMeters.countSnapshots("USD", ExchangeRatesMeters.Source.DB, 0);
+
+        // Then: The snapshots are counted by their source and the number of rates is recorded
+        assertEquals(2, meterRegistry.get("exchange.rates.snapshots")
+            .tags("base", "USD", "source", "fixer").counter().count());
+        assertEquals(1, meterRegistry.get("exchange.rates.snapshots")
+            .tags("base", "USD", "source", "memory").counter().count());
+        assertTrue(meterRegistry.find("exchange.rates.snapshots").tags("source", "db").counters().isEmpty());
+        assertEquals(6, meterRegistry.get("exchange.rates.snapshot.currencies")
+            .tags("base", "USD").summary().totalAmount());
+    }
+
+    private static ExchangeRatesDto rates(final String base, final String... currencies) {
+        final RateSnapshot.Builder rates = RateSnapshot.builder().put(base, BigDecimal.ONE);
+        for (String currency : currencies) {
+            rates.put(currency, new BigDecimal("1.5"));
+        }
+        return ExchangeRatesDto.builder()
+            .base(base)
+            .date(DATE)
+            .rates(rates.build())
+            .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.model.RateSnapshot;
+
+@ExtendWith(MockitoExtension.class)
+class RatesCacheEndpointTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private RatesSnapshotCache ratesSnapshotCache;
+
+    @Mock
+    private LatestRatesCache latestRatesCache;
+
+    @InjectMocks
+    private RatesCacheEndpoint ratesCacheEndpoint;
+
+    @Test
+    void testStateReportsSnapshotStatisticsAndLatestRates() {
+        // Given: Snapshots looked up three times out of four successfully, fresh USD and expired EUR latest rates
+        when(ratesSnapshotCache.stats()).thenReturn(new RatesSnapshotCache.Stats(2, 3, 1, 5));
+        final Instant fetchedAt = Instant.now().minus(Duration.ofMinutes(15));
+        when(latestRatesCache.getBases()).thenReturn(Set.of("USD", "EUR"));
+        when(latestRatesCache.getStale("USD")).thenReturn(Optional.of(rates("USD")));
+        when(latestRatesCache.getFetchedAt("USD")).thenReturn(Optional.of(fetchedAt));
+        when(latestRatesCache.get("USD")).thenReturn(Optional.of(rates("USD")));
+        when(latestRatesCache.getStale("EUR")).thenReturn(Optional.of(rates("EUR")));
+        when(latestRatesCache.getFetchedAt("EUR")).thenReturn(Optional.of(fetchedAt));
+        when(latestRatesCache.get("EUR")).thenReturn(Optional.empty());
+
+        // When: The state of the caches is read
+        final RatesCacheEndpoint.CacheState state = ratesCacheEndpoint.state();
+
+        // Then: The hit and miss rates are derived from the lookups and the latest rates are sorted by base
+        assertEquals(new RatesCacheEndpoint.Snapshots(2, 3, 1, 0.75, 0.25, 5), state.snapshots());
+        assertEquals(List.of("EUR", "USD"), List.copyOf(state.latest().keySet()));
+        final RatesCacheEndpoint.Latest usd = state.latest().get("USD");
+        assertEquals(TODAY, usd.date());
+        assertEquals(fetchedAt, usd.fetchedAt());
+        assertTrue(usd.ageSeconds() >= Duration.ofMinutes(15).toSeconds());
+        assertFalse(usd.expired());
+        assertTrue(state.latest().get("EUR").expired());
+    }
+
+    @Test
+    void testStateOfEmptyCaches() {
+        // Given: No lookups and no latest rates
+        when(ratesSnapshotCache.stats()).thenReturn(new RatesSnapshotCache.Stats(0, 0, 0, 0));
+        when(latestRatesCache.getBases()).thenReturn(Set.of());
+
+        // When: The state of the caches is read
+        final RatesCacheEndpoint.CacheState state = ratesCacheEndpoint.state();
+
+        // Then: The rates are zero instead of undefined
+        assertEquals(new RatesCacheEndpoint.Snapshots(0, 0, 0, 0, 0, 0), state.snapshots());
+        assertTrue(state.latest().isEmpty());
+    }
+
+    private static ExchangeRatesDto rates(final String base) {
+        return ExchangeRatesDto.builder()
+            .base(base)
+            .date(TODAY)
+            .rates(RateSnapshot.builder()
+                .put(base, BigDecimal.ONE)
+                .build())
+            .build();
+    }
+}
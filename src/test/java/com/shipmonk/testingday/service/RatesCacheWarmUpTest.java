@@ -0,0 +1,165 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.shipmonk.testingday.api.dto.ExchangeRatesDto;
+import com.shipmonk.testingday.connector.exchangerates.exception.SystemApiServerException;
+import com.shipmonk.testingday.model.RateSnapshot;
+import com.shipmonk.testingday.service.impl.RatesCacheWarmUpImpl;
+import com.shipmonk.testingday.service.impl.RatesSnapshotCacheImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RatesCacheWarmUpTest {
+
+    private static final String BASE = "USD";
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private static final LocalDate YESTERDAY = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+
+    private static final LocalDate TWO_DAYS_AGO = LocalDate.now(ZoneOffset.UTC).minusDays(2);
+
+    private final ExchangeRatesStore exchangeRatesStore = mock(ExchangeRatesStore.class);
+
+    private final CachingExchangeService cachingExchangeService = mock(CachingExchangeService.class);
+
+    private final RatesSnapshotCache ratesSnapshotCache = newRatesSnapshotCache();
+
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void testCachesAreFilledOnApplicationReady() {
+        // Given: Recent rates stored in the database
+        when(exchangeRatesStore.findBetween(BASE, LocalDate.now(ZoneOffset.UTC).minusDays(3), YESTERDAY))
+            .thenReturn(Map.of(YESTERDAY, rates(YESTERDAY), TWO_DAYS_AGO, rates(TWO_DAYS_AGO)));
+        when(exchangeRatesStore.findAll(eq(BASE), any())).thenReturn(Map.of());
+        when(cachingExchangeService.getLatestRates(BASE)).thenReturn(rates(LocalDate.now(ZoneOffset.UTC)));
+
+        // When: The application starts
+        context = startApplication();
+
+        // Then: The stored rates are in memory once ready and the latest rates are fetched
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, getReadinessState());
+        assertTrue(ratesSnapshotCache.get(BASE, YESTERDAY).isPresent());
+        assertTrue(ratesSnapshotCache.get(BASE, TWO_DAYS_AGO).isPresent());
+        verify(cachingExchangeService, timeout(TIMEOUT_MILLIS)).getLatestRates(BASE);
+    }
+
+    @Test
+    void testHangingFixerDoesNotBlockReadiness() throws Exception {
+        // Given: Fixer not responding to the latest rates request
+        when(exchangeRatesStore.findBetween(eq(BASE), any(), any())).thenReturn(Map.of());
+        when(exchangeRatesStore.findAll(eq(BASE), any())).thenReturn(Map.of());
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(cachingExchangeService.getLatestRates(BASE)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            throw new SystemApiServerException(
+                SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE, "Remote service is unavailable");
+        });
+
+        try {
+            // When: The application starts
+            context = startApplication();
+
+            // Then: The application is ready while the latest rates are still being fetched
+            assertEquals(ReadinessState.ACCEPTING_TRAFFIC, getReadinessState());
+            assertTrue(fetching.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testFailedWarmUpDoesNotBlockReadiness() {
+        // Given: The database and Fixer both failing
+        when(exchangeRatesStore.findBetween(eq(BASE), any(), any()))
+            .thenThrow(new QueryTimeoutException("Query timed out"));
+        when(cachingExchangeService.getLatestRates(BASE)).thenThrow(new SystemApiServerException(
+            SystemApiServerException.ServerErrorRequestType.SERVICE_UNAVAILABLE, "Remote service is unavailable"));
+
+        // When: The application starts
+        context = startApplication();
+
+        // Then: The application is ready with a cold cache, rates are loaded on first request
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, getReadinessState());
+        assertEquals(0, ratesSnapshotCache.stats().size());
+        verify(cachingExchangeService, timeout(TIMEOUT_MILLIS)).getLatestRates(BASE);
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(WarmUpConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.main.banner-mode=off")
+            .initializers(applicationContext -> {
+                applicationContext.getBeanFactory().registerSingleton("exchangeRatesStore", exchangeRatesStore);
+                applicationContext.getBeanFactory().registerSingleton("ratesSnapshotCache", ratesSnapshotCache);
+                applicationContext.getBeanFactory()
+                    .registerSingleton("cachingExchangeService", cachingExchangeService);
+            })
+            .run("--exchange-rates.cache.warm-up-days=3", "--exchange-rates.cache.warm-up-latest=true");
+    }
+
+    private ReadinessState getReadinessState() {
+        return context.getBean(ApplicationAvailability.class).getReadinessState();
+    }
+
+    private static RatesSnapshotCache newRatesSnapshotCache() {
+        final RatesCacheProperties ratesCacheProperties = new RatesCacheProperties();
+        ratesCacheProperties.setMaximumSize(100);
+        ratesCacheProperties.setLatestTtl(Duration.ofMinutes(10));
+        ratesCacheProperties.setLatestRefreshInterval(Duration.ofMinutes(5));
+        return new RatesSnapshotCacheImpl(ratesCacheProperties, new SimpleMeterRegistry());
+    }
+
+    private static ExchangeRatesDto rates(final LocalDate date) {
+        return ExchangeRatesDto.builder()
+            .base(BASE)
+            .date(date)
+            .rates(RateSnapshot.builder()
+                .put(BASE, BigDecimal.ONE)
+                .put("EUR", new BigDecimal("0.958798"))
+                .build())
+            .build();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import({RatesCacheWarmUpImpl.class, ApplicationAvailabilityBean.class})
+    static class WarmUpConfiguration {
+    }
+}
@@ -0,0 +1,76 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmonk.testingday.service.impl.ReactiveSingleFlight;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactiveSingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ReactiveSingleFlight<String, Object> singleFlight = new ReactiveSingleFlight<>();
+
+    @Test
+    void testConcurrentSubscribersShareSingleLoad() {
+        // Given: A loader that completes only once released
+        final AtomicInteger loads = new AtomicInteger();
+        final Sinks.One<Object> release = Sinks.one();
+        final Object value = new Object();
+
+        // When: Many subscribers ask for the same key while the load is in flight
+        final Flux<Object> results = Flux.range(0, CALLERS)
+            .flatMap(i -> singleFlight.execute("2024-12-24", () -> {
+                loads.incrementAndGet();
+                return release.asMono();
+            }));
+        final Mono<List<Object>> collected = results.collectList().cache();
+        collected.subscribe();
+        assertEquals(1, singleFlight.inFlightCount());
+        release.tryEmitValue(value);
+
+        // Then: The loader was subscribed once and every subscriber got the same value
+        final List<Object> values = collected.block(TIMEOUT);
+        assertEquals(CALLERS, values.size());
+        values.forEach(result -> assertSame(value, result));
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testFailureIsPropagatedAndKeyReleased() {
+        // When: The loader fails
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key",
+            () -> Mono.error(new IllegalStateException("Fixer unavailable"))).block(TIMEOUT));
+
+        // Then: The next subscription runs the loader again
+        assertEquals("value", singleFlight.execute("key", () -> Mono.just("value")).block(TIMEOUT));
+    }
+
+    @Test
+    void testLoadContinuesWhenSubscriberCancels() {
+        // Given: A load whose first subscriber cancels before it completes
+        final Sinks.One<Object> release = Sinks.one();
+        singleFlight.execute("key", release::asMono).subscribe().dispose();
+
+        // When: Another subscriber arrives and the load completes
+        final Mono<Object> second = singleFlight.execute("key", () -> Mono.just("other")).cache();
+        second.subscribe();
+        release.tryEmitValue("value");
+
+        // Then: The second subscriber gets the result of the original load
+        assertEquals("value", second.block(TIMEOUT));
+    }
+}
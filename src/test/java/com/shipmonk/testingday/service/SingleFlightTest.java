@@ -0,0 +1,126 @@
+package com.shipmonk.testingday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.shipmonk.testingday.service.impl.SingleFlight;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareSingleLoad() throws Exception {
+        // Given: A loader that blocks until all other callers are waiting for it
+        final AtomicInteger loads = new AtomicInteger();
+        final CyclicBarrier start = new CyclicBarrier(CALLERS);
+        final Queue<Thread> callers = new ConcurrentLinkedQueue<>();
+        final Object value = new Object();
+
+        // When: Many callers ask for the same key at once
+        final List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                callers.add(Thread.currentThread());
+                return singleFlight.execute("2024-12-24", () -> {
+                    loads.incrementAndGet();
+                    awaitCondition(() -> callers.size() == CALLERS && callers.stream()
+                        .filter(caller -> caller != Thread.currentThread())
+                        .allMatch(SingleFlightTest::isWaiting));
+                    return value;
+                });
+            }));
+        }
+
+        // Then: The loader ran once, every caller got the same value and the key is released
+        for (Future<Object> result : results) {
+            assertSame(value, result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals("value", singleFlight.execute("2024-12-24", () -> "value"));
+    }
+
+    @Test
+    void testFailureIsPropagatedAndKeyReleased() {
+        // When: The loader fails
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("Fixer unavailable");
+        }));
+
+        // Then: The next call runs the loader again
+        assertEquals("value", singleFlight.execute("key", () -> "value"));
+    }
+
+    @Test
+    void testWaitingCallersReceiveLoaderFailure() throws Exception {
+        // Given: A failing loader that blocks until another caller is waiting for it
+        final CountDownLatch loading = new CountDownLatch(1);
+        final AtomicReference<Thread> waiting = new AtomicReference<>();
+
+        final Future<Object> first = executor.submit(() -> singleFlight.execute("key", () -> {
+            loading.countDown();
+            awaitCondition(() -> isWaiting(waiting.get()));
+            throw new IllegalStateException("Fixer unavailable");
+        }));
+        assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When: Another caller waits for the load before it fails
+        final Future<Object> second = executor.submit(() -> {
+            waiting.set(Thread.currentThread());
+            return singleFlight.execute("key", Object::new);
+        });
+
+        // Then: Both callers see the same failure
+        final ExecutionException firstFailure =
+            assertThrows(ExecutionException.class, () -> first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, firstFailure.getCause().getClass());
+        final ExecutionException secondFailure =
+            assertThrows(ExecutionException.class, () -> second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, secondFailure.getCause().getClass());
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition was not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    // A caller waiting for the load of another caller is parked until the load completes
+    private static boolean isWaiting(final Thread caller) {
+        return caller != null && caller.getState() == Thread.State.WAITING;
+    }
+}
@@ -172,3 +172,10 @@ INSERT INTO public.exchange_rates (id, "date", base_currency, target_currency, r
 (170, '2025-08-12', 'USD', 'TMT', 3.509998, '2025-08-13 06:25:42.121'),
 (171, '2025-08-12', 'USD', 'CLF', 0.024391, '2025-08-13 06:25:42.122'),
 (172, '2025-08-12', 'USD', 'BRL', 5.402701, '2025-08-13 06:25:42.124');
+
+-- Pack the rows into snapshots, as done by the migrations, snapshots are read only from the packed table
+INSERT INTO public.exchange_rate_snapshots (base_currency, "date", rates, created_at)
+SELECT base_currency, "date", jsonb_object_agg(target_currency, rate), MIN(created_at)
+FROM public.exchange_rates
+GROUP BY base_currency, "date"
+ON CONFLICT (base_currency, "date") DO NOTHING;